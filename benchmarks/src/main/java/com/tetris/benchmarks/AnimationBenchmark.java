@@ -0,0 +1,98 @@
+package com.tetris.benchmarks;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tetris.effects.AnimationManager;
+import com.tetris.effects.FrameClock;
+import com.tetris.util.GameConstants;
+
+/**
+ * 1000個のパーティクルを更新・描画するベンチマーク
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class AnimationBenchmark {
+
+    private static final int PARTICLES = 1000;
+    private static final long FRAME_NANOS = 16_666_667L; // 60FPS相当の経過時間
+
+    private AnimationManager animationManager;
+    private FrameClock clock;
+    private long clockNanos;
+    private BufferedImage image;
+    private Graphics2D g2d;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        animationManager = new AnimationManager();
+        animationManager.setParticleLimit(PARTICLES);
+        clock = new FrameClock();
+        image = new BufferedImage(
+                GameConstants.BOARD_WIDTH * GameConstants.BLOCK_SIZE,
+                GameConstants.BOARD_HEIGHT * GameConstants.BLOCK_SIZE,
+                BufferedImage.TYPE_INT_RGB);
+        g2d = image.createGraphics();
+    }
+
+    /**
+     * パーティクルが常に1000個ある状態を保つ（寿命で減った分を補充する）
+     */
+    @Setup(Level.Iteration)
+    public void refill() {
+        topUp();
+    }
+
+    private void topUp() {
+        int missing = PARTICLES - animationManager.getParticleCount();
+        for (int i = 0; i < missing; i++) {
+            Color color = GameConstants.TETROMINO_COLORS[1 + i % 7];
+            animationManager.addParticleEffect(150, 300, color, 1);
+        }
+    }
+
+    /**
+     * 1フレーム分の更新
+     */
+    @Benchmark
+    public int update() {
+        clockNanos += FRAME_NANOS;
+        clock.advanceTo(clockNanos, false);
+        animationManager.update(clock);
+        topUp();
+        return animationManager.getParticleCount();
+    }
+
+    /**
+     * 1フレーム分の描画
+     */
+    @Benchmark
+    public BufferedImage render() {
+        animationManager.render(g2d, image.getWidth(), image.getHeight(), GameConstants.BLOCK_SIZE);
+        return image;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        g2d.dispose();
+    }
+}
@@ -0,0 +1,108 @@
+package com.tetris.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tetris.ai.BatchEvaluator;
+import com.tetris.ai.BitBoard;
+import com.tetris.ai.BoardBatch;
+import com.tetris.ai.EvaluationWeights;
+import com.tetris.ai.HeuristicEvaluator;
+import com.tetris.ai.PieceShapes;
+import com.tetris.ai.PlacementList;
+import com.tetris.ai.ReachabilitySearch;
+
+/**
+ * 盤面の一括評価のベンチマーク（1マイクロ秒あたりの評価盤面数）
+ * 評価する盤面は、盤面に7種類のテトリミノを到達可能な各位置に置いてライン消去した結果
+ * single：HeuristicEvaluatorで1盤面ずつ評価、scalar：スカラー版の一括評価、vector：Vector API版の一括評価
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+@State(Scope.Thread)
+public class BatchEvaluatorBenchmark {
+
+    private static final int BATCH_SIZE = 256;
+    private static final int SPAWN_X = 3; // テトリミノの初期位置
+
+    @Param({ "single", "scalar", "vector" })
+    public String implementation;
+
+    @Param({ "half", "fourLines" })
+    public String fixture;
+
+    private BoardBatch batch;
+    private BitBoard[] boards;
+    private double[] scores;
+    private HeuristicEvaluator single; // 1盤面ずつ評価する場合のみ
+    private BatchEvaluator evaluator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BitBoard board = new BitBoard();
+        board.load(BoardFixtures.create(fixture));
+        ReachabilitySearch search = new ReachabilitySearch(256);
+        PlacementList placements = new PlacementList(256);
+
+        // 到達可能な固定位置の結果を、バッチが埋まるまで種類を巡回して集める
+        batch = new BoardBatch(BATCH_SIZE);
+        boards = new BitBoard[BATCH_SIZE];
+        for (int type = 0; batch.size() < BATCH_SIZE; type = (type + 1) % PieceShapes.TYPE_COUNT) {
+            search.search(board, type, 0, SPAWN_X, 0, placements);
+            for (int i = 0; i < placements.size() && batch.size() < BATCH_SIZE; i++) {
+                BitBoard child = new BitBoard();
+                child.copyFrom(board);
+                child.place(type, placements.getRotation(i), placements.getX(i), placements.getY(i));
+                int cleared = child.clearFullRows();
+                boards[batch.add(child, cleared)] = child;
+            }
+        }
+        scores = new double[BATCH_SIZE];
+        switch (implementation) {
+            case "single":
+                single = new HeuristicEvaluator(EvaluationWeights.DEFAULT);
+                break;
+            case "vector":
+                evaluator = BatchEvaluator.create(EvaluationWeights.DEFAULT);
+                if (!evaluator.isVectorized()) {
+                    throw new IllegalStateException("Vector API is not available");
+                }
+                break;
+            default:
+                evaluator = new BatchEvaluator(EvaluationWeights.DEFAULT);
+                break;
+        }
+    }
+
+    /**
+     * バッチの全盤面を評価する
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public double[] evaluate() {
+        if (single != null) {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                scores[i] = single.evaluate(boards[i], batch.getLinesCleared(i));
+            }
+        } else {
+            evaluator.evaluate(batch, scores);
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,124 @@
+package com.tetris.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.tetris.game.Board;
+import com.tetris.model.Tetromino;
+import com.tetris.util.GameConstants;
+
+/**
+ * Boardの衝突判定・ライン消去・グリッド取得のベンチマーク
+ * 計測ごとのセットアップは行わない（-prof gcの確保量に盤面の複製が含まれないように）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark {
+
+    @Param({ "empty", "half", "tall", "fourLines" })
+    public String fixture;
+
+    private Board template; // 元の盤面
+    private Tetromino[] pieces; // 全種類・全回転・全列のテトリミノ
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        template = BoardFixtures.create(fixture);
+
+        Tetromino.Type[] types = Tetromino.Type.values();
+        pieces = new Tetromino[types.length * 4 * GameConstants.BOARD_WIDTH];
+        int i = 0;
+        for (Tetromino.Type type : types) {
+            for (int rotation = 0; rotation < 4; rotation++) {
+                for (int x = 0; x < GameConstants.BOARD_WIDTH; x++) {
+                    Tetromino piece = new Tetromino(type);
+                    piece.setRotation(rotation);
+                    piece.setX(x - 1);
+                    piece.setY(GameConstants.BOARD_HEIGHT / 2);
+                    pieces[i++] = piece;
+                }
+            }
+        }
+    }
+
+    /**
+     * ライン消去用の盤面（消去すると盤面が変わるため、元の盤面と別に持つ）
+     */
+    @State(Scope.Thread)
+    public static class ClearState {
+        private Board template;
+        private Board board;
+        private final int[] lines = new int[4]; // 完成したライン番号（ゲームと同じく再利用する）
+
+        @Setup(Level.Trial)
+        public void setUp(BoardBenchmark benchmark) {
+            template = benchmark.template;
+            board = new Board(template);
+        }
+
+        /**
+         * 盤面を元の盤面に戻す（その場で上書きし、オブジェクトを作らない）
+         */
+        void restore() {
+            for (int y = 0; y < GameConstants.BOARD_HEIGHT; y++) {
+                for (int x = 0; x < GameConstants.BOARD_WIDTH; x++) {
+                    board.setCell(x, y, template.getCell(x, y));
+                }
+            }
+        }
+    }
+
+    /**
+     * 全種類・全回転・全列のテトリミノについて配置可能か判定する
+     */
+    @Benchmark
+    public void canPlace(Blackhole blackhole) {
+        for (Tetromino piece : pieces) {
+            blackhole.consume(template.canPlace(piece));
+        }
+    }
+
+    /**
+     * 完成ラインの検出と消去（Gameと同じint[]の経路、盤面を戻す時間を含む）
+     */
+    @Benchmark
+    public int clearLines(ClearState state) {
+        state.restore();
+        int count = state.board.findClearedLines(state.lines);
+        return state.board.clearLines(state.lines, count);
+    }
+
+    /**
+     * clearLinesに含まれる盤面を戻す時間（差し引いて消去のみの時間を求める）
+     */
+    @Benchmark
+    public Board restoreBoard(ClearState state) {
+        state.restore();
+        return state.board;
+    }
+
+    /**
+     * グリッドのコピー取得
+     */
+    @Benchmark
+    public int[][] getGrid() {
+        return template.getGrid();
+    }
+}
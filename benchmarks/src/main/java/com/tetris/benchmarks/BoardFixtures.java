@@ -0,0 +1,63 @@
+package com.tetris.benchmarks;
+
+import java.util.Random;
+
+import com.tetris.game.Board;
+import com.tetris.util.GameConstants;
+
+/**
+ * ベンチマーク用の盤面を作成するクラス
+ * 同じ名前からは常に同じ盤面を作る（乱数のシードを固定）
+ */
+final class BoardFixtures {
+
+    private BoardFixtures() {
+        throw new AssertionError("Cannot instantiate utility class");
+    }
+
+    /**
+     * 名前に対応する盤面を作成する
+     * 
+     * @param name empty / half / tall / fourLines
+     * @return 盤面
+     */
+    static Board create(String name) {
+        Board board = new Board();
+        Random random = new Random(42);
+        switch (name) {
+            case "empty":
+                break;
+            case "half":
+                fillRows(board, random, GameConstants.BOARD_HEIGHT / 2, 1);
+                break;
+            case "tall":
+                fillRows(board, random, 3, 2);
+                break;
+            case "fourLines":
+                fillRows(board, random, GameConstants.BOARD_HEIGHT - 8, 1);
+                for (int y = GameConstants.BOARD_HEIGHT - 4; y < GameConstants.BOARD_HEIGHT; y++) {
+                    for (int x = 0; x < GameConstants.BOARD_WIDTH; x++) {
+                        board.setCell(x, y, 1 + (x + y) % 7);
+                    }
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("未知の盤面: " + name);
+        }
+        return board;
+    }
+
+    /**
+     * 指定行から下を、各行に穴を空けながら埋める
+     */
+    private static void fillRows(Board board, Random random, int fromRow, int holesPerRow) {
+        for (int y = fromRow; y < GameConstants.BOARD_HEIGHT; y++) {
+            for (int x = 0; x < GameConstants.BOARD_WIDTH; x++) {
+                board.setCell(x, y, 1 + random.nextInt(7));
+            }
+            for (int h = 0; h < holesPerRow; h++) {
+                board.setCell(random.nextInt(GameConstants.BOARD_WIDTH), y, 0);
+            }
+        }
+    }
+}
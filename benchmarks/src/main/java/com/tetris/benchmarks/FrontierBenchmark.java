@@ -0,0 +1,167 @@
+package com.tetris.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tetris.ai.BitBoard;
+import com.tetris.ai.BoardArena;
+import com.tetris.ai.EvaluationWeights;
+import com.tetris.ai.HeuristicEvaluator;
+import com.tetris.ai.PlacementEnumerator;
+import com.tetris.ai.PlacementList;
+import com.tetris.model.Tetromino;
+
+/**
+ * ビーム探索の候補（フロンティア）の保持方法のベンチマーク
+ * heap：子の盤面ごとにBitBoardを作成、arena：ヒープ外の盤面領域のレコードに追加して探索ごとに一括解放
+ * -prof gcでメモリ確保量を比較する
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FrontierBenchmark {
+
+    private static final int[] SEQUENCE = { // 置くテトリミノの並び（固定）
+            Tetromino.Type.L.ordinal(), Tetromino.Type.T.ordinal(), Tetromino.Type.S.ordinal(),
+            Tetromino.Type.I.ordinal() };
+    private static final int MAX_PLACEMENTS = 64;
+    private static final int SPAWN_X = 3; // テトリミノの初期位置
+
+    @Param({ "heap", "arena" })
+    public String storage;
+
+    @Param({ "16", "256" })
+    public int beamWidth;
+
+    private BitBoard root;
+    private BitBoard scratch;
+    private BitBoard childScratch;
+    private PlacementEnumerator enumerator;
+    private PlacementList placements;
+    private HeuristicEvaluator evaluator;
+    private BoardArena arena;
+    private int[] frontier;
+    private int[] next;
+    private double[] nextScores; // nextの各レコードの評価値
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        root = new BitBoard();
+        root.load(BoardFixtures.create("half"));
+        scratch = new BitBoard();
+        childScratch = new BitBoard();
+        enumerator = new PlacementEnumerator();
+        placements = new PlacementList(MAX_PLACEMENTS);
+        evaluator = new HeuristicEvaluator(EvaluationWeights.DEFAULT);
+        arena = new BoardArena(1 + SEQUENCE.length * beamWidth * MAX_PLACEMENTS);
+        frontier = new int[beamWidth];
+        next = new int[beamWidth];
+        nextScores = new double[beamWidth];
+    }
+
+    /**
+     * SEQUENCEのテトリミノを順に置くビーム探索を行う（各段で評価値の高い候補をビーム幅分残す）
+     */
+    @Benchmark
+    public double expand() {
+        return "heap".equals(storage) ? expandOnHeap() : expandInArena();
+    }
+
+    private double expandOnHeap() {
+        List<BitBoard> frontierBoards = new ArrayList<>();
+        frontierBoards.add(root);
+        double best = 0;
+        for (int type : SEQUENCE) {
+            List<BitBoard> children = new ArrayList<>();
+            List<Double> scores = new ArrayList<>();
+            for (BitBoard board : frontierBoards) {
+                enumerator.enumerate(board, type, 0, SPAWN_X, 0, placements);
+                for (int i = 0; i < placements.size(); i++) {
+                    BitBoard child = new BitBoard();
+                    child.copyFrom(board);
+                    child.place(type, placements.getRotation(i), placements.getX(i), placements.getY(i));
+                    children.add(child);
+                    scores.add(evaluator.evaluate(child, child.clearFullRows()));
+                }
+            }
+            // 評価値の高い順にビーム幅分を残す
+            List<Integer> order = new ArrayList<>();
+            for (int i = 0; i < children.size(); i++) {
+                order.add(i);
+            }
+            order.sort((a, b) -> Double.compare(scores.get(b), scores.get(a)));
+            frontierBoards = new ArrayList<>();
+            for (int i = 0; i < Math.min(beamWidth, order.size()); i++) {
+                frontierBoards.add(children.get(order.get(i)));
+            }
+            best = order.isEmpty() ? best : scores.get(order.get(0));
+        }
+        return best;
+    }
+
+    private double expandInArena() {
+        arena.reset();
+        frontier[0] = arena.add(root, BoardArena.NO_PARENT, 0, 0);
+        int frontierSize = 1;
+        double best = 0;
+        for (int type : SEQUENCE) {
+            int nextSize = 0;
+            for (int f = 0; f < frontierSize; f++) {
+                int parent = frontier[f];
+                arena.load(parent, scratch);
+                enumerator.enumerate(scratch, type, 0, SPAWN_X, 0, placements);
+                for (int i = 0; i < placements.size(); i++) {
+                    int child = arena.addChild(parent, type, placements.getRotation(i), placements.getX(i),
+                            placements.getY(i), i);
+                    arena.load(child, childScratch);
+                    double score = evaluator.evaluate(childScratch, arena.getLinesCleared(child));
+                    arena.setScore(child, score);
+                    nextSize = insert(nextSize, child, score);
+                }
+            }
+            int[] tmp = frontier;
+            frontier = next;
+            next = tmp;
+            frontierSize = nextSize;
+            best = frontierSize == 0 ? best : arena.getScore(frontier[0]);
+        }
+        return best;
+    }
+
+    /**
+     * 評価値の高い順に並んだビームにレコードを挿入する（容量を超えた最下位は押し出す）
+     *
+     * @return 挿入後の数
+     */
+    private int insert(int count, int index, double score) {
+        if (count == next.length && score <= nextScores[count - 1]) {
+            return count;
+        }
+        int j = count < next.length ? count++ : count - 1;
+        while (j > 0 && nextScores[j - 1] < score) {
+            next[j] = next[j - 1];
+            nextScores[j] = nextScores[j - 1];
+            j--;
+        }
+        next[j] = index;
+        nextScores[j] = score;
+        return count;
+    }
+}
@@ -0,0 +1,64 @@
+package com.tetris.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tetris.game.Game;
+
+/**
+ * Gameの1ピース分（移動・回転・ハードドロップ・固定・ライン消去・次ピース生成）のベンチマーク
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+
+    private Game game;
+    private int pieceCount;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        game = Game.createHeadless(1);
+        game.startGame();
+    }
+
+    /**
+     * 1ピースを操作して固定する（ゲームオーバーになったら再開する）
+     */
+    @Benchmark
+    public int pieceLockCycle() {
+        // ピースごとに異なる列へ落とし、盤面が偏らないようにする
+        int shift = pieceCount++ % 7 - 3;
+        for (int i = 0; i < Math.abs(shift); i++) {
+            if (shift < 0) {
+                game.moveTetrominoLeft();
+            } else {
+                game.moveTetrominoRight();
+            }
+        }
+        if ((pieceCount & 1) == 0) {
+            game.rotateTetromino();
+        }
+        game.tick();
+        game.hardDrop();
+
+        if (game.getGameState() == Game.GameState.GAME_OVER) {
+            game.startGame();
+        }
+        return game.getScore();
+    }
+}
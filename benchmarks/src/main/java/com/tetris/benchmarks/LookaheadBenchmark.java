@@ -0,0 +1,97 @@
+package com.tetris.benchmarks;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tetris.ai.BitBoard;
+import com.tetris.ai.EvaluationWeights;
+import com.tetris.ai.LookaheadPlanner;
+import com.tetris.ai.PlacementList;
+import com.tetris.ai.ReachabilitySearch;
+import com.tetris.ai.TranspositionTable;
+import com.tetris.model.Tetromino;
+
+/**
+ * 先読み探索のベンチマーク
+ * スレッド数ごとの1手あたりの時間から、並列化による速度向上を比較する（時間予算は無制限）
+ * 置換表の有無による違いも比較する（置換表は毎回消去し、1手の探索内での再利用のみ測る）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LookaheadBenchmark {
+
+    private static final int[] PREVIEW = { // 先読みするテトリミノの並び（固定）
+            Tetromino.Type.T.ordinal(), Tetromino.Type.S.ordinal(), Tetromino.Type.I.ordinal() };
+
+    @Param({ "1", "2", "4" })
+    public int threads;
+
+    @Param({ "1", "2", "3" })
+    public int previewCount;
+
+    @Param({ "half" })
+    public String fixture;
+
+    @Param({ "false", "true" })
+    public boolean transpositionTable;
+
+    private ForkJoinPool pool;
+    private LookaheadPlanner planner;
+    private TranspositionTable table;
+    private BitBoard board;
+    private PlacementList root;
+    private int type;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(threads);
+        planner = new LookaheadPlanner(EvaluationWeights.DEFAULT, 8, Long.MAX_VALUE / 2, pool);
+        if (transpositionTable) {
+            table = new TranspositionTable(16);
+            planner.setTranspositionTable(table);
+        }
+        board = new BitBoard();
+        board.load(BoardFixtures.create(fixture));
+        root = new PlacementList(256);
+        type = Tetromino.Type.L.ordinal();
+        new ReachabilitySearch(256).search(board, type, 0, 3, 0, root);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        if (table != null) {
+            table.clear();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * 現在のテトリミノとプレビューの組み合わせから1手を選ぶ
+     */
+    @Benchmark
+    public int choose() {
+        return planner.choose(board, root, type, PREVIEW, previewCount);
+    }
+}
@@ -0,0 +1,87 @@
+package com.tetris.benchmarks;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tetris.game.Game;
+import com.tetris.ui.GamePanel;
+import com.tetris.ui.OffscreenRenderer;
+import com.tetris.ui.QualityGovernor;
+import com.tetris.util.GameConstants;
+
+/**
+ * ゲーム画面をBufferedImageへ描画するベンチマーク（画面なしで実行）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class RenderBenchmark {
+
+    @Param({ "30", "60" })
+    public int blockSize;
+
+    private Game game;
+    private GamePanel gamePanel;
+    private BufferedImage panelImage;
+    private OffscreenRenderer offscreenRenderer;
+    private BufferedImage offscreenImage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        game = Game.createHeadless(7);
+        game.startGame();
+        for (int i = 0; i < 12; i++) {
+            game.hardDrop(); // 盤面にブロックを積んでおく
+        }
+
+        gamePanel = new GamePanel(game);
+        gamePanel.setSize(GameConstants.BOARD_WIDTH * blockSize, GameConstants.BOARD_HEIGHT * blockSize);
+        panelImage = new BufferedImage(gamePanel.getWidth(), gamePanel.getHeight(), BufferedImage.TYPE_INT_RGB);
+
+        offscreenRenderer = new OffscreenRenderer(blockSize, QualityGovernor.QualityLevel.HIGH);
+        offscreenImage = offscreenRenderer.createImage();
+    }
+
+    /**
+     * GamePanelのpaintをBufferedImageに対して実行する
+     */
+    @Benchmark
+    public BufferedImage gamePanelPaint() {
+        Graphics2D g2d = panelImage.createGraphics();
+        gamePanel.paint(g2d);
+        g2d.dispose();
+        return panelImage;
+    }
+
+    /**
+     * オフスクリーン描画クラスでゲーム画面を描画する
+     */
+    @Benchmark
+    public BufferedImage offscreenRender() {
+        offscreenRenderer.render(game, offscreenImage);
+        return offscreenImage;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        game.getSoundManager().close();
+    }
+}
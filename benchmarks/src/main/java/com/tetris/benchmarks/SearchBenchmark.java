@@ -0,0 +1,99 @@
+package com.tetris.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tetris.ai.BitBoard;
+import com.tetris.ai.EvaluationWeights;
+import com.tetris.ai.HeuristicEvaluator;
+import com.tetris.ai.PieceShapes;
+import com.tetris.ai.PlacementEnumerator;
+import com.tetris.ai.PlacementList;
+import com.tetris.ai.ReachabilitySearch;
+
+/**
+ * 自動操作の着地位置探索のベンチマーク（7種類のテトリミノを初期位置から探索する時間）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchBenchmark {
+
+    private static final int SPAWN_X = 3; // テトリミノの初期位置
+
+    @Param({ "empty", "half", "fourLines" })
+    public String fixture;
+
+    private BitBoard board;
+    private BitBoard scratch;
+    private PlacementList placements;
+    private PlacementEnumerator enumerator;
+    private ReachabilitySearch search;
+    private HeuristicEvaluator evaluator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        board = new BitBoard();
+        board.load(BoardFixtures.create(fixture));
+        scratch = new BitBoard();
+        placements = new PlacementList(256);
+        enumerator = new PlacementEnumerator();
+        search = new ReachabilitySearch(256);
+        evaluator = new HeuristicEvaluator(EvaluationWeights.DEFAULT);
+    }
+
+    /**
+     * 回転・左右移動・真下への落下で届く位置の列挙
+     */
+    @Benchmark
+    public int dropEnumeration() {
+        int count = 0;
+        for (int type = 0; type < PieceShapes.TYPE_COUNT; type++) {
+            count += enumerator.enumerate(board, type, 0, SPAWN_X, 0, placements);
+        }
+        return count;
+    }
+
+    /**
+     * 幅優先探索による到達可能な全固定位置の探索
+     */
+    @Benchmark
+    public int reachability() {
+        int count = 0;
+        for (int type = 0; type < PieceShapes.TYPE_COUNT; type++) {
+            count += search.search(board, type, 0, SPAWN_X, 0, placements);
+        }
+        return count;
+    }
+
+    /**
+     * 到達可能な全固定位置の探索と評価（自動操作の1手分の計画）
+     */
+    @Benchmark
+    public double reachabilityAndEvaluate() {
+        double sum = 0;
+        for (int type = 0; type < PieceShapes.TYPE_COUNT; type++) {
+            search.search(board, type, 0, SPAWN_X, 0, placements);
+            for (int i = 0; i < placements.size(); i++) {
+                sum += evaluator.evaluatePlacement(board, scratch, type,
+                        placements.getRotation(i), placements.getX(i), placements.getY(i));
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,45 @@
+package com.tetris.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tetris.effects.SoundManager;
+
+/**
+ * 効果音のトーン合成のベンチマーク
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SoundBenchmark {
+
+    @Param({ "20", "150" })
+    public int durationMillis;
+
+    private SoundManager soundManager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        soundManager = new SoundManager(false); // 効果音バンクは作らない
+    }
+
+    @Benchmark
+    public short[] generateTone() {
+        return soundManager.generateTone(523, durationMillis, 0.7f);
+    }
+}
@@ -1,19 +1,67 @@
 package com.tetris;
 
+import com.tetris.diagnostics.FlightRecording;
+import com.tetris.diagnostics.StartupTimer;
+import com.tetris.ui.BoardRenderer;
 import com.tetris.ui.MainWindow;
+import com.tetris.ui.StartupWarmup;
+import com.tetris.ui.WallWindow;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 import javax.swing.SwingUtilities;
 
 /**
  * テトリスゲームのエントリーポイント
  * アプリケーションの起動とメインウィンドウの初期化を行う
+ * 
+ * 引数に「--wall 数」を指定すると、複数ゲームを並べた監視用ウィンドウを表示する（「--autoplay」で自動操作）
+ * システムプロパティ tetris.jfr に出力先を指定すると、同梱のJFR設定で記録する
+ * システムプロパティ tetris.replay に出力先を指定すると、操作をリプレイファイルに記録する
+ * 一時停止時とウィンドウを閉じる時に途中のゲームを保存し、次回の起動時に再開する（保存先はシステムプロパティ tetris.save）
+ * システムプロパティ tetris.startup.timing=true を指定すると、最初のフレームまでの起動時間を表示する
  */
 public class Main {
 
     public static void main(String[] args) {
+        StartupTimer.mark("main");
+        int wallSize = parseWallSize(args);
+        boolean autoPlay = Arrays.asList(args).contains("--autoplay");
+        FlightRecording.startIfRequested();
+
+        // 最初のフレームに必要なタイル画像などは、ウィンドウの構築と並行して準備する
+        CompletableFuture<BoardRenderer> preparedRenderer = wallSize > 0 ? null : StartupWarmup.start();
+
         // Swingコンポーネントの操作はイベントディスパッチスレッドで実行
         SwingUtilities.invokeLater(() -> {
-            MainWindow window = new MainWindow();
+            StartupTimer.mark("EDT開始");
+            if (wallSize > 0) {
+                WallWindow wall = new WallWindow(wallSize);
+                wall.setAutoPlay(autoPlay);
+                wall.setVisible(true);
+                return;
+            }
+            MainWindow window = new MainWindow(preparedRenderer);
             window.setVisible(true);
+            StartupTimer.mark("ウィンドウ表示");
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * 引数からウォール表示のゲーム数を取得する
+     * 
+     * @param args コマンドライン引数
+     * @return ゲーム数（指定がない場合0）
+     */
+    private static int parseWallSize(String[] args) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if ("--wall".equals(args[i])) {
+                try {
+                    return Integer.parseInt(args[i + 1]);
+                } catch (NumberFormatException e) {
+                    System.err.println("ウォールのゲーム数が不正です: " + args[i + 1]);
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,142 @@
+package com.tetris.ai;
+
+import com.tetris.game.Game;
+import com.tetris.model.Tetromino;
+
+/**
+ * ゲームを自動で操作するクラス
+ * 現在のテトリミノが届く固定位置をすべて探索して盤面評価で最良のものを選び、
+ * 最短の操作列をGameの回転・移動・落下の操作で再生してその位置に置く
+ * 計画と操作のいずれもオブジェクトを確保しないため、大量のゲームを進めるバッチ実行でも使える
+ * 先読み探索を設定した場合は、次のテトリミノまで読んで位置を選ぶ
+ */
+public class AutoPlayer {
+
+    private static final int MAX_PLACEMENTS = 256; // 固定位置の最大数
+
+    private final ReachabilitySearch search;
+    private final HeuristicEvaluator evaluator;
+    private final BitBoard board; // 計画時の盤面
+    private final BitBoard scratch; // 評価用の作業盤面
+    private final PlacementList placements;
+    private final byte[] path; // 最良の位置までの操作列
+    private final int[] preview; // 次のテトリミノの種類の番号
+    private LookaheadPlanner lookahead; // 先読み探索（nullの場合は1手先のみ評価）
+    private int bestPlacement; // 最良の候補の番号
+    private int targetRotation; // 目標の回転状態
+    private int targetX; // 目標のX座標
+    private int targetY; // 目標のY座標（固定位置）
+
+    /**
+     * 標準の重みで自動操作クラスを作成する
+     */
+    public AutoPlayer() {
+        this(EvaluationWeights.DEFAULT);
+    }
+
+    /**
+     * 自動操作クラスのコンストラクタ
+     *
+     * @param weights 盤面評価の重み
+     */
+    public AutoPlayer(EvaluationWeights weights) {
+        search = new ReachabilitySearch(MAX_PLACEMENTS);
+        evaluator = new HeuristicEvaluator(weights);
+        board = new BitBoard();
+        scratch = new BitBoard();
+        placements = new PlacementList(MAX_PLACEMENTS);
+        path = new byte[ReachabilitySearch.MAX_PATH_LENGTH];
+        preview = new int[1];
+    }
+
+    /**
+     * 先読み探索を設定する
+     *
+     * @param lookahead 先読み探索（nullの場合は1手先のみ評価）
+     */
+    public void setLookahead(LookaheadPlanner lookahead) {
+        this.lookahead = lookahead;
+    }
+
+    /**
+     * 現在のテトリミノを置く位置を決める
+     *
+     * @param game ゲーム
+     * @return 置く位置が見つかった場合true（getTargetRotation/getTargetX/getTargetYで取得できる）
+     */
+    public boolean plan(Game game) {
+        Tetromino piece = game.getCurrentTetromino();
+        if (piece == null || game.getGameState() != Game.GameState.PLAYING) {
+            return false;
+        }
+
+        board.load(game.getBoard());
+        int type = piece.getType().ordinal();
+        search.search(board, type, piece.getRotation(), piece.getX(), piece.getY(), placements);
+
+        int best;
+        Tetromino next = game.getNextTetromino();
+        if (lookahead != null && next != null) {
+            preview[0] = next.getType().ordinal();
+            best = lookahead.choose(board, placements, type, preview, 1);
+        } else {
+            for (int i = 0; i < placements.size(); i++) {
+                placements.setScore(i, evaluator.evaluatePlacement(board, scratch, type,
+                        placements.getRotation(i), placements.getX(i), placements.getY(i)));
+            }
+            best = placements.best();
+        }
+        if (best < 0) {
+            return false;
+        }
+        bestPlacement = best;
+        targetRotation = placements.getRotation(best);
+        targetX = placements.getX(best);
+        targetY = placements.getY(best);
+        return true;
+    }
+
+    /**
+     * 現在のテトリミノを最良の位置まで操作して固定する
+     *
+     * @param game ゲーム
+     */
+    public void playPiece(Game game) {
+        if (!plan(game)) {
+            return;
+        }
+        int pathLength = search.getPath(bestPlacement, path);
+        for (int i = 0; i < pathLength; i++) {
+            PieceInput.of(path[i]).apply(game);
+        }
+    }
+
+    /**
+     * 最良の位置に向けて1回だけ操作する（画面に操作の様子を見せる場合に使う）
+     * 自然落下で状況が変わるため、呼び出しのたびに現在の位置から計画し直す
+     *
+     * @param game ゲーム
+     */
+    public void step(Game game) {
+        if (plan(game)) {
+            search.getFirstInput(bestPlacement).apply(game);
+        }
+    }
+
+    // ゲッター
+    public int getTargetRotation() {
+        return targetRotation;
+    }
+
+    public int getTargetX() {
+        return targetX;
+    }
+
+    public int getTargetY() {
+        return targetY;
+    }
+
+    public HeuristicEvaluator getEvaluator() {
+        return evaluator;
+    }
+}
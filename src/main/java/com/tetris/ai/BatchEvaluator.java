@@ -0,0 +1,186 @@
+package com.tetris.ai;
+
+import java.util.SplittableRandom;
+
+/**
+ * 盤面バッチを一括で評価するクラス（HeuristicEvaluatorと同じ特徴量・同じ評価値）
+ * このクラス自体はスカラー演算の実装で、createはVector APIが使える場合にVectorBatchEvaluatorを返す
+ *
+ * 特徴量は列の高さを個別に求めず、上から走査した「ブロックが現れた列」のマスクの累積から数える
+ * ・高さの合計：各行までに現れた列の数の和
+ * ・穴の数：既に現れた列のうち、その行で空いている列の数の和
+ * ・でこぼこ：隣り合う2列のうち一方のみ現れている行の数の和
+ */
+public class BatchEvaluator {
+
+    /**
+     * Vector APIを使わない場合にfalseを指定するシステムプロパティ
+     */
+    public static final String VECTOR_PROPERTY = "tetris.ai.vector";
+
+    static final int EDGE_MASK = BitBoard.FULL_ROW >>> 1; // 右隣の列がある列のマスク
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final int CHECK_BOARDS = 512; // 起動時の照合に使う盤面数
+    private static final long CHECK_SEED = 0xBA7C4L;
+
+    protected final EvaluationWeights weights;
+
+    /**
+     * スカラー演算の一括評価クラスのコンストラクタ
+     *
+     * @param weights 評価の重み
+     */
+    public BatchEvaluator(EvaluationWeights weights) {
+        this.weights = weights;
+    }
+
+    /**
+     * 利用できる最も速い一括評価クラスを作成する
+     * Vector APIのモジュール（--add-modules jdk.incubator.vector）がある場合はベクトル版を作成し、
+     * 乱数の盤面でスカラー版と照合して結果が一致した場合のみ使う（作成や照合で例外が発生した場合もスカラー版を返す）
+     *
+     * @param weights 評価の重み
+     * @return 一括評価クラス
+     */
+    public static BatchEvaluator create(EvaluationWeights weights) {
+        BatchEvaluator scalar = new BatchEvaluator(weights);
+        if (!isVectorAvailable()) {
+            return scalar;
+        }
+        BatchEvaluator vector;
+        int mismatches;
+        try {
+            vector = new VectorBatchEvaluator(weights);
+            mismatches = crossCheck(vector, scalar, randomBatch(CHECK_BOARDS, CHECK_SEED));
+        } catch (LinkageError | RuntimeException e) {
+            // モジュールがない場合のほか、想定外のベクトル幅などで照合中に失敗した場合もスカラー版を使う
+            System.err.println("Vector APIを利用できません: " + e);
+            return scalar;
+        }
+        if (mismatches != 0) {
+            System.err.println("ベクトル版の評価値がスカラー版と一致しません（" + mismatches + "件）。スカラー版を使います");
+            return scalar;
+        }
+        return vector;
+    }
+
+    /**
+     * Vector APIを使えるか（モジュールが読み込まれていて、システムプロパティで無効にしていないか）
+     *
+     * @return 使える場合true
+     */
+    public static boolean isVectorAvailable() {
+        return !"false".equals(System.getProperty(VECTOR_PROPERTY))
+                && ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    }
+
+    /**
+     * バッチの全盤面を評価する
+     *
+     * @param batch  盤面バッチ
+     * @param scores 評価値の格納先（長さbatch.size()以上、大きいほど良い）
+     */
+    public void evaluate(BoardBatch batch, double[] scores) {
+        int[] rows = batch.rows();
+        int stride = batch.stride();
+        for (int i = 0; i < batch.size(); i++) {
+            int seen = 0; // ブロックが現れた列
+            int aggregateHeight = 0;
+            int holes = 0;
+            int bumpiness = 0;
+            for (int index = i; index < rows.length; index += stride) {
+                int row = rows[index];
+                holes += Integer.bitCount(seen & ~row);
+                seen |= row;
+                aggregateHeight += Integer.bitCount(seen);
+                bumpiness += Integer.bitCount((seen ^ (seen >>> 1)) & EDGE_MASK);
+            }
+            boolean toppedOut = false;
+            for (int y = 0; y < BitBoard.HIDDEN_ROWS; y++) {
+                toppedOut |= rows[y * stride + i] != 0;
+            }
+            scores[i] = score(toppedOut, aggregateHeight, holes, bumpiness, batch.getLinesCleared(i));
+        }
+    }
+
+    /**
+     * 特徴量から評価値を求める（HeuristicEvaluatorと同じ順序で計算し、同じ値にする）
+     */
+    protected final double score(boolean toppedOut, int aggregateHeight, int holes, int bumpiness, int linesCleared) {
+        if (toppedOut) {
+            return HeuristicEvaluator.TOP_OUT_SCORE;
+        }
+        return weights.getAggregateHeight() * aggregateHeight
+                + weights.getHoles() * holes
+                + weights.getBumpiness() * bumpiness
+                + weights.getLinesCleared() * linesCleared;
+    }
+
+    /**
+     * 2つの一括評価クラスの結果を照合する（いずれもHeuristicEvaluatorの結果とも照合する）
+     *
+     * @param candidate 照合する評価クラス
+     * @param reference 基準の評価クラス
+     * @param batch     盤面バッチ
+     * @return 評価値が一致しなかった盤面の数
+     */
+    public static int crossCheck(BatchEvaluator candidate, BatchEvaluator reference, BoardBatch batch) {
+        double[] expected = new double[batch.size()];
+        double[] actual = new double[batch.size()];
+        reference.evaluate(batch, expected);
+        candidate.evaluate(batch, actual);
+
+        HeuristicEvaluator heuristic = new HeuristicEvaluator(reference.weights);
+        BitBoard board = new BitBoard();
+        int mismatches = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            batch.copyTo(i, board);
+            double single = heuristic.evaluate(board, batch.getLinesCleared(i));
+            if (Double.compare(expected[i], single) != 0 || Double.compare(actual[i], single) != 0) {
+                mismatches++;
+            }
+        }
+        return mismatches;
+    }
+
+    /**
+     * 照合用の乱数の盤面バッチを作成する（列ごとの高さと穴がまばらな盤面、一部はゲームオーバーの盤面）
+     *
+     * @param count 盤面数
+     * @param seed  乱数のシード
+     * @return 盤面バッチ
+     */
+    public static BoardBatch randomBatch(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        BoardBatch batch = new BoardBatch(count);
+        BitBoard board = new BitBoard();
+        for (int i = 0; i < count; i++) {
+            board.clear();
+            int maxHeight = random.nextInt(BitBoard.HEIGHT + 1);
+            for (int x = 0; x < BitBoard.WIDTH; x++) {
+                int height = random.nextInt(maxHeight + 1);
+                for (int y = BitBoard.HEIGHT - height; y < BitBoard.HEIGHT; y++) {
+                    if (random.nextInt(8) != 0) { // 1/8の確率で穴にする
+                        board.setRow(y, board.getRow(y) | (1 << x));
+                    }
+                }
+            }
+            batch.add(board, random.nextInt(5));
+        }
+        return batch;
+    }
+
+    /**
+     * ベクトル演算を使う実装か
+     *
+     * @return ベクトル版の場合true
+     */
+    public boolean isVectorized() {
+        return false;
+    }
+
+    public EvaluationWeights getWeights() {
+        return weights;
+    }
+}
@@ -0,0 +1,176 @@
+package com.tetris.ai;
+
+import com.tetris.game.Board;
+import com.tetris.util.GameConstants;
+
+/**
+ * 探索用の盤面クラス
+ * 各行を「ビットxが列x」の整数で保持し、衝突判定・固定・ライン消去をビット演算で行う
+ * 色は保持しない（探索では埋まっているかどうかのみ使う）
+ * いずれの操作もオブジェクトを確保しない
+ */
+public class BitBoard {
+
+    public static final int WIDTH = GameConstants.BOARD_WIDTH;
+    public static final int HEIGHT = GameConstants.BOARD_HEIGHT;
+    public static final int FULL_ROW = (1 << WIDTH) - 1; // 埋まった行のマスク
+    public static final int HIDDEN_ROWS = 2; // ブロックが残るとゲームオーバーになる最上部の行数
+
+    private final int[] rows; // 各行のマスク（0が最上段）
+
+    /**
+     * 空の盤面を作成する
+     */
+    public BitBoard() {
+        rows = new int[HEIGHT];
+    }
+
+    /**
+     * ゲームの盤面の内容を読み込む
+     *
+     * @param board 読み込む盤面
+     */
+    public void load(Board board) {
+        for (int y = 0; y < HEIGHT; y++) {
+            int mask = 0;
+            for (int x = 0; x < WIDTH; x++) {
+                if (board.getCell(x, y) != 0) {
+                    mask |= 1 << x;
+                }
+            }
+            rows[y] = mask;
+        }
+    }
+
+    /**
+     * 別の盤面の内容を複製する
+     *
+     * @param other 複製元
+     */
+    public void copyFrom(BitBoard other) {
+        System.arraycopy(other.rows, 0, rows, 0, HEIGHT);
+    }
+
+    /**
+     * 盤面を空にする
+     */
+    public void clear() {
+        for (int y = 0; y < HEIGHT; y++) {
+            rows[y] = 0;
+        }
+    }
+
+    /**
+     * テトリミノを指定位置に配置可能かチェック（Board.canPlaceと同じ規則）
+     *
+     * @param type     種類の番号
+     * @param rotation 回転状態
+     * @param x        形状の左上のX座標
+     * @param y        形状の左上のY座標
+     * @return 配置可能な場合true
+     */
+    public boolean canPlace(int type, int rotation, int x, int y) {
+        int top = PieceShapes.minRow(type, rotation);
+        int bottom = PieceShapes.maxRow(type, rotation);
+        if (x + PieceShapes.minCol(type, rotation) < 0 || x + PieceShapes.maxCol(type, rotation) >= WIDTH
+                || y + top < 0 || y + bottom >= HEIGHT) {
+            return false;
+        }
+        for (int row = top; row <= bottom; row++) {
+            if ((rows[y + row] & shift(PieceShapes.rowMask(type, rotation, row), x)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 指定位置から真下に落とした場合の着地位置を求める
+     *
+     * @param type     種類の番号
+     * @param rotation 回転状態
+     * @param x        形状の左上のX座標
+     * @param y        開始位置のY座標（配置可能であること）
+     * @return 着地位置のY座標
+     */
+    public int dropY(int type, int rotation, int x, int y) {
+        while (canPlace(type, rotation, x, y + 1)) {
+            y++;
+        }
+        return y;
+    }
+
+    /**
+     * テトリミノを固定する（配置可能であることは呼び出し側で確認する）
+     *
+     * @param type     種類の番号
+     * @param rotation 回転状態
+     * @param x        形状の左上のX座標
+     * @param y        形状の左上のY座標
+     */
+    public void place(int type, int rotation, int x, int y) {
+        for (int row = PieceShapes.minRow(type, rotation); row <= PieceShapes.maxRow(type, rotation); row++) {
+            rows[y + row] |= shift(PieceShapes.rowMask(type, rotation, row), x);
+        }
+    }
+
+    /**
+     * 埋まった行を消去し、上の行を下に詰める
+     *
+     * @return 消去した行数
+     */
+    public int clearFullRows() {
+        int write = HEIGHT - 1;
+        for (int read = HEIGHT - 1; read >= 0; read--) {
+            if (rows[read] != FULL_ROW) {
+                rows[write--] = rows[read];
+            }
+        }
+        int cleared = write + 1;
+        while (write >= 0) {
+            rows[write--] = 0;
+        }
+        return cleared;
+    }
+
+    /**
+     * ゲームオーバーになる状態か（最上部の非表示行にブロックがあるか、Board.isGameOverと同じ規則）
+     *
+     * @return ゲームオーバーの場合true
+     */
+    public boolean isToppedOut() {
+        for (int y = 0; y < HIDDEN_ROWS; y++) {
+            if (rows[y] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 行のマスクを取得
+     *
+     * @param y 行（0が最上段）
+     * @return ビットxが列xを表すマスク
+     */
+    public int getRow(int y) {
+        return rows[y];
+    }
+
+    /**
+     * 行のマスクを設定
+     *
+     * @param y    行（0が最上段）
+     * @param mask ビットxが列xを表すマスク
+     */
+    public void setRow(int y, int mask) {
+        rows[y] = mask & FULL_ROW;
+    }
+
+    /**
+     * 形状の行マスクをX座標分ずらす（左端の空き列により負の座標もある）
+     */
+    private static int shift(int mask, int x) {
+        return x >= 0 ? mask << x : mask >>> -x;
+    }
+}
@@ -0,0 +1,208 @@
+package com.tetris.ai;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 探索の盤面をヒープ外のメモリに固定長のレコードとして保持する領域
+ * 盤面ごとにオブジェクトを作らず番号で参照するため、探索の候補がどれだけ増えてもヒープの使用量は変わらない
+ *
+ * レコード（64バイト、キャッシュラインに揃える）の配置
+ * ・0〜39：各行のマスク（short×HEIGHT、0が最上段）
+ * ・40〜47：評価値（double）
+ * ・48〜51：親のレコードの番号（int、ない場合-1）
+ * ・52〜53：親からの手（short、回転・X・Yを詰めた値）
+ * ・54：消去したライン数、55：探索の深さ、56〜63：未使用
+ *
+ * resetは割り当て位置を戻すだけで、メモリの消去やオブジェクトの解放を伴わない
+ * 読み出しはByteBufferの絶対位置指定のみ使うため複数スレッドから同時に行えるが、
+ * 割り当てと書き込みは1つのスレッドから行う
+ */
+public class BoardArena {
+
+    /**
+     * 1レコードのバイト数
+     */
+    public static final int RECORD_BYTES = 64;
+
+    /**
+     * 親がないことを表す番号
+     */
+    public static final int NO_PARENT = -1;
+
+    private static final int SCORE_OFFSET = 40;
+    private static final int PARENT_OFFSET = 48;
+    private static final int MOVE_OFFSET = 52;
+    private static final int LINES_OFFSET = 54;
+    private static final int DEPTH_OFFSET = 55;
+
+    private final ByteBuffer records;
+    private final int capacity;
+    private int size;
+
+    /**
+     * 盤面領域のコンストラクタ（容量分のメモリを一度に確保する）
+     *
+     * @param capacity 最大盤面数（Integer.MAX_VALUE / RECORD_BYTES以下）
+     */
+    public BoardArena(int capacity) {
+        if (capacity < 0 || capacity > Integer.MAX_VALUE / RECORD_BYTES) {
+            throw new IllegalArgumentException("Invalid arena capacity: " + capacity);
+        }
+        this.capacity = capacity;
+        this.records = ByteBuffer.allocateDirect(capacity * RECORD_BYTES).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * 全レコードを一括で解放する（探索の反復ごとに呼ぶ）
+     */
+    public void reset() {
+        size = 0;
+    }
+
+    /**
+     * 盤面を複製したレコードを追加する
+     *
+     * @param board  盤面
+     * @param parent 親のレコードの番号
+     * @param move   親からの手
+     * @param depth  探索の深さ
+     * @return 追加したレコードの番号（容量を超える場合-1）
+     */
+    public int add(BitBoard board, int parent, int move, int depth) {
+        if (size == capacity) {
+            return -1;
+        }
+        int index = size++;
+        int base = index * RECORD_BYTES;
+        for (int y = 0; y < BitBoard.HEIGHT; y++) {
+            records.putShort(base + y * 2, (short) board.getRow(y));
+        }
+        writeHeader(base, parent, move, 0, depth);
+        return index;
+    }
+
+    /**
+     * 親のレコードの盤面にテトリミノを固定し、ライン消去した盤面を子のレコードとして追加する
+     * 盤面をヒープに読み出さず、レコード上で直接処理する
+     *
+     * @param parent   親のレコードの番号
+     * @param type     種類の番号
+     * @param rotation 回転状態
+     * @param x        形状の左上のX座標
+     * @param y        形状の左上のY座標（着地位置、配置可能であること）
+     * @param move     親からの手
+     * @return 追加したレコードの番号（容量を超える場合-1）
+     */
+    public int addChild(int parent, int type, int rotation, int x, int y, int move) {
+        if (size == capacity) {
+            return -1;
+        }
+        int index = size++;
+        int from = parent * RECORD_BYTES;
+        int to = index * RECORD_BYTES;
+        int top = PieceShapes.minRow(type, rotation);
+        int bottom = PieceShapes.maxRow(type, rotation);
+
+        // 下の行から書き込み、埋まった行は飛ばして上の行を詰める
+        int write = BitBoard.HEIGHT - 1;
+        for (int read = BitBoard.HEIGHT - 1; read >= 0; read--) {
+            int mask = records.getShort(from + read * 2);
+            int row = read - y;
+            if (row >= top && row <= bottom) {
+                int shape = PieceShapes.rowMask(type, rotation, row);
+                mask |= x >= 0 ? shape << x : shape >>> -x;
+            }
+            if (mask != BitBoard.FULL_ROW) {
+                records.putShort(to + write-- * 2, (short) mask);
+            }
+        }
+        int cleared = write + 1;
+        while (write >= 0) {
+            records.putShort(to + write-- * 2, (short) 0);
+        }
+        writeHeader(to, parent, move, cleared, getDepth(parent) + 1);
+        return index;
+    }
+
+    /**
+     * レコードの盤面を読み出す
+     *
+     * @param index レコードの番号
+     * @param out   格納先
+     */
+    public void load(int index, BitBoard out) {
+        int base = index * RECORD_BYTES;
+        for (int y = 0; y < BitBoard.HEIGHT; y++) {
+            out.setRow(y, records.getShort(base + y * 2));
+        }
+    }
+
+    /**
+     * レコードの行のマスクを取得
+     *
+     * @param index レコードの番号
+     * @param y     行（0が最上段）
+     * @return ビットxが列xを表すマスク
+     */
+    public int getRow(int index, int y) {
+        return records.getShort(index * RECORD_BYTES + y * 2);
+    }
+
+    /**
+     * ゲームオーバーになる盤面か（BitBoard.isToppedOutと同じ規則）
+     *
+     * @param index レコードの番号
+     * @return ゲームオーバーの場合true
+     */
+    public boolean isToppedOut(int index) {
+        int base = index * RECORD_BYTES;
+        for (int y = 0; y < BitBoard.HIDDEN_ROWS; y++) {
+            if (records.getShort(base + y * 2) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeHeader(int base, int parent, int move, int cleared, int depth) {
+        records.putDouble(base + SCORE_OFFSET, 0);
+        records.putInt(base + PARENT_OFFSET, parent);
+        records.putShort(base + MOVE_OFFSET, (short) move);
+        records.put(base + LINES_OFFSET, (byte) cleared);
+        records.put(base + DEPTH_OFFSET, (byte) depth);
+    }
+
+    public void setScore(int index, double score) {
+        records.putDouble(index * RECORD_BYTES + SCORE_OFFSET, score);
+    }
+
+    // ゲッター
+    public double getScore(int index) {
+        return records.getDouble(index * RECORD_BYTES + SCORE_OFFSET);
+    }
+
+    public int getParent(int index) {
+        return records.getInt(index * RECORD_BYTES + PARENT_OFFSET);
+    }
+
+    public int getMove(int index) {
+        return records.getShort(index * RECORD_BYTES + MOVE_OFFSET) & 0xFFFF;
+    }
+
+    public int getLinesCleared(int index) {
+        return records.get(index * RECORD_BYTES + LINES_OFFSET);
+    }
+
+    public int getDepth(int index) {
+        return records.get(index * RECORD_BYTES + DEPTH_OFFSET);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,122 @@
+package com.tetris.ai;
+
+/**
+ * 一括評価する盤面を保持する固定容量のバッチ
+ * 全盤面の行マスクを1つのint[]に「行ごとに盤面を並べる」順（rows[y * stride + 盤面の番号]）で保持し、
+ * 同じ行の複数の盤面を連続した領域からまとめて読めるようにする
+ *
+ * strideはベクトルの最大レーン数（512ビット÷32ビット）の倍数に切り上げるため、
+ * 末尾の盤面を含むレーンを読んでも配列の範囲を超えない（余りのレーンは空の盤面として扱う）
+ * より広いベクトルを使えるCPUでも、ベクトル版の評価は512ビットに制限する
+ */
+public class BoardBatch {
+
+    static final int LANE_ALIGNMENT = 16; // ベクトルの最大レーン数（VectorBatchEvaluatorはこれを超える幅を使わない）
+
+    private final int[] rows; // 行マスク（行ごとに盤面を並べる）
+    private final int[] linesCleared; // 盤面ごとの消去ライン数
+    private final int stride; // 1行あたりの要素数
+    private int size;
+
+    /**
+     * 盤面バッチのコンストラクタ
+     *
+     * @param capacity 最大盤面数（レーン数の倍数に切り上げる）
+     */
+    public BoardBatch(int capacity) {
+        stride = (capacity + LANE_ALIGNMENT - 1) / LANE_ALIGNMENT * LANE_ALIGNMENT;
+        rows = new int[stride * BitBoard.HEIGHT];
+        linesCleared = new int[stride];
+    }
+
+    /**
+     * 全盤面を取り除く
+     */
+    public void clear() {
+        // 余りのレーンが空の盤面になるよう、使った範囲の行マスクを消去する
+        for (int y = 0; y < BitBoard.HEIGHT; y++) {
+            int base = y * stride;
+            for (int i = 0; i < size; i++) {
+                rows[base + i] = 0;
+            }
+        }
+        size = 0;
+    }
+
+    /**
+     * 盤面を追加する
+     *
+     * @param board   ライン消去後の盤面
+     * @param cleared 消去したライン数
+     * @return 追加した場合はその番号、容量を超える場合-1
+     */
+    public int add(BitBoard board, int cleared) {
+        if (size == linesCleared.length) {
+            return -1;
+        }
+        int i = size++;
+        for (int y = 0; y < BitBoard.HEIGHT; y++) {
+            rows[y * stride + i] = board.getRow(y);
+        }
+        linesCleared[i] = cleared;
+        return i;
+    }
+
+    /**
+     * 盤面領域のレコードの盤面を追加する（消去ライン数もレコードのものを使う）
+     *
+     * @param arena 盤面領域
+     * @param index レコードの番号
+     * @return 追加した場合はその番号、容量を超える場合-1
+     */
+    public int add(BoardArena arena, int index) {
+        if (size == linesCleared.length) {
+            return -1;
+        }
+        int i = size++;
+        for (int y = 0; y < BitBoard.HEIGHT; y++) {
+            rows[y * stride + i] = arena.getRow(index, y);
+        }
+        linesCleared[i] = arena.getLinesCleared(index);
+        return i;
+    }
+
+    /**
+     * 盤面の内容を取り出す
+     *
+     * @param index 盤面の番号
+     * @param out   格納先
+     */
+    public void copyTo(int index, BitBoard out) {
+        for (int y = 0; y < BitBoard.HEIGHT; y++) {
+            out.setRow(y, rows[y * stride + index]);
+        }
+    }
+
+    /**
+     * 盤面の消去ライン数を取得
+     *
+     * @param index 盤面の番号
+     * @return 消去したライン数
+     */
+    public int getLinesCleared(int index) {
+        return linesCleared[index];
+    }
+
+    // ゲッター
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return linesCleared.length;
+    }
+
+    int[] rows() {
+        return rows;
+    }
+
+    int stride() {
+        return stride;
+    }
+}
@@ -0,0 +1,77 @@
+package com.tetris.ai;
+
+/**
+ * 盤面評価の重みを保持するクラス
+ * 評価値は「重み×特徴量」の和で、値が大きいほど良い盤面を表す
+ */
+public final class EvaluationWeights {
+
+    public static final int FEATURE_COUNT = 4; // 特徴量の数
+
+    /**
+     * 標準の重み（高さ・穴・でこぼこを減らし、ライン消去を評価する）
+     */
+    public static final EvaluationWeights DEFAULT = new EvaluationWeights(-0.510066, -0.35663, -0.184483, 0.760666);
+
+    private final double aggregateHeight; // 各列の高さの合計
+    private final double holes; // 穴（上にブロックがある空きセル）の数
+    private final double bumpiness; // 隣り合う列の高さの差の合計
+    private final double linesCleared; // 消去したライン数
+
+    /**
+     * 評価の重みのコンストラクタ
+     *
+     * @param aggregateHeight 高さの合計の重み
+     * @param holes           穴の数の重み
+     * @param bumpiness       でこぼこの重み
+     * @param linesCleared    消去ライン数の重み
+     */
+    public EvaluationWeights(double aggregateHeight, double holes, double bumpiness, double linesCleared) {
+        this.aggregateHeight = aggregateHeight;
+        this.holes = holes;
+        this.bumpiness = bumpiness;
+        this.linesCleared = linesCleared;
+    }
+
+    /**
+     * 配列から重みを作成する（toArrayと同じ順序）
+     *
+     * @param values 重み（高さ・穴・でこぼこ・消去ライン数の順）
+     * @return 評価の重み
+     */
+    public static EvaluationWeights fromArray(double[] values) {
+        return new EvaluationWeights(values[0], values[1], values[2], values[3]);
+    }
+
+    /**
+     * 重みを配列にする
+     *
+     * @return 重み（高さ・穴・でこぼこ・消去ライン数の順）
+     */
+    public double[] toArray() {
+        return new double[] { aggregateHeight, holes, bumpiness, linesCleared };
+    }
+
+    // ゲッター
+    public double getAggregateHeight() {
+        return aggregateHeight;
+    }
+
+    public double getHoles() {
+        return holes;
+    }
+
+    public double getBumpiness() {
+        return bumpiness;
+    }
+
+    public double getLinesCleared() {
+        return linesCleared;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("height=%.4f holes=%.4f bumpiness=%.4f lines=%.4f",
+                aggregateHeight, holes, bumpiness, linesCleared);
+    }
+}
@@ -0,0 +1,92 @@
+package com.tetris.ai;
+
+/**
+ * 盤面を重み付きの特徴量で評価するクラス
+ * 特徴量は高さの合計・穴の数・でこぼこ・消去ライン数で、行マスクを上から1回走査して求める
+ * 評価中にオブジェクトを確保しない（作業用の配列はインスタンスごとに1つ持つ）
+ */
+public class HeuristicEvaluator {
+
+    /**
+     * ゲームオーバーになる盤面の評価値（どの盤面よりも低い）
+     */
+    public static final double TOP_OUT_SCORE = -1e9;
+
+    private final EvaluationWeights weights;
+    private final int[] heights = new int[BitBoard.WIDTH]; // 各列の高さ（作業用）
+
+    /**
+     * 盤面評価クラスのコンストラクタ
+     *
+     * @param weights 評価の重み
+     */
+    public HeuristicEvaluator(EvaluationWeights weights) {
+        this.weights = weights;
+    }
+
+    /**
+     * ライン消去後の盤面を評価する
+     *
+     * @param board        ライン消去後の盤面
+     * @param linesCleared 消去したライン数
+     * @return 評価値（大きいほど良い）
+     */
+    public double evaluate(BitBoard board, int linesCleared) {
+        if (board.isToppedOut()) {
+            return TOP_OUT_SCORE;
+        }
+
+        // 上から走査し、各列で最初に現れたブロックの行から高さを、既に現れた列の空きから穴を数える
+        int seen = 0; // ブロックが現れた列
+        int holes = 0;
+        for (int y = 0; y < BitBoard.HEIGHT; y++) {
+            int row = board.getRow(y);
+            holes += Integer.bitCount(seen & ~row);
+            int newColumns = row & ~seen;
+            while (newColumns != 0) {
+                int x = Integer.numberOfTrailingZeros(newColumns);
+                heights[x] = BitBoard.HEIGHT - y;
+                newColumns &= newColumns - 1;
+            }
+            seen |= row;
+        }
+
+        int aggregateHeight = 0;
+        int bumpiness = 0;
+        for (int x = 0; x < BitBoard.WIDTH; x++) {
+            int height = (seen & (1 << x)) != 0 ? heights[x] : 0;
+            heights[x] = height;
+            aggregateHeight += height;
+            if (x > 0) {
+                bumpiness += Math.abs(height - heights[x - 1]);
+            }
+        }
+
+        return weights.getAggregateHeight() * aggregateHeight
+                + weights.getHoles() * holes
+                + weights.getBumpiness() * bumpiness
+                + weights.getLinesCleared() * linesCleared;
+    }
+
+    /**
+     * テトリミノを置いた結果の盤面を評価する
+     *
+     * @param board    置く前の盤面（変更しない）
+     * @param scratch  結果の盤面の格納先
+     * @param type     種類の番号
+     * @param rotation 回転状態
+     * @param x        形状の左上のX座標
+     * @param y        形状の左上のY座標（着地位置）
+     * @return 評価値（大きいほど良い）
+     */
+    public double evaluatePlacement(BitBoard board, BitBoard scratch, int type, int rotation, int x, int y) {
+        scratch.copyFrom(board);
+        scratch.place(type, rotation, x, y);
+        int cleared = scratch.clearFullRows();
+        return evaluate(scratch, cleared);
+    }
+
+    public EvaluationWeights getWeights() {
+        return weights;
+    }
+}
@@ -0,0 +1,367 @@
+package com.tetris.ai;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * プレビューのテトリミノまで先読みして固定位置を選ぶ探索クラス
+ * 現在のテトリミノの各固定位置について、続くテトリミノを順に置いた盤面を評価し、最も良い組み合わせの先頭を選ぶ
+ *
+ * 各段では盤面評価の上位beamWidth個の候補のみ展開する（ビーム枝刈り）
+ * 最初の段の候補ごとの部分木をフォーク・ジョイン・プールで並列に探索する
+ * 1手あたりの時間予算を超えた場合は探索済みの結果から選ぶ（何も探索できなければ1手先の評価で選ぶ）
+ * 期限は部分木の開始時と、各段の候補を評価する途中で確認する（先読みが1手のみでも予算内に収まる）
+ * 先読みの段のテトリミノは初期位置から真下に落とす位置のみ列挙する（滑り込みは最初の段のみ）
+ * 置換表を設定した場合は、同じ盤面と残りのテトリミノの並びの探索結果を再利用する
+ */
+public class LookaheadPlanner {
+
+    /**
+     * 先読みするテトリミノの最大数
+     */
+    public static final int MAX_PREVIEW = 6;
+
+    private static final int SPAWN_X = 3; // テトリミノの初期位置（Tetrominoのコンストラクタと同じ）
+    private static final int SPAWN_Y = 0;
+    private static final int MAX_PLACEMENTS = 64; // 真下に落とす位置の最大数（回転4×列13を超えない）
+    private static final int DEADLINE_CHECK_INTERVAL = 8; // 段の候補を評価する途中で期限を確認する間隔（候補数）
+
+    private final EvaluationWeights weights;
+    private final ForkJoinPool pool;
+    private final int beamWidth; // 各段で展開する候補数
+    private final long budgetNanos; // 1手あたりの時間予算
+    private final ThreadLocal<Workspace> workspaces; // スレッドごとの作業領域
+    private final HeuristicEvaluator rootEvaluator; // 最初の段の評価用
+    private final BitBoard rootScratch;
+    private final int[] rootBeam; // 展開する最初の段の候補番号（評価の高い順）
+    private final SubtreeTask[] tasks; // 最初の段の候補ごとの探索（再利用する）
+    private final RootTask rootTask;
+    private TranspositionTable table; // 置換表（nullの場合は使わない）
+
+    private long lastNodes; // 直前の探索で評価した盤面の数
+    private long lastElapsedNanos; // 直前の探索にかかった時間
+    private boolean lastTimedOut; // 直前の探索が時間予算を超えたか
+
+    /**
+     * 先読み探索クラスのコンストラクタ
+     *
+     * @param weights     盤面評価の重み
+     * @param beamWidth   各段で展開する候補数
+     * @param budgetNanos 1手あたりの時間予算（ナノ秒）
+     * @param pool        部分木の探索に使うプール
+     */
+    public LookaheadPlanner(EvaluationWeights weights, int beamWidth, long budgetNanos, ForkJoinPool pool) {
+        this.weights = weights;
+        this.pool = pool;
+        this.beamWidth = Math.max(1, beamWidth);
+        this.budgetNanos = budgetNanos;
+        this.workspaces = ThreadLocal.withInitial(Workspace::new);
+        this.rootEvaluator = new HeuristicEvaluator(weights);
+        this.rootScratch = new BitBoard();
+        this.rootBeam = new int[this.beamWidth];
+        this.tasks = new SubtreeTask[this.beamWidth];
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = new SubtreeTask();
+        }
+        this.rootTask = new RootTask();
+    }
+
+    /**
+     * 置換表を設定する
+     *
+     * @param table 置換表（nullの場合は使わない）
+     */
+    public void setTranspositionTable(TranspositionTable table) {
+        this.table = table;
+    }
+
+    /**
+     * 最初の段の候補から、先読みの結果が最も良いものを選ぶ
+     * 候補の評価値には1手先の盤面評価を設定する
+     *
+     * @param board        現在の盤面
+     * @param root         現在のテトリミノの固定位置の候補
+     * @param type         現在のテトリミノの種類の番号
+     * @param preview      続くテトリミノの種類の番号
+     * @param previewCount 先読みするテトリミノの数（MAX_PREVIEWを超える分は使わない）
+     * @return 選んだ候補の番号（候補がない場合-1）
+     */
+    public int choose(BitBoard board, PlacementList root, int type, int[] preview, int previewCount) {
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        lastNodes = root.size();
+        lastTimedOut = false;
+
+        for (int i = 0; i < root.size(); i++) {
+            root.setScore(i, rootEvaluator.evaluatePlacement(board, rootScratch, type,
+                    root.getRotation(i), root.getX(i), root.getY(i)));
+        }
+        previewCount = Math.min(previewCount, MAX_PREVIEW);
+        if (previewCount <= 0 || root.size() == 0) {
+            lastElapsedNanos = System.nanoTime() - start;
+            return root.best();
+        }
+
+        if (table != null) {
+            table.newSearch();
+        }
+
+        // 上位の候補の部分木を並列に探索する
+        int count = selectBeam(root, rootBeam);
+        for (int j = 0; j < count; j++) {
+            int i = rootBeam[j];
+            tasks[j].prepare(board, type, root.getRotation(i), root.getX(i), root.getY(i),
+                    preview, previewCount, deadline);
+        }
+        rootTask.reinitialize();
+        rootTask.count = count;
+        pool.invoke(rootTask);
+
+        int best = -1;
+        double bestValue = 0;
+        for (int j = 0; j < count; j++) {
+            SubtreeTask task = tasks[j];
+            lastNodes += task.nodes;
+            lastTimedOut |= task.timedOut;
+            // 探索できなかった部分木（NaN）は比較に含めない
+            if (!Double.isNaN(task.value) && (best < 0 || task.value > bestValue)) {
+                best = rootBeam[j];
+                bestValue = task.value;
+            }
+        }
+        lastElapsedNanos = System.nanoTime() - start;
+        return best >= 0 ? best : root.best();
+    }
+
+    /**
+     * 評価値の高い候補をbeam.length個まで選ぶ（評価値の高い順に並べる）
+     *
+     * @return 選んだ数
+     */
+    private static int selectBeam(PlacementList list, int[] beam) {
+        int count = 0;
+        for (int i = 0; i < list.size(); i++) {
+            double score = list.getScore(i);
+            if (count == beam.length && score <= list.getScore(beam[count - 1])) {
+                continue;
+            }
+            // 挿入ソートで順位の位置に入れる（容量を超えた最下位は押し出す）
+            int j = count < beam.length ? count++ : count - 1;
+            while (j > 0 && list.getScore(beam[j - 1]) < score) {
+                beam[j] = beam[j - 1];
+                j--;
+            }
+            beam[j] = i;
+        }
+        return count;
+    }
+
+    // ゲッター
+    public long getLastNodes() {
+        return lastNodes;
+    }
+
+    public long getLastElapsedNanos() {
+        return lastElapsedNanos;
+    }
+
+    public boolean isLastTimedOut() {
+        return lastTimedOut;
+    }
+
+    public int getBeamWidth() {
+        return beamWidth;
+    }
+
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * 最初の段の部分木をまとめて実行するタスク（先頭は自スレッドで実行し、残りをフォークする）
+     */
+    private class RootTask extends RecursiveAction {
+        private int count;
+
+        @Override
+        protected void compute() {
+            for (int j = 1; j < count; j++) {
+                tasks[j].reinitialize();
+                tasks[j].fork();
+            }
+            tasks[0].reinitialize();
+            tasks[0].invoke();
+            for (int j = 1; j < count; j++) {
+                tasks[j].join();
+            }
+        }
+    }
+
+    /**
+     * 最初の段の1つの候補を置いた後の部分木を探索するタスク
+     */
+    private class SubtreeTask extends RecursiveAction {
+        private BitBoard board; // 置く前の盤面（探索中は変更しない）
+        private int type;
+        private int rotation;
+        private int x;
+        private int y;
+        private int[] preview;
+        private int previewCount;
+        private long deadline;
+
+        private double value; // 部分木の最良の評価値（探索できなかった場合NaN）
+        private long nodes; // 評価した盤面の数
+        private boolean timedOut;
+
+        void prepare(BitBoard board, int type, int rotation, int x, int y,
+                int[] preview, int previewCount, long deadline) {
+            this.board = board;
+            this.type = type;
+            this.rotation = rotation;
+            this.x = x;
+            this.y = y;
+            this.preview = preview;
+            this.previewCount = previewCount;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected void compute() {
+            Workspace workspace = workspaces.get();
+            workspace.nodes = 0;
+            workspace.timedOut = false;
+            if (System.nanoTime() > deadline) {
+                // 期限までに開始できなかった部分木は探索しない
+                value = Double.NaN;
+                nodes = 0;
+                timedOut = true;
+                return;
+            }
+
+            BitBoard after = workspace.rootBoard;
+            after.copyFrom(board);
+            after.place(type, rotation, x, y);
+            int cleared = after.clearFullRows();
+            value = after.isToppedOut() ? HeuristicEvaluator.TOP_OUT_SCORE
+                    : weights.getLinesCleared() * cleared + workspace.expand(after, 0, preview, previewCount, deadline);
+
+            nodes = workspace.nodes;
+            timedOut = workspace.timedOut;
+        }
+    }
+
+    /**
+     * スレッドごとの作業領域（段ごとの候補リストと盤面を事前に確保する）
+     */
+    private class Workspace {
+        private final PlacementEnumerator enumerator = new PlacementEnumerator();
+        private final HeuristicEvaluator evaluator = new HeuristicEvaluator(weights);
+        private final BitBoard rootBoard = new BitBoard();
+        private final PlacementList[] lists = new PlacementList[MAX_PREVIEW];
+        private final BitBoard[] boards = new BitBoard[MAX_PREVIEW];
+        private final int[][] beams = new int[MAX_PREVIEW][beamWidth];
+        private long nodes;
+        private boolean timedOut;
+
+        Workspace() {
+            for (int depth = 0; depth < MAX_PREVIEW; depth++) {
+                lists[depth] = new PlacementList(MAX_PLACEMENTS);
+                boards[depth] = new BitBoard();
+            }
+        }
+
+        /**
+         * プレビューのdepth番目のテトリミノを置く段を展開し、最良の評価値を求める
+         * 評価値のうち消去ライン数の項はこの段以降に消去した分のみ含める（置換表の値がそれまでの経路によらないため）
+         *
+         * @param board        置く前の盤面（変更しない）
+         * @param depth        プレビューの番号
+         * @param preview      プレビューのテトリミノの種類の番号
+         * @param previewCount プレビューの数
+         * @param deadline     探索の期限（System.nanoTime()の値）
+         * @return 最良の評価値（期限までに何も探索できなかった場合NaN）
+         */
+        double expand(BitBoard board, int depth, int[] preview, int previewCount, long deadline) {
+            int remaining = previewCount - depth;
+            long key = 0;
+            if (table != null) {
+                key = ZobristHash.hash(board) ^ ZobristHash.previewKey(preview, depth, previewCount);
+                long entry = table.probe(key, remaining);
+                if (entry != TranspositionTable.MISS) {
+                    return TranspositionTable.value(entry);
+                }
+            }
+
+            PlacementList list = lists[depth];
+            BitBoard child = boards[depth];
+            int type = preview[depth];
+            if (enumerator.enumerate(board, type, 0, SPAWN_X, SPAWN_Y, list) == 0) {
+                return HeuristicEvaluator.TOP_OUT_SCORE; // 初期位置に置けない
+            }
+
+            for (int i = 0; i < list.size(); i++) {
+                // 期限は一定の候補数ごとに確認する（この段の評価が途中の場合は結果を使わない）
+                if (i % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                    nodes += i;
+                    timedOut = true;
+                    return Double.NaN;
+                }
+                child.copyFrom(board);
+                child.place(type, list.getRotation(i), list.getX(i), list.getY(i));
+                int cleared = child.clearFullRows();
+                list.setScore(i, evaluator.evaluate(child, cleared));
+            }
+            nodes += list.size();
+
+            double best = Double.NaN;
+            int bestIndex = -1;
+            boolean parentTimedOut = timedOut;
+            timedOut = false;
+            if (remaining == 1) {
+                bestIndex = list.best();
+                best = list.getScore(bestIndex);
+            } else {
+                int[] beam = beams[depth];
+                int count = selectBeam(list, beam);
+                for (int j = 0; j < count; j++) {
+                    if (System.nanoTime() > deadline) {
+                        timedOut = true;
+                        break;
+                    }
+                    int i = beam[j];
+                    double value = list.getScore(i);
+                    if (value > HeuristicEvaluator.TOP_OUT_SCORE) {
+                        child.copyFrom(board);
+                        child.place(type, list.getRotation(i), list.getX(i), list.getY(i));
+                        int cleared = child.clearFullRows();
+                        value = weights.getLinesCleared() * cleared
+                                + expand(child, depth + 1, preview, previewCount, deadline);
+                    }
+                    if (!Double.isNaN(value) && (Double.isNaN(best) || value > best)) {
+                        best = value;
+                        bestIndex = i;
+                    }
+                }
+            }
+
+            // 期限で打ち切った結果は不完全なので保存しない
+            if (table != null && !timedOut && bestIndex >= 0) {
+                table.store(key, best, remaining, packMove(list, bestIndex));
+            }
+            timedOut |= parentTimedOut;
+            return best;
+        }
+    }
+
+    /**
+     * 候補の回転・X・Yを置換表の最善手の値に詰める
+     */
+    private static int packMove(PlacementList list, int i) {
+        return (list.getRotation(i) << 9) | ((list.getX(i) + SPAWN_X) << 5) | list.getY(i);
+    }
+}
@@ -0,0 +1,52 @@
+package com.tetris.ai;
+
+import com.tetris.game.Game;
+
+/**
+ * テトリミノへの1回分の操作を表す列挙型
+ * 探索で求めた操作列をGameの操作メソッドで再生するために使う
+ */
+public enum PieceInput {
+    LEFT, // 左に移動
+    RIGHT, // 右に移動
+    ROTATE, // 時計回りに回転
+    DOWN, // 1段下に移動（ソフトドロップ）
+    HARD_DROP; // 真下に落として固定
+
+    private static final PieceInput[] VALUES = values(); // values()は呼ぶたびに配列を複製するため保持
+
+    /**
+     * 番号から操作を取得する
+     *
+     * @param ordinal 操作の番号（ordinal()の値）
+     * @return 操作
+     */
+    public static PieceInput of(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * 操作をゲームに適用する
+     *
+     * @param game ゲーム
+     */
+    public void apply(Game game) {
+        switch (this) {
+            case LEFT:
+                game.moveTetrominoLeft();
+                break;
+            case RIGHT:
+                game.moveTetrominoRight();
+                break;
+            case ROTATE:
+                game.rotateTetromino();
+                break;
+            case DOWN:
+                game.moveTetrominoDown();
+                break;
+            case HARD_DROP:
+                game.hardDrop();
+                break;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.tetris.ai;
+
+import com.tetris.model.Tetromino;
+
+/**
+ * テトリミノの形状を行ごとのビットマスクで保持する表
+ * 種類と回転ごとに、4x4の形状の各行を「ビットcが列c」のマスクとして事前に計算する
+ * 盤面の判定で形状配列を走査しないために使う
+ */
+public final class PieceShapes {
+
+    public static final int TYPE_COUNT = Tetromino.Type.values().length; // テトリミノの種類数
+    public static final int ROTATIONS = 4; // 回転状態の数
+
+    // 配列の参照を減らすため、種類と回転を (種類 * 4 + 回転) の1次元の添字にまとめて保持する
+    private static final int[] ROW_MASKS = new int[TYPE_COUNT * ROTATIONS * 4]; // 各行のマスク
+    private static final int[] MIN_COL = new int[TYPE_COUNT * ROTATIONS]; // ブロックがある最も左の列
+    private static final int[] MAX_COL = new int[TYPE_COUNT * ROTATIONS]; // ブロックがある最も右の列
+    private static final int[] MIN_ROW = new int[TYPE_COUNT * ROTATIONS]; // ブロックがある最も上の行
+    private static final int[] MAX_ROW = new int[TYPE_COUNT * ROTATIONS]; // ブロックがある最も下の行
+
+    static {
+        for (Tetromino.Type type : Tetromino.Type.values()) {
+            Tetromino tetromino = new Tetromino(type);
+            for (int rotation = 0; rotation < ROTATIONS; rotation++) {
+                tetromino.setRotation(rotation);
+                int[][] shape = tetromino.getShape();
+                int key = type.ordinal() * ROTATIONS + rotation;
+                MIN_COL[key] = 4;
+                MIN_ROW[key] = 4;
+                for (int row = 0; row < 4; row++) {
+                    for (int col = 0; col < 4; col++) {
+                        if (shape[row][col] != 0) {
+                            ROW_MASKS[key * 4 + row] |= 1 << col;
+                            MIN_COL[key] = Math.min(MIN_COL[key], col);
+                            MAX_COL[key] = Math.max(MAX_COL[key], col);
+                            MIN_ROW[key] = Math.min(MIN_ROW[key], row);
+                            MAX_ROW[key] = Math.max(MAX_ROW[key], row);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // プライベートコンストラクタ（インスタンス化を防ぐ）
+    private PieceShapes() {
+        throw new AssertionError("Cannot instantiate shape table");
+    }
+
+    /**
+     * 形状の指定行のマスクを取得
+     *
+     * @param type     種類の番号（Tetromino.Type.ordinal()）
+     * @param rotation 回転状態（0〜3）
+     * @param row      形状内の行（0〜3）
+     * @return ビットcが列cを表すマスク
+     */
+    public static int rowMask(int type, int rotation, int row) {
+        return ROW_MASKS[(type * ROTATIONS + rotation) * 4 + row];
+    }
+
+    public static int minCol(int type, int rotation) {
+        return MIN_COL[type * ROTATIONS + rotation];
+    }
+
+    public static int maxCol(int type, int rotation) {
+        return MAX_COL[type * ROTATIONS + rotation];
+    }
+
+    public static int minRow(int type, int rotation) {
+        return MIN_ROW[type * ROTATIONS + rotation];
+    }
+
+    public static int maxRow(int type, int rotation) {
+        return MAX_ROW[type * ROTATIONS + rotation];
+    }
+}
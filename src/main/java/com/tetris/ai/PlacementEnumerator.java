@@ -0,0 +1,43 @@
+package com.tetris.ai;
+
+/**
+ * テトリミノの着地位置を列挙するクラス
+ * 現在の位置で回転させ、左右に移動してから真下に落とす操作で届く位置（回転×列）をすべて求める
+ * 回転と移動はGameと同じく1回ごとに配置可能かを確認し、途中で塞がれる位置は含めない
+ * 同じセルを占める位置はPlacementListが1つにまとめる
+ */
+public class PlacementEnumerator {
+
+    /**
+     * 着地位置を列挙する
+     *
+     * @param board         盤面
+     * @param type          種類の番号
+     * @param startRotation 現在の回転状態
+     * @param startX        現在のX座標
+     * @param startY        現在のY座標
+     * @param out           列挙結果の格納先（先にクリアする）
+     * @return 列挙した候補数
+     */
+    public int enumerate(BitBoard board, int type, int startRotation, int startX, int startY, PlacementList out) {
+        out.clear();
+        int rotation = startRotation;
+        for (int turns = 0; turns < PieceShapes.ROTATIONS; turns++) {
+            // 回転できなければ、それ以降の回転状態には届かない
+            if (!board.canPlace(type, rotation, startX, startY)) {
+                break;
+            }
+
+            out.add(type, rotation, startX, board.dropY(type, rotation, startX, startY));
+            for (int x = startX - 1; board.canPlace(type, rotation, x, startY); x--) {
+                out.add(type, rotation, x, board.dropY(type, rotation, x, startY));
+            }
+            for (int x = startX + 1; board.canPlace(type, rotation, x, startY); x++) {
+                out.add(type, rotation, x, board.dropY(type, rotation, x, startY));
+            }
+
+            rotation = (rotation + 1) % PieceShapes.ROTATIONS;
+        }
+        return out.size();
+    }
+}
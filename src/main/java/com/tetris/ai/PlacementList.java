@@ -0,0 +1,119 @@
+package com.tetris.ai;
+
+/**
+ * 着地位置の候補を保持する固定容量のリスト
+ * 回転・位置・評価値を並列の配列で保持し、追加や再利用でオブジェクトを確保しない
+ * 同じセルを占める候補（回転が違っても形が同じもの）は1つにまとめる
+ */
+public class PlacementList {
+
+    private final int[] rotation; // 回転状態
+    private final int[] x; // 形状の左上のX座標
+    private final int[] y; // 形状の左上のY座標（着地位置）
+    private final long[] cells; // 占めるセルを表すキー（重複判定用）
+    private final double[] score; // 評価値
+    private int size;
+
+    /**
+     * 候補リストのコンストラクタ
+     *
+     * @param capacity 最大候補数
+     */
+    public PlacementList(int capacity) {
+        rotation = new int[capacity];
+        x = new int[capacity];
+        y = new int[capacity];
+        cells = new long[capacity];
+        score = new double[capacity];
+    }
+
+    /**
+     * 全候補を取り除く
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * 候補を追加する
+     * 同じセルを占める候補が既にある場合や容量を超える場合は追加しない
+     *
+     * @param type        種類の番号
+     * @param newRotation 回転状態
+     * @param newX        形状の左上のX座標
+     * @param newY        形状の左上のY座標
+     * @return 追加した場合はその番号、追加しなかった場合-1
+     */
+    public int add(int type, int newRotation, int newX, int newY) {
+        long key = cellKey(type, newRotation, newX, newY);
+        for (int i = 0; i < size; i++) {
+            if (cells[i] == key) {
+                return -1;
+            }
+        }
+        if (size == rotation.length) {
+            return -1;
+        }
+        int i = size++;
+        rotation[i] = newRotation;
+        x[i] = newX;
+        y[i] = newY;
+        cells[i] = key;
+        score[i] = 0;
+        return i;
+    }
+
+    /**
+     * 占めるセルを表すキーを求める
+     * 最も上のブロックの行番号と、そこから4行分（形状の外は空）の盤面上のマスクを詰めた値
+     */
+    static long cellKey(int type, int rotation, int x, int y) {
+        int top = PieceShapes.minRow(type, rotation);
+        long key = y + top;
+        for (int row = top; row < top + 4; row++) {
+            int mask = row < 4 ? PieceShapes.rowMask(type, rotation, row) : 0;
+            key = (key << BitBoard.WIDTH) | (x >= 0 ? mask << x : mask >>> -x);
+        }
+        return key;
+    }
+
+    /**
+     * 最も評価値の高い候補を求める（同点の場合は先に追加したもの）
+     *
+     * @return 候補の番号（候補がない場合-1）
+     */
+    public int best() {
+        int best = -1;
+        for (int i = 0; i < size; i++) {
+            if (best < 0 || score[i] > score[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    public void setScore(int i, double value) {
+        score[i] = value;
+    }
+
+    // ゲッター
+    public int size() {
+        return size;
+    }
+
+    public int getRotation(int i) {
+        return rotation[i];
+    }
+
+    public int getX(int i) {
+        return x[i];
+    }
+
+    public int getY(int i) {
+        return y[i];
+    }
+
+    public double getScore(int i) {
+        return score[i];
+    }
+}
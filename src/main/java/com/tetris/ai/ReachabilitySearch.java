@@ -0,0 +1,216 @@
+package com.tetris.ai;
+
+/**
+ * テトリミノが届くすべての固定位置を幅優先探索で求めるクラス
+ * 状態（回転・X・Y）に対して、Gameと同じ規則の操作（左右移動・1段落下・壁蹴りなしの時計回り回転）を辿るため、
+ * 真下に落とすだけでは届かない張り出しの下への滑り込みや、底での回転による位置も見つかる
+ * 各固定位置には最短の操作列（最後はハードドロップ）を記録する
+ *
+ * 訪問済みの状態はビット集合で管理し、作業用の配列はすべて事前に確保するため探索中にオブジェクトを確保しない
+ * 自然落下は考慮しない（操作の合間に落下した場合は、その位置から探索し直す）
+ */
+public class ReachabilitySearch {
+
+    private static final int X_OFFSET = 3; // 形状の左端の空き列により負になるX座標をずらす量
+    private static final int X_SPAN = 16; // 1行あたりの状態数（BOARD_WIDTH + X_OFFSETを超える2の累乗）
+    private static final int STATE_COUNT = PieceShapes.ROTATIONS * BitBoard.HEIGHT * X_SPAN; // 状態の総数
+    private static final int NO_PARENT = -1;
+
+    /**
+     * 操作列の最大長（状態数より長い最短経路はない）
+     */
+    public static final int MAX_PATH_LENGTH = STATE_COUNT + 1;
+
+    private final long[] visited = new long[STATE_COUNT / 64]; // 訪問済みの状態
+    private final long[] locked = new long[STATE_COUNT / 64]; // 候補に登録済みの固定位置
+    private final int[] queue = new int[STATE_COUNT]; // 探索待ちの状態（訪問順に並ぶ）
+    private final int[] parent = new int[STATE_COUNT]; // 直前の状態
+    private final byte[] input = new byte[STATE_COUNT]; // 直前の状態からの操作
+    private final int[] landingY = new int[STATE_COUNT]; // 真下に落とした場合の着地位置（計算済みの状態のみ）
+    private final int[] landingStamp = new int[STATE_COUNT]; // landingYを計算した探索の番号
+    private final int[] source; // 候補ごとの、ハードドロップを行う状態
+    private int generation; // 探索の番号（landingYを消去せずに無効にするため）
+    private int visitedCount;
+
+    /**
+     * 到達可能性探索クラスのコンストラクタ
+     *
+     * @param maxPlacements 記録する固定位置の最大数（PlacementListの容量と合わせる）
+     */
+    public ReachabilitySearch(int maxPlacements) {
+        source = new int[maxPlacements];
+    }
+
+    /**
+     * 現在の状態から届く固定位置をすべて求める
+     * 候補は最短の操作列が短い順に並ぶ（同じセルを占める位置は最短のもののみ）
+     *
+     * @param board         盤面
+     * @param type          種類の番号
+     * @param startRotation 現在の回転状態
+     * @param startX        現在のX座標
+     * @param startY        現在のY座標
+     * @param out           固定位置の格納先（先にクリアする）
+     * @return 固定位置の数
+     */
+    public int search(BitBoard board, int type, int startRotation, int startX, int startY, PlacementList out) {
+        out.clear();
+        clear(visited);
+        clear(locked);
+        generation++;
+        visitedCount = 0;
+        if (!board.canPlace(type, startRotation, startX, startY)) {
+            return 0;
+        }
+
+        int start = index(startRotation, startX, startY);
+        mark(visited, start);
+        parent[start] = NO_PARENT;
+        queue[visitedCount++] = start;
+
+        for (int head = 0; head < visitedCount; head++) {
+            int state = queue[head];
+            int rotation = rotationOf(state);
+            int x = xOf(state);
+            int y = yOf(state);
+
+            // この状態からハードドロップした固定位置（訪問順が最短順なので、最初に見つけた経路が最短）
+            int lockY = landingY(board, type, rotation, x, y);
+            int lockState = index(rotation, x, lockY);
+            if (!isMarked(locked, lockState)) {
+                mark(locked, lockState);
+                int placement = out.add(type, rotation, x, lockY);
+                if (placement >= 0 && placement < source.length) {
+                    source[placement] = state;
+                }
+            }
+
+            visit(board, type, state, rotation, x - 1, y, PieceInput.LEFT);
+            visit(board, type, state, rotation, x + 1, y, PieceInput.RIGHT);
+            visit(board, type, state, (rotation + 1) % PieceShapes.ROTATIONS, x, y, PieceInput.ROTATE);
+            visit(board, type, state, rotation, x, y + 1, PieceInput.DOWN);
+        }
+        return out.size();
+    }
+
+    /**
+     * 固定位置までの最短の操作列を求める
+     *
+     * @param placement 候補の番号（直前のsearchの結果）
+     * @param path      操作の番号（PieceInput.ordinal()）の格納先（長さMAX_PATH_LENGTH以上）
+     * @return 操作列の長さ（最後はハードドロップ）
+     */
+    public int getPath(int placement, byte[] path) {
+        int length = 0;
+        for (int state = source[placement]; parent[state] != NO_PARENT; state = parent[state]) {
+            path[length++] = input[state];
+        }
+        // 終点から辿ったので反転する
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            byte tmp = path[i];
+            path[i] = path[j];
+            path[j] = tmp;
+        }
+        path[length++] = (byte) PieceInput.HARD_DROP.ordinal();
+        return length;
+    }
+
+    /**
+     * 固定位置までの最初の操作を求める（操作列を作らずに1回ずつ操作する場合に使う）
+     *
+     * @param placement 候補の番号（直前のsearchの結果）
+     * @return 最初の操作
+     */
+    public PieceInput getFirstInput(int placement) {
+        int state = source[placement];
+        if (parent[state] == NO_PARENT) {
+            return PieceInput.HARD_DROP;
+        }
+        while (parent[parent[state]] != NO_PARENT) {
+            state = parent[state];
+        }
+        return PieceInput.of(input[state]);
+    }
+
+    /**
+     * 直前の探索で訪問した状態の数を取得
+     *
+     * @return 状態数
+     */
+    public int getVisitedCount() {
+        return visitedCount;
+    }
+
+    /**
+     * 未訪問で配置可能な状態なら探索待ちに加える
+     */
+    private void visit(BitBoard board, int type, int from, int rotation, int x, int y, PieceInput move) {
+        if (y >= BitBoard.HEIGHT) {
+            return;
+        }
+        // 配置判定より安い訪問済みの判定を先に行う（左右の移動先は添字の範囲内に収まる）
+        int state = index(rotation, x, y);
+        if (isMarked(visited, state) || !board.canPlace(type, rotation, x, y)) {
+            return;
+        }
+        mark(visited, state);
+        parent[state] = from;
+        input[state] = (byte) move.ordinal();
+        queue[visitedCount++] = state;
+    }
+
+    /**
+     * 真下に落とした場合の着地位置を求める
+     * 同じ列で落下の途中にある状態の結果も記録し、列ごとに1回の走査で済ませる
+     */
+    private int landingY(BitBoard board, int type, int rotation, int x, int y) {
+        int lockY = y;
+        while (true) {
+            int below = index(rotation, x, lockY);
+            if (landingStamp[below] == generation) {
+                lockY = landingY[below];
+                break;
+            }
+            if (!board.canPlace(type, rotation, x, lockY + 1)) {
+                break;
+            }
+            lockY++;
+        }
+        for (int fillY = y; fillY <= lockY; fillY++) {
+            int state = index(rotation, x, fillY);
+            landingY[state] = lockY;
+            landingStamp[state] = generation;
+        }
+        return lockY;
+    }
+
+    private static int index(int rotation, int x, int y) {
+        return (rotation * BitBoard.HEIGHT + y) * X_SPAN + x + X_OFFSET;
+    }
+
+    private static int rotationOf(int state) {
+        return state / (BitBoard.HEIGHT * X_SPAN);
+    }
+
+    private static int xOf(int state) {
+        return state % X_SPAN - X_OFFSET;
+    }
+
+    private static int yOf(int state) {
+        return state / X_SPAN % BitBoard.HEIGHT;
+    }
+
+    private static void mark(long[] bits, int i) {
+        bits[i >>> 6] |= 1L << i;
+    }
+
+    private static boolean isMarked(long[] bits, int i) {
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    private static void clear(long[] bits) {
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = 0;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.tetris.ai;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 探索結果を局面のハッシュ値で引く固定サイズの置換表
+ * 1つのlong[]を開番地法のバケット（2エントリ）に分けて使い、評価値・探索の深さ・最善手を1つのlongに詰めて保持する
+ *
+ * バケットの1番目は深さ優先（浅い結果で深い結果を上書きしない。ただし以前の探索のものは上書きする）、
+ * 2番目は常に上書きする
+ *
+ * 並列探索のワーカーからロックなしで読み書きできる
+ * 各エントリは「キーとデータの排他的論理和」と「データ」の2つのlongで保持し、
+ * 読み出し時に両者からキーを復元して一致を確認するため、別スレッドの書き込みと混ざったエントリは不一致として捨てられる
+ */
+public class TranspositionTable {
+
+    /**
+     * 該当するエントリがないことを表す値（有効なデータは必ずVALID_BITを含む）
+     */
+    public static final long MISS = 0;
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int LONGS_PER_BUCKET = 4; // エントリ2つ×（キー^データ、データ）
+    private static final long VALID_BIT = 1L << 15;
+    private static final int MOVE_MASK = 0x7FFF;
+    private static final int MAX_DEPTH = 0xFF;
+
+    private final long[] slots;
+    private final long bucketMask;
+    private volatile int age; // 探索の世代（以前の探索の結果を上書き対象にするため）
+
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+
+    /**
+     * 置換表のコンストラクタ
+     *
+     * @param log2Buckets バケット数の2を底とする対数（1バケット32バイト）
+     */
+    public TranspositionTable(int log2Buckets) {
+        slots = new long[LONGS_PER_BUCKET << log2Buckets];
+        bucketMask = (1L << log2Buckets) - 1;
+    }
+
+    /**
+     * 新しい探索を開始する（以前の探索の結果を深さに関係なく上書きできるようにする）
+     */
+    public void newSearch() {
+        age = (age + 1) & 0xFF;
+    }
+
+    /**
+     * エントリを探す
+     *
+     * @param key      局面のハッシュ値
+     * @param minDepth 必要な探索の深さ
+     * @return データ（value/depth/moveで取り出す）、該当しない場合MISS
+     */
+    public long probe(long key, int minDepth) {
+        probes.increment();
+        int base = bucketIndex(key);
+        for (int slot = base; slot < base + LONGS_PER_BUCKET; slot += 2) {
+            long data = (long) SLOTS.getOpaque(slots, slot + 1);
+            long check = (long) SLOTS.getOpaque(slots, slot);
+            if ((data & VALID_BIT) != 0 && (check ^ data) == key && depth(data) >= minDepth) {
+                hits.increment();
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * エントリを保存する
+     *
+     * @param key   局面のハッシュ値
+     * @param value 評価値
+     * @param depth 探索の深さ
+     * @param move  最善手（0〜0x7FFF）
+     */
+    public void store(long key, double value, int depth, int move) {
+        stores.increment();
+        int currentAge = age;
+        long data = ((long) Float.floatToRawIntBits((float) value) << 32)
+                | ((long) Math.min(depth, MAX_DEPTH) << 24)
+                | ((long) currentAge << 16)
+                | VALID_BIT
+                | (move & MOVE_MASK);
+
+        int slot = bucketIndex(key);
+        long oldData = (long) SLOTS.getOpaque(slots, slot + 1);
+        long oldCheck = (long) SLOTS.getOpaque(slots, slot);
+        boolean replaceFirst = (oldData & VALID_BIT) == 0 // 空き
+                || (oldCheck ^ oldData) == key // 同じ局面
+                || ageOf(oldData) != currentAge // 以前の探索の結果
+                || depth >= depth(oldData); // 同じか深い探索の結果
+        if (!replaceFirst) {
+            slot += 2; // 常に上書きするエントリ
+        }
+        SLOTS.setOpaque(slots, slot, key ^ data);
+        SLOTS.setOpaque(slots, slot + 1, data);
+    }
+
+    /**
+     * 全エントリと統計を消去する
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length; i++) {
+            SLOTS.setOpaque(slots, i, 0L);
+        }
+        resetStatistics();
+    }
+
+    /**
+     * 参照回数などの統計を消去する
+     */
+    public void resetStatistics() {
+        probes.reset();
+        hits.reset();
+        stores.reset();
+    }
+
+    /**
+     * データから評価値を取り出す
+     *
+     * @param data probeで得たデータ
+     * @return 評価値
+     */
+    public static double value(long data) {
+        return Float.intBitsToFloat((int) (data >>> 32));
+    }
+
+    /**
+     * データから探索の深さを取り出す
+     *
+     * @param data probeで得たデータ
+     * @return 探索の深さ
+     */
+    public static int depth(long data) {
+        return (int) (data >>> 24) & MAX_DEPTH;
+    }
+
+    /**
+     * データから最善手を取り出す
+     *
+     * @param data probeで得たデータ
+     * @return 最善手
+     */
+    public static int move(long data) {
+        return (int) data & MOVE_MASK;
+    }
+
+    private static int ageOf(long data) {
+        return (int) (data >>> 16) & 0xFF;
+    }
+
+    private int bucketIndex(long key) {
+        return (int) ((key & bucketMask) * LONGS_PER_BUCKET);
+    }
+
+    // ゲッター
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getStores() {
+        return stores.sum();
+    }
+
+    public double getHitRate() {
+        long p = probes.sum();
+        return p == 0 ? 0 : (double) hits.sum() / p;
+    }
+
+    public int getCapacity() {
+        return slots.length / 2;
+    }
+}
@@ -0,0 +1,120 @@
+package com.tetris.ai;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API（jdk.incubator.vector）で盤面バッチを一括評価するクラス
+ * 1レーンに1盤面を割り当て、同じ行のマスクをレーン数分まとめて読み込んで特徴量を求める
+ *
+ * JDK 17のVector APIにはビット数を数える演算がないため、行ごとにビット数を数えず、
+ * ビット位置ごとの2進カウンタ（ビットスライス：1の位・2の位…のマスク）に各行のマスクを足し込み、
+ * 全行を足し終えてからカウンタの各桁のビット数をスカラーで数える
+ * 穴・高さ・でこぼこのマスクは1つのintの別々のビット範囲に詰め、1回の加算で3つの特徴量を数える
+ * （カウンタは5桁で、1つのビット位置に足し込む値はHEIGHT（32未満）を超えない）
+ *
+ * ベクトル演算を1つのメソッドの少ない演算数に収めるのは、呼び出し側に展開された場合にも
+ * コンパイラのインライン化の上限に達しないようにするため（達するとベクトルがオブジェクトとして確保され大幅に遅くなる）
+ * 実行時に--add-modules jdk.incubator.vectorが必要なため、BatchEvaluator.create以外から直接参照しない
+ */
+final class VectorBatchEvaluator extends BatchEvaluator {
+
+    // BoardBatchのstrideはLANE_ALIGNMENTの倍数のため、それより広いベクトル（SVEの1024ビット以上など）は使わない
+    private static final VectorSpecies<Integer> SPECIES =
+            IntVector.SPECIES_PREFERRED.length() > BoardBatch.LANE_ALIGNMENT
+                    ? IntVector.SPECIES_512
+                    : IntVector.SPECIES_PREFERRED;
+    private static final int FIELD_MASK = BitBoard.FULL_ROW; // 1つの特徴量のビット範囲
+    private static final int HEIGHT_SHIFT = 10; // 高さのマスクの位置（穴は0、でこぼこは20）
+    private static final int BUMP_SHIFT = 20;
+    private static final int DIGITS = 5; // カウンタの桁数（2^5 > HEIGHT）
+
+    private final int[][] digits = new int[DIGITS][SPECIES.length()]; // レーンごとのカウンタの各桁（作業用）
+
+    /**
+     * ベクトル版の一括評価クラスのコンストラクタ
+     *
+     * @param weights 評価の重み
+     */
+    VectorBatchEvaluator(EvaluationWeights weights) {
+        super(weights);
+        if (BoardBatch.LANE_ALIGNMENT % SPECIES.length() != 0) {
+            throw new IllegalStateException("Unsupported vector length: " + SPECIES.length());
+        }
+    }
+
+    @Override
+    public void evaluate(BoardBatch batch, double[] scores) {
+        int[] rows = batch.rows();
+        int stride = batch.stride();
+        int size = batch.size();
+        // strideはレーン数の倍数なので、末尾の盤面を含むレーンもそのまま読める
+        for (int i = 0; i < size; i += SPECIES.length()) {
+            countBits(rows, stride, i);
+
+            // カウンタの各桁のビット数と評価値はレーンごとにスカラーで求める
+            int lanes = Math.min(SPECIES.length(), size - i);
+            for (int lane = 0; lane < lanes; lane++) {
+                int board = i + lane;
+                boolean toppedOut = false;
+                for (int y = 0; y < BitBoard.HIDDEN_ROWS; y++) {
+                    toppedOut |= rows[y * stride + board] != 0;
+                }
+                int holes = 0;
+                int aggregateHeight = 0;
+                int bumpiness = 0;
+                for (int digit = 0; digit < DIGITS; digit++) {
+                    int bits = digits[digit][lane];
+                    holes += Integer.bitCount(bits & FIELD_MASK) << digit;
+                    aggregateHeight += Integer.bitCount((bits >>> HEIGHT_SHIFT) & FIELD_MASK) << digit;
+                    bumpiness += Integer.bitCount(bits >>> BUMP_SHIFT) << digit;
+                }
+                scores[board] = score(toppedOut, aggregateHeight, holes, bumpiness, batch.getLinesCleared(board));
+            }
+        }
+    }
+
+    /**
+     * レーン数分の盤面について、各行の特徴量のマスクをビット位置ごとの2進カウンタに足し込む
+     */
+    private void countBits(int[] rows, int stride, int first) {
+        IntVector edgeMask = IntVector.broadcast(SPECIES, EDGE_MASK);
+        IntVector seen = IntVector.zero(SPECIES); // ブロックが現れた列
+        IntVector ones = IntVector.zero(SPECIES); // カウンタの各桁
+        IntVector twos = ones;
+        IntVector fours = ones;
+        IntVector eights = ones;
+        IntVector sixteens = ones;
+        for (int index = first; index < rows.length; index += stride) {
+            IntVector row = IntVector.fromArray(SPECIES, rows, index);
+            seen = seen.or(row);
+            IntVector holeBits = seen.lanewise(VectorOperators.XOR, row); // 既に現れた列のうち空いている列
+            IntVector edgeBits = seen.lanewise(VectorOperators.XOR, seen.lanewise(VectorOperators.LSHR, 1))
+                    .and(edgeMask);
+            IntVector bits = holeBits.or(seen.lanewise(VectorOperators.LSHL, HEIGHT_SHIFT))
+                    .or(edgeBits.lanewise(VectorOperators.LSHL, BUMP_SHIFT));
+
+            // 半加算器を桁ごとに連ねて1を足す
+            IntVector carry = ones.and(bits);
+            ones = ones.lanewise(VectorOperators.XOR, bits);
+            bits = twos.and(carry);
+            twos = twos.lanewise(VectorOperators.XOR, carry);
+            carry = fours.and(bits);
+            fours = fours.lanewise(VectorOperators.XOR, bits);
+            bits = eights.and(carry);
+            eights = eights.lanewise(VectorOperators.XOR, carry);
+            sixteens = sixteens.lanewise(VectorOperators.XOR, bits);
+        }
+        ones.intoArray(digits[0], 0);
+        twos.intoArray(digits[1], 0);
+        fours.intoArray(digits[2], 0);
+        eights.intoArray(digits[3], 0);
+        sixteens.intoArray(digits[4], 0);
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return true;
+    }
+}
@@ -0,0 +1,447 @@
+package com.tetris.ai;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.tetris.game.Game;
+
+/**
+ * 盤面評価の重みをクロスエントロピー法で調整するクラス
+ * 世代ごとに正規分布から重みの候補を生成し、各候補で画面なしのゲームを並列にプレイして
+ * 平均消去ライン数の上位（エリート）の平均・標準偏差を次の世代の分布にする
+ *
+ * 同じ世代の候補は同じシードのゲーム列で比較する（テトリミノの並びの運による差を除く）
+ * 評価値は重みの正の定数倍で選ぶ位置が変わらないため、候補は長さ1に正規化する
+ * 強い重みは終わらないため、1ゲームのテトリミノ数に上限を設ける
+ *
+ * 世代ごとに分布と最良の重みをチェックポイントファイルに保存し（一時ファイルに書いてから置き換える）、
+ * 同じファイルを指定して再実行すると続きの世代から再開する
+ * 候補数・エリート数・ゲーム数・テトリミノ数の上限・シードもファイルに保存し、
+ * 再開時のオプションと異なる場合は再開しない（世代の途中で条件が変わり、結果を再現できなくなるため）
+ *
+ * 使い方: WeightTuner [--generations N] [--population N] [--elite N] [--games N] [--max-pieces N]
+ *                     [--threads N] [--seed N] [--checkpoint FILE] [--restart]
+ */
+public class WeightTuner {
+
+    private static final double INITIAL_STDDEV = 0.5; // 最初の世代の標準偏差
+    private static final double NOISE = 0.1; // 分布が早く縮みすぎないよう標準偏差に加える値（世代ごとに減らす）
+    private static final double NOISE_DECAY = 0.8;
+    private static final long SEED_STRIDE = 1_000_003L; // シードから世代ごとの乱数・ゲームのシードを作る係数
+
+    private final int population; // 1世代の候補数
+    private final int eliteCount; // 次の世代の分布に使う上位の候補数
+    private final int gamesPerCandidate; // 1候補あたりのゲーム数
+    private final int maxPieces; // 1ゲームのテトリミノ数の上限
+    private final ExecutorService executor;
+
+    private final long seed;
+    private int generation; // 完了した世代数
+    private double[] mean; // 重みの分布の平均
+    private double[] stddev; // 重みの分布の標準偏差
+    private double[] bestWeights; // これまでの最良の重み
+    private double bestFitness = Double.NEGATIVE_INFINITY; // これまでの最良の平均消去ライン数
+
+    /**
+     * 重み調整クラスのコンストラクタ
+     *
+     * @param population        1世代の候補数
+     * @param eliteCount        次の世代の分布に使う上位の候補数
+     * @param gamesPerCandidate 1候補あたりのゲーム数
+     * @param maxPieces         1ゲームのテトリミノ数の上限
+     * @param threads           ゲームを並列にプレイするスレッド数
+     * @param seed              乱数のシード
+     */
+    public WeightTuner(int population, int eliteCount, int gamesPerCandidate, int maxPieces, int threads, long seed) {
+        this.population = population;
+        this.eliteCount = Math.max(1, Math.min(eliteCount, population));
+        this.gamesPerCandidate = gamesPerCandidate;
+        this.maxPieces = maxPieces;
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "WeightTuner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.seed = seed;
+        this.mean = normalize(EvaluationWeights.DEFAULT.toArray());
+        this.stddev = new double[EvaluationWeights.FEATURE_COUNT];
+        Arrays.fill(stddev, INITIAL_STDDEV);
+        this.bestWeights = mean.clone();
+    }
+
+    /**
+     * 1世代分の候補を評価し、分布を更新する
+     *
+     * @return 世代の結果
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    public GenerationResult runGeneration() throws InterruptedException {
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(seed * SEED_STRIDE + generation);
+        double[][] candidates = new double[population][];
+        for (int c = 0; c < population; c++) {
+            double[] weights = new double[EvaluationWeights.FEATURE_COUNT];
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = mean[i] + stddev[i] * gaussian(random);
+            }
+            candidates[c] = normalize(weights);
+        }
+
+        // 候補×ゲームをすべてスレッドプールに投入する
+        long gameSeedBase = (seed * SEED_STRIDE + generation) * gamesPerCandidate;
+        List<Future<Integer>> results = new ArrayList<>(population * gamesPerCandidate);
+        for (int c = 0; c < population; c++) {
+            EvaluationWeights weights = EvaluationWeights.fromArray(candidates[c]);
+            for (int g = 0; g < gamesPerCandidate; g++) {
+                long gameSeed = gameSeedBase + g;
+                results.add(executor.submit(() -> playGame(weights, gameSeed, maxPieces)));
+            }
+        }
+        double[] fitness = new double[population];
+        try {
+            for (int i = 0; i < results.size(); i++) {
+                fitness[i / gamesPerCandidate] += results.get(i).get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Self-play failed", e.getCause());
+        }
+
+        // 平均消去ライン数の高い順に並べ、上位から次の世代の分布を求める
+        Integer[] order = new Integer[population];
+        for (int c = 0; c < population; c++) {
+            fitness[c] /= gamesPerCandidate;
+            order[c] = c;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(fitness[b], fitness[a]));
+        double noise = NOISE * Math.pow(NOISE_DECAY, generation);
+        for (int i = 0; i < mean.length; i++) {
+            double sum = 0;
+            for (int e = 0; e < eliteCount; e++) {
+                sum += candidates[order[e]][i];
+            }
+            double m = sum / eliteCount;
+            double variance = 0;
+            for (int e = 0; e < eliteCount; e++) {
+                double d = candidates[order[e]][i] - m;
+                variance += d * d;
+            }
+            mean[i] = m;
+            stddev[i] = Math.sqrt(variance / eliteCount) + noise;
+        }
+        mean = normalize(mean);
+
+        int best = order[0];
+        if (fitness[best] > bestFitness) {
+            bestFitness = fitness[best];
+            bestWeights = candidates[best].clone();
+        }
+        generation++;
+
+        double meanFitness = 0;
+        for (double f : fitness) {
+            meanFitness += f;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return new GenerationResult(generation, fitness[best], meanFitness / population,
+                EvaluationWeights.fromArray(candidates[best]), results.size() / seconds);
+    }
+
+    /**
+     * 画面なしのゲームを1つプレイする
+     *
+     * @return 消去したライン数
+     */
+    static int playGame(EvaluationWeights weights, long gameSeed, int maxPieces) {
+        AutoPlayer player = new AutoPlayer(weights);
+        Game game = Game.createHeadless(gameSeed);
+        game.startGame();
+        for (int pieces = 0; pieces < maxPieces && game.getGameState() == Game.GameState.PLAYING; pieces++) {
+            player.playPiece(game);
+        }
+        int lines = game.getLines();
+        game.dispose();
+        return lines;
+    }
+
+    /**
+     * 標準正規分布の乱数（Box-Muller法）
+     */
+    private static double gaussian(SplittableRandom random) {
+        double u = 1.0 - random.nextDouble(); // 0を避ける
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    /**
+     * 長さ1に正規化する（長さ0の場合はそのまま）
+     */
+    private static double[] normalize(double[] values) {
+        double norm = 0;
+        for (double v : values) {
+            norm += v * v;
+        }
+        norm = Math.sqrt(norm);
+        double[] result = values.clone();
+        if (norm > 0) {
+            for (int i = 0; i < result.length; i++) {
+                result[i] /= norm;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 進捗をチェックポイントファイルに保存する（一時ファイルに書いてから置き換える）
+     *
+     * @param file 保存先
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void saveCheckpoint(Path file) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("population", Integer.toString(population));
+        properties.setProperty("elite", Integer.toString(eliteCount));
+        properties.setProperty("games", Integer.toString(gamesPerCandidate));
+        properties.setProperty("maxPieces", Integer.toString(maxPieces));
+        properties.setProperty("seed", Long.toString(seed));
+        properties.setProperty("generation", Integer.toString(generation));
+        properties.setProperty("mean", join(mean));
+        properties.setProperty("stddev", join(stddev));
+        properties.setProperty("bestWeights", join(bestWeights));
+        properties.setProperty("bestFitness", Double.toString(bestFitness));
+
+        Path dir = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            properties.store(writer, "WeightTuner checkpoint");
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * チェックポイントファイルから進捗を読み込む
+     *
+     * @param file 読み込むファイル
+     * @throws IOException              読み込みに失敗した場合
+     * @throws IllegalArgumentException 保存した設定（候補数・エリート数・ゲーム数・テトリミノ数の上限・シード）が
+     *                                  このインスタンスと異なる場合（進捗は変更しない）
+     */
+    public void loadCheckpoint(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        StringBuilder mismatches = new StringBuilder();
+        checkSetting(properties, "population", Integer.toString(population), mismatches);
+        checkSetting(properties, "elite", Integer.toString(eliteCount), mismatches);
+        checkSetting(properties, "games", Integer.toString(gamesPerCandidate), mismatches);
+        checkSetting(properties, "maxPieces", Integer.toString(maxPieces), mismatches);
+        checkSetting(properties, "seed", Long.toString(seed), mismatches);
+        if (mismatches.length() > 0) {
+            throw new IllegalArgumentException("Checkpoint settings differ: " + mismatches);
+        }
+        try {
+            generation = Integer.parseInt(properties.getProperty("generation"));
+            mean = split(properties.getProperty("mean"));
+            stddev = split(properties.getProperty("stddev"));
+            bestWeights = split(properties.getProperty("bestWeights"));
+            bestFitness = Double.parseDouble(properties.getProperty("bestFitness"));
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid checkpoint: " + file, e);
+        }
+    }
+
+    /**
+     * 保存した設定が現在の値と異なる場合、差分を追加する（設定を保存していない古いファイルも異なるとみなす）
+     */
+    private static void checkSetting(Properties properties, String key, String current, StringBuilder mismatches) {
+        String saved = properties.getProperty(key);
+        if (!current.equals(saved)) {
+            if (mismatches.length() > 0) {
+                mismatches.append(", ");
+            }
+            mismatches.append(key).append('=').append(current).append(" (checkpoint: ")
+                    .append(saved != null ? saved : "missing").append(')');
+        }
+    }
+
+    private static String join(double[] values) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(values[i]);
+        }
+        return sb.toString();
+    }
+
+    private static double[] split(String value) {
+        String[] parts = value.split(",");
+        if (parts.length != EvaluationWeights.FEATURE_COUNT) {
+            throw new IllegalArgumentException("Expected " + EvaluationWeights.FEATURE_COUNT + " values: " + value);
+        }
+        double[] values = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Double.parseDouble(parts[i].trim());
+        }
+        return values;
+    }
+
+    /**
+     * スレッドプールを停止する
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ゲッター
+    public int getGeneration() {
+        return generation;
+    }
+
+    public EvaluationWeights getBestWeights() {
+        return EvaluationWeights.fromArray(bestWeights);
+    }
+
+    public double getBestFitness() {
+        return bestFitness;
+    }
+
+    /**
+     * 1世代の結果
+     */
+    public static final class GenerationResult {
+        private final int generation;
+        private final double bestFitness;
+        private final double meanFitness;
+        private final EvaluationWeights bestWeights;
+        private final double gamesPerSecond;
+
+        GenerationResult(int generation, double bestFitness, double meanFitness, EvaluationWeights bestWeights,
+                double gamesPerSecond) {
+            this.generation = generation;
+            this.bestFitness = bestFitness;
+            this.meanFitness = meanFitness;
+            this.bestWeights = bestWeights;
+            this.gamesPerSecond = gamesPerSecond;
+        }
+
+        // ゲッター
+        public int getGeneration() {
+            return generation;
+        }
+
+        public double getBestFitness() {
+            return bestFitness;
+        }
+
+        public double getMeanFitness() {
+            return meanFitness;
+        }
+
+        public EvaluationWeights getBestWeights() {
+            return bestWeights;
+        }
+
+        public double getGamesPerSecond() {
+            return gamesPerSecond;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("generation %d: best %.1f lines, mean %.1f lines, %.1f games/s, %s",
+                    generation, bestFitness, meanFitness, gamesPerSecond, bestWeights);
+        }
+    }
+
+    /**
+     * 重みの調整を開始する
+     *
+     * @param args コマンドライン引数
+     * @throws Exception 実行に失敗した場合
+     */
+    public static void main(String[] args) throws Exception {
+        int generations = 20;
+        int population = 32;
+        int elite = 8;
+        int games = 8;
+        int maxPieces = 1000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = 1;
+        Path checkpoint = Paths.get("tuner-checkpoint.properties");
+        boolean restart = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--generations":
+                    generations = Integer.parseInt(args[++i]);
+                    break;
+                case "--population":
+                    population = Integer.parseInt(args[++i]);
+                    break;
+                case "--elite":
+                    elite = Integer.parseInt(args[++i]);
+                    break;
+                case "--games":
+                    games = Integer.parseInt(args[++i]);
+                    break;
+                case "--max-pieces":
+                    maxPieces = Integer.parseInt(args[++i]);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                case "--checkpoint":
+                    checkpoint = Paths.get(args[++i]);
+                    break;
+                case "--restart":
+                    restart = true;
+                    break;
+                default:
+                    System.err.println("不明なオプションです: " + args[i]);
+                    System.exit(2);
+            }
+        }
+        System.setProperty("java.awt.headless", "true");
+
+        WeightTuner tuner = new WeightTuner(population, elite, games, maxPieces, threads, seed);
+        if (!restart && Files.exists(checkpoint)) {
+            try {
+                tuner.loadCheckpoint(checkpoint);
+            } catch (IllegalArgumentException e) {
+                tuner.shutdown();
+                System.err.println("チェックポイントの設定が現在のオプションと異なるため再開できません: " + e.getMessage());
+                System.err.println("同じオプションで実行するか、--restart を指定して最初からやり直してください");
+                System.exit(2);
+            }
+            System.err.println("チェックポイントから再開します: " + checkpoint + "（完了した世代 " + tuner.getGeneration() + "）");
+        }
+        try {
+            while (tuner.getGeneration() < generations) {
+                GenerationResult result = tuner.runGeneration();
+                tuner.saveCheckpoint(checkpoint);
+                System.out.println(result);
+            }
+        } finally {
+            tuner.shutdown();
+        }
+        System.out.printf("best %.1f lines: %s%n", tuner.getBestFitness(), tuner.getBestWeights());
+    }
+}
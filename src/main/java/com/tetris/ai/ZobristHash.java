@@ -0,0 +1,65 @@
+package com.tetris.ai;
+
+import java.util.SplittableRandom;
+
+/**
+ * 探索の盤面とこれから置くテトリミノの並びから64ビットのハッシュ値を求めるクラス（Zobristハッシュ）
+ * 行番号と行の埋まり方の組ごと、並びの順番と種類の組ごとに乱数を割り当て、該当する値の排他的論理和をとる
+ * 探索はテトリミノを出現位置から置くため、操作中のテトリミノの位置はキーに含めない
+ * 乱数のシードは固定で、同じ状態からは常に同じ値になる
+ */
+public final class ZobristHash {
+
+    private static final long SEED = 0x7E7215L; // 乱数表のシード
+
+    private static final long[] ROW_KEYS = new long[BitBoard.HEIGHT << BitBoard.WIDTH]; // 行番号×行のマスク
+    private static final long[] PREVIEW_KEYS = new long[LookaheadPlanner.MAX_PREVIEW * PieceShapes.TYPE_COUNT]; // 順番×種類
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int y = 0; y < BitBoard.HEIGHT; y++) {
+            // 空の行は0にして、空の盤面のハッシュ値を0にする
+            for (int mask = 1; mask <= BitBoard.FULL_ROW; mask++) {
+                ROW_KEYS[(y << BitBoard.WIDTH) | mask] = random.nextLong();
+            }
+        }
+        for (int i = 0; i < PREVIEW_KEYS.length; i++) {
+            PREVIEW_KEYS[i] = random.nextLong();
+        }
+    }
+
+    // プライベートコンストラクタ（インスタンス化を防ぐ）
+    private ZobristHash() {
+        throw new AssertionError("Cannot instantiate hash tables");
+    }
+
+    /**
+     * 探索用の盤面のハッシュ値を求める
+     *
+     * @param board 盤面
+     * @return ハッシュ値
+     */
+    public static long hash(BitBoard board) {
+        long hash = 0;
+        for (int y = 0; y < BitBoard.HEIGHT; y++) {
+            hash ^= ROW_KEYS[(y << BitBoard.WIDTH) | board.getRow(y)];
+        }
+        return hash;
+    }
+
+    /**
+     * これから置くテトリミノの並びに対応する値を求める
+     *
+     * @param preview テトリミノの種類の番号
+     * @param from    並びの先頭の位置
+     * @param to      並びの末尾の次の位置
+     * @return ハッシュ値に排他的論理和で加える値
+     */
+    public static long previewKey(int[] preview, int from, int to) {
+        long key = 0;
+        for (int i = from; i < to; i++) {
+            key ^= PREVIEW_KEYS[(i - from) * PieceShapes.TYPE_COUNT + preview[i]];
+        }
+        return key;
+    }
+}
@@ -0,0 +1,50 @@
+package com.tetris.diagnostics;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * スレッドが確保したメモリ量を取得するクラス
+ * com.sun.management.ThreadMXBeanを使い、JVMが対応していない場合は常に-1を返す
+ */
+public final class AllocationMeter {
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN = findThreadBean();
+
+    private AllocationMeter() {
+        throw new AssertionError("Cannot instantiate utility class");
+    }
+
+    /**
+     * スレッドごとのメモリ確保量を取得できるMXBeanを探す
+     *
+     * @return MXBean（JVMが対応していない場合null）
+     */
+    private static com.sun.management.ThreadMXBean findThreadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory
+                    .getThreadMXBean();
+            if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                return bean;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * メモリ確保量を取得できるかを返す
+     *
+     * @return 取得できる場合true
+     */
+    public static boolean isSupported() {
+        return THREAD_BEAN != null;
+    }
+
+    /**
+     * 呼び出したスレッドがこれまでに確保したメモリ量を取得する（オブジェクトを確保しない）
+     *
+     * @return 確保量（バイト、取得できない場合-1）
+     */
+    public static long currentThreadAllocatedBytes() {
+        return THREAD_BEAN != null ? THREAD_BEAN.getCurrentThreadAllocatedBytes() : -1;
+    }
+}
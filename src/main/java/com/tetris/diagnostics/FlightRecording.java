@@ -0,0 +1,85 @@
+package com.tetris.diagnostics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * アプリに同梱したJFR設定（tetris.jfc）でフライトレコーディングを開始するクラス
+ * システムプロパティ tetris.jfr に出力先を指定すると、起動時に記録を開始し終了時に書き出す
+ */
+public final class FlightRecording {
+
+    /**
+     * 記録の出力先を指定するシステムプロパティ
+     */
+    public static final String OUTPUT_PROPERTY = "tetris.jfr";
+
+    /**
+     * 同梱しているJFR設定のリソース名
+     */
+    public static final String SETTINGS_RESOURCE = "/tetris.jfc";
+
+    private FlightRecording() {
+        throw new AssertionError("Cannot instantiate utility class");
+    }
+
+    /**
+     * システムプロパティで出力先が指定されていれば記録を開始する
+     *
+     * @return 開始した記録（指定がない場合や開始できない場合null）
+     */
+    public static Recording startIfRequested() {
+        String file = System.getProperty(OUTPUT_PROPERTY);
+        if (file == null || file.isEmpty()) {
+            return null;
+        }
+        return start(Paths.get(file));
+    }
+
+    /**
+     * 同梱の設定で記録を開始する（JVM終了時に出力先へ書き出す）
+     *
+     * @param destination 出力先のファイル
+     * @return 開始した記録（開始できない場合null）
+     */
+    public static Recording start(Path destination) {
+        try {
+            Recording recording = new Recording(loadConfiguration());
+            recording.setName("tetris");
+            recording.setToDisk(true);
+            recording.setDestination(destination);
+            recording.setDumpOnExit(true);
+            recording.start();
+            return recording;
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            System.err.println("フライトレコーディングを開始できませんでした: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 同梱のJFR設定を読み込む
+     *
+     * @return JFR設定
+     * @throws IOException    設定が見つからない場合
+     * @throws ParseException 設定の形式が不正な場合
+     */
+    public static Configuration loadConfiguration() throws IOException, ParseException {
+        InputStream in = FlightRecording.class.getResourceAsStream(SETTINGS_RESOURCE);
+        if (in == null) {
+            throw new IOException(SETTINGS_RESOURCE + " が見つかりません");
+        }
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return Configuration.create(reader);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.tetris.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 落下タイマーによる1ティック（自然落下）を表すJFRイベント
+ */
+@Name("com.tetris.GravityTick")
+@Label("Gravity Tick")
+@Description("Gravity timer tick that moves the current piece down one row")
+@Category({ "Tetris", "Game" })
+@StackTrace(false)
+public class GravityTickEvent extends jdk.jfr.Event {
+
+    @Label("Level")
+    public int level;
+
+    @Label("Delay (ms)")
+    @Description("Gravity timer delay at the time of the tick")
+    public int delayMillis;
+}
@@ -0,0 +1,165 @@
+package com.tetris.diagnostics;
+
+import java.io.PrintWriter;
+
+/**
+ * 固定バケットのヒストグラム
+ * 値の範囲を2の累乗ごとに16分割したバケット（相対誤差6.25%以内）で数え、
+ * 記録時にオブジェクトを確保しない
+ * 記録と集計は同じスレッド（EDT）から行う前提で、同期はしない
+ */
+public class Histogram {
+
+    private static final int SUB_BITS = 4; // 2の累乗あたりの分割数（2^4 = 16）
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BITS) * SUB_COUNT; // long全域を覆うバケット数
+
+    private final String name; // 表示名
+    private final long[] counts; // バケットごとの件数
+    private long totalCount; // 記録件数
+    private long min; // 最小値
+    private long max; // 最大値
+    private long sum; // 合計（平均の算出用）
+
+    /**
+     * ヒストグラムのコンストラクタ
+     *
+     * @param name 表示名
+     */
+    public Histogram(String name) {
+        this.name = name;
+        this.counts = new long[BUCKET_COUNT];
+        reset();
+    }
+
+    /**
+     * 値を1件記録する（負の値は0として扱う）
+     *
+     * @param value 値
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts[bucketIndex(value)]++;
+        totalCount++;
+        sum += value;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * 記録を全て消去する
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = 0;
+        }
+        totalCount = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+        sum = 0;
+    }
+
+    /**
+     * パーセンタイル値を取得する
+     * 該当バケットの上限値を返す（最大値を超える場合は最大値）
+     *
+     * @param percentile パーセンタイル（0.0〜100.0）
+     * @return 値（記録がない場合は0）
+     */
+    public long getPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(totalCount * percentile / 100.0));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += counts[i];
+            if (cumulative >= target) {
+                return Math.min(max, bucketUpperBound(i));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * 値に対応するバケット番号を求める
+     * 16未満はそのまま、それ以上は上位5ビット（先頭の1と4ビット）で分類する
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value); // SUB_BITS以上
+        int mantissa = (int) (value >>> (exponent - SUB_BITS)); // SUB_COUNT〜2*SUB_COUNT-1
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + (mantissa - SUB_COUNT);
+    }
+
+    /**
+     * バケットに入る最小値を求める
+     */
+    static long bucketLowerBound(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_COUNT + SUB_BITS - 1;
+        long mantissa = index % SUB_COUNT + SUB_COUNT;
+        return mantissa << (exponent - SUB_BITS);
+    }
+
+    /**
+     * バケットに入る最大値を求める
+     */
+    static long bucketUpperBound(int index) {
+        if (index == BUCKET_COUNT - 1) {
+            return Long.MAX_VALUE;
+        }
+        return bucketLowerBound(index + 1) - 1;
+    }
+
+    /**
+     * 件数のあるバケットと集計値をテキストで書き出す
+     *
+     * @param out   出力先
+     * @param scale 表示時に値を割る数（ナノ秒をミリ秒で出す場合は1e6）
+     * @param unit  単位の表記
+     */
+    public void dump(PrintWriter out, double scale, String unit) {
+        out.printf("# %s (%s) count=%d mean=%.3f min=%.3f p50=%.3f p90=%.3f p99=%.3f p99.9=%.3f max=%.3f%n",
+                name, unit, totalCount, getMean() / scale, getMin() / scale,
+                getPercentile(50) / scale, getPercentile(90) / scale,
+                getPercentile(99) / scale, getPercentile(99.9) / scale, max / scale);
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (counts[i] != 0) {
+                out.printf("%.3f\t%.3f\t%d%n",
+                        bucketLowerBound(i) / scale, bucketUpperBound(i) / scale, counts[i]);
+            }
+        }
+    }
+
+    // ゲッター
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return totalCount;
+    }
+
+    public long getMin() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+}
@@ -0,0 +1,25 @@
+package com.tetris.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * レベルアップを表すJFRイベント
+ */
+@Name("com.tetris.LevelUp")
+@Label("Level Up")
+@Category({ "Tetris", "Game" })
+@StackTrace(false)
+public class LevelUpEvent extends jdk.jfr.Event {
+
+    @Label("Level")
+    public int level;
+
+    @Label("Lines")
+    public int lines;
+
+    @Label("Delay (ms)")
+    public int delayMillis;
+}
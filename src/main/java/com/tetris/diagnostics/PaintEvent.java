@@ -0,0 +1,28 @@
+package com.tetris.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * ゲーム画面1フレームの描画（GamePanel.paintComponent）を表すJFRイベント
+ */
+@Name("com.tetris.Paint")
+@Label("Game Panel Paint")
+@Description("One GamePanel.paintComponent call")
+@Category({ "Tetris", "Rendering" })
+@StackTrace(false)
+public class PaintEvent extends jdk.jfr.Event {
+
+    @Label("Block Size")
+    @Description("Block size in device pixels")
+    public int blockSize;
+
+    @Label("Quality")
+    public String quality;
+
+    @Label("Particles")
+    public int particles;
+}
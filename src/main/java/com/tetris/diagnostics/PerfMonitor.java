@@ -0,0 +1,224 @@
+package com.tetris.diagnostics;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * ゲーム実行中の性能を計測するクラス
+ * 描画時間・落下タイマーの間隔・アニメーション更新時間・入力から描画までの遅延・
+ * パーティクル数・1フレームあたりのメモリ確保量をヒストグラムに記録する
+ * 記録はオブジェクトを確保しないため、常に有効にしておける
+ * 全ての記録はEDTから行う
+ */
+public class PerfMonitor {
+
+    /**
+     * 終了時にヒストグラムを書き出すファイルを指定するシステムプロパティ
+     */
+    public static final String DUMP_PROPERTY = "tetris.perf.dump";
+
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private final Histogram paintTime; // 描画時間（ナノ秒）
+    private final Histogram tickInterval; // 落下タイマーの間隔（ナノ秒）
+    private final Histogram animationUpdateTime; // アニメーション更新時間（ナノ秒）
+    private final Histogram inputLatency; // キー入力から描画完了までの時間（ナノ秒）
+    private final Histogram particleCount; // フレームごとのパーティクル数
+    private final Histogram allocatedBytes; // フレームごとのメモリ確保量（バイト）
+
+    private final long startNanos; // 計測開始時刻
+    private long lastTickNanos; // 前回の落下タイマーの時刻（0は未記録）
+    private long pendingInputNanos; // 描画待ちのキー入力の時刻（0は入力なし）
+    private long lastAllocatedBytes; // 前回のフレームまでのメモリ確保量（-1は未記録）
+    private long totalAllocatedBytes; // 計測開始からのメモリ確保量
+
+    /**
+     * 性能計測クラスのコンストラクタ
+     */
+    public PerfMonitor() {
+        paintTime = new Histogram("paint");
+        tickInterval = new Histogram("tick interval");
+        animationUpdateTime = new Histogram("animation update");
+        inputLatency = new Histogram("input to paint");
+        particleCount = new Histogram("particles");
+        allocatedBytes = new Histogram("allocated bytes/frame");
+        startNanos = System.nanoTime();
+        lastAllocatedBytes = -1;
+    }
+
+    /**
+     * 描画時間を記録する
+     * キー入力の後の最初の描画であれば、入力からの遅延も記録する
+     *
+     * @param startNanos 描画開始時刻（System.nanoTime）
+     * @param endNanos   描画終了時刻（System.nanoTime）
+     */
+    public void recordPaint(long startNanos, long endNanos) {
+        paintTime.record(endNanos - startNanos);
+        if (pendingInputNanos != 0) {
+            inputLatency.record(endNanos - pendingInputNanos);
+            pendingInputNanos = 0;
+        }
+    }
+
+    /**
+     * 落下タイマーが発火した時刻を記録し、前回との間隔をヒストグラムに加える
+     *
+     * @param nowNanos 発火時刻（System.nanoTime）
+     */
+    public void recordTick(long nowNanos) {
+        if (lastTickNanos != 0) {
+            tickInterval.record(nowNanos - lastTickNanos);
+        }
+        lastTickNanos = nowNanos;
+    }
+
+    /**
+     * 落下タイマーが止まったことを記録する（一時停止中の間隔を含めないため）
+     */
+    public void resetTickInterval() {
+        lastTickNanos = 0;
+    }
+
+    /**
+     * キー入力を記録する（次の描画完了までの時間を遅延として計測する）
+     *
+     * @param eventWhenMillis キーイベントの発生時刻（KeyEvent.getWhen）
+     */
+    public void recordInput(long eventWhenMillis) {
+        if (pendingInputNanos != 0) {
+            return; // 描画前に続けて入力された場合は最初の入力から計測する
+        }
+        // イベント発生からキュー処理までの待ち時間も含める
+        long queuedMillis = Math.max(0, System.currentTimeMillis() - eventWhenMillis);
+        pendingInputNanos = System.nanoTime() - queuedMillis * 1_000_000L;
+    }
+
+    /**
+     * アニメーション更新にかかった時間を記録する
+     *
+     * @param nanos 更新時間（ナノ秒）
+     */
+    public void recordAnimationUpdate(long nanos) {
+        animationUpdateTime.record(nanos);
+    }
+
+    /**
+     * 1フレーム分のパーティクル数とメモリ確保量を記録する
+     * 呼び出したスレッド（EDT）で前回の呼び出しから確保されたメモリ量を記録する
+     *
+     * @param particles 現在のパーティクル数
+     */
+    public void recordFrame(int particles) {
+        particleCount.record(particles);
+        if (!AllocationMeter.isSupported()) {
+            return;
+        }
+        long allocated = AllocationMeter.currentThreadAllocatedBytes();
+        if (lastAllocatedBytes >= 0) {
+            long delta = allocated - lastAllocatedBytes;
+            allocatedBytes.record(delta);
+            totalAllocatedBytes += delta;
+        }
+        lastAllocatedBytes = allocated;
+    }
+
+    /**
+     * 全ヒストグラムを消去する
+     */
+    public void reset() {
+        paintTime.reset();
+        tickInterval.reset();
+        animationUpdateTime.reset();
+        inputLatency.reset();
+        particleCount.reset();
+        allocatedBytes.reset();
+        totalAllocatedBytes = 0;
+        lastTickNanos = 0;
+        pendingInputNanos = 0;
+    }
+
+    /**
+     * 計測開始からの平均メモリ確保速度を取得する
+     *
+     * @return 確保速度（MB/秒、取得できない場合は0）
+     */
+    public double getAllocationRateMBPerSecond() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return seconds <= 0 ? 0 : totalAllocatedBytes / seconds / (1024 * 1024);
+    }
+
+    /**
+     * 全ヒストグラムをテキストで書き出す
+     *
+     * @param out 出力先
+     */
+    public void dump(PrintWriter out) {
+        out.printf("# allocation rate %.3f MB/s%n", getAllocationRateMBPerSecond());
+        paintTime.dump(out, NANOS_PER_MILLI, "ms");
+        tickInterval.dump(out, NANOS_PER_MILLI, "ms");
+        animationUpdateTime.dump(out, NANOS_PER_MILLI, "ms");
+        inputLatency.dump(out, NANOS_PER_MILLI, "ms");
+        particleCount.dump(out, 1, "count");
+        allocatedBytes.dump(out, 1, "bytes");
+    }
+
+    /**
+     * 全ヒストグラムをファイルに書き出す
+     *
+     * @param path 出力先のファイル
+     */
+    public void dumpToFile(Path path) {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            dump(out);
+        } catch (IOException e) {
+            System.err.println("性能計測結果の書き出しに失敗しました: " + e.getMessage());
+        }
+    }
+
+    /**
+     * システムプロパティで出力先が指定されていれば、終了時に書き出すよう登録する
+     * 終了時にEDTが記録中の場合、最後の数件が欠けることがある
+     */
+    public void dumpOnExitIfRequested() {
+        String file = System.getProperty(DUMP_PROPERTY);
+        if (file == null || file.isEmpty()) {
+            return;
+        }
+        Path path = Paths.get(file);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> dumpToFile(path), "perf-dump"));
+    }
+
+    // ゲッター
+    public Histogram getPaintTime() {
+        return paintTime;
+    }
+
+    public Histogram getTickInterval() {
+        return tickInterval;
+    }
+
+    public Histogram getAnimationUpdateTime() {
+        return animationUpdateTime;
+    }
+
+    public Histogram getInputLatency() {
+        return inputLatency;
+    }
+
+    public Histogram getParticleCount() {
+        return particleCount;
+    }
+
+    public Histogram getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public boolean isAllocationTrackingSupported() {
+        return AllocationMeter.isSupported();
+    }
+}
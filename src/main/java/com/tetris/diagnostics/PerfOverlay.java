@@ -0,0 +1,107 @@
+package com.tetris.diagnostics;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+
+/**
+ * 性能計測結果を画面に重ねて表示するクラス
+ * 表示文字列の作成は一定間隔ごとに行い、描画のたびに文字列を作らない
+ */
+public class PerfOverlay {
+
+    private static final long REFRESH_NANOS = 250_000_000L; // 表示内容の更新間隔
+    private static final Font FONT = new Font("Monospaced", Font.PLAIN, 12);
+    private static final Color BACKGROUND = new Color(0, 0, 0, 170);
+    private static final Color TEXT = new Color(120, 255, 120);
+    private static final int PADDING = 6;
+
+    private final PerfMonitor monitor; // 表示する計測結果
+    private final String[] lines; // 表示する文字列（行ごと）
+    private long lastRefreshNanos; // 前回表示内容を更新した時刻
+    private boolean visible; // 表示中か
+
+    /**
+     * 性能表示のコンストラクタ
+     *
+     * @param monitor 表示する計測結果
+     */
+    public PerfOverlay(PerfMonitor monitor) {
+        this.monitor = monitor;
+        this.lines = new String[7];
+        this.visible = false;
+    }
+
+    /**
+     * 表示/非表示を切り替える
+     */
+    public void toggle() {
+        visible = !visible;
+        lastRefreshNanos = 0; // 表示した直後に内容を更新する
+    }
+
+    /**
+     * 計測結果を左上に描画する（非表示の場合は何もしない）
+     *
+     * @param g2d グラフィックスコンテキスト（パネル座標系）
+     */
+    public void render(Graphics2D g2d) {
+        if (!visible) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (lastRefreshNanos == 0 || now - lastRefreshNanos >= REFRESH_NANOS) {
+            refresh();
+            lastRefreshNanos = now;
+        }
+
+        g2d.setFont(FONT);
+        FontMetrics fm = g2d.getFontMetrics();
+        int lineHeight = fm.getHeight();
+        int width = 0;
+        for (String line : lines) {
+            width = Math.max(width, fm.stringWidth(line));
+        }
+
+        g2d.setColor(BACKGROUND);
+        g2d.fillRect(0, 0, width + PADDING * 2, lineHeight * lines.length + PADDING * 2);
+        g2d.setColor(TEXT);
+        for (int i = 0; i < lines.length; i++) {
+            g2d.drawString(lines[i], PADDING, PADDING + fm.getAscent() + i * lineHeight);
+        }
+    }
+
+    /**
+     * 表示文字列を作り直す
+     */
+    private void refresh() {
+        lines[0] = String.format("%-9s %8s %8s %8s", "", "p50", "p99", "max");
+        lines[1] = formatMillis("paint", monitor.getPaintTime());
+        lines[2] = formatMillis("tick", monitor.getTickInterval());
+        lines[3] = formatMillis("anim", monitor.getAnimationUpdateTime());
+        lines[4] = formatMillis("input", monitor.getInputLatency());
+        lines[5] = formatCount("particles", monitor.getParticleCount());
+        lines[6] = monitor.isAllocationTrackingSupported()
+                ? String.format("%-9s %6.2fMB/s  p99 %dKB/frame", "alloc",
+                        monitor.getAllocationRateMBPerSecond(),
+                        monitor.getAllocatedBytes().getPercentile(99) / 1024)
+                : "alloc     n/a";
+    }
+
+    private static String formatMillis(String label, Histogram histogram) {
+        return String.format("%-9s %6.2fms %6.2fms %6.2fms", label,
+                histogram.getPercentile(50) / 1e6,
+                histogram.getPercentile(99) / 1e6,
+                histogram.getMax() / 1e6);
+    }
+
+    private static String formatCount(String label, Histogram histogram) {
+        return String.format("%-9s %8d %8d %8d", label,
+                histogram.getPercentile(50), histogram.getPercentile(99), histogram.getMax());
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+}
@@ -0,0 +1,33 @@
+package com.tetris.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * テトリミノの固定（ライン消去・次のピース生成を含む）を表すJFRイベント
+ */
+@Name("com.tetris.PieceLock")
+@Label("Piece Lock")
+@Description("Current piece locked into the board, including line clears and the next spawn")
+@Category({ "Tetris", "Game" })
+@StackTrace(false)
+public class PieceLockEvent extends jdk.jfr.Event {
+
+    @Label("Piece")
+    public String piece;
+
+    @Label("X")
+    public int x;
+
+    @Label("Y")
+    public int y;
+
+    @Label("Lines Cleared")
+    public int linesCleared;
+
+    @Label("Score")
+    public int score;
+}
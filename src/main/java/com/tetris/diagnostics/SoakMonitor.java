@@ -0,0 +1,234 @@
+package com.tetris.diagnostics;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import com.tetris.effects.AudioMixer;
+
+/**
+ * 長時間実行中のリソース使用量を定期的に記録し、増え続ける値を検出するクラス
+ * GC後のヒープ使用量・スレッド数・開いている出力ライン数に加え、
+ * 任意の値（コレクションのサイズなど）を登録して監視できる
+ * 記録はCSV形式で出力する
+ */
+public class SoakMonitor {
+
+    private static final int GROWTH_WINDOW = 6; // 増加し続けているかを判定するサンプル数
+    private static final int MIN_RISING_STEPS = 3; // 判定範囲内で値が増えた回数の下限（一度だけの段差を除外する）
+    private static final int WARMUP_SAMPLES = 2; // 判定に使わない最初のサンプル数（起動直後のスレッド生成など）
+
+    /**
+     * 監視する値
+     */
+    private static class Gauge {
+        final String name; // 名前（CSVの列名）
+        final LongSupplier supplier; // 値の取得
+        final long tolerance; // 増加とみなす最小の増分
+        final long[] window = new long[GROWTH_WINDOW]; // 直近のサンプル（リングバッファ）
+        int samples; // これまでのサンプル数
+        boolean growing; // 増加し続けていると判定されているか
+        long firstValue; // 最初のサンプル
+        long lastValue; // 最新のサンプル
+
+        Gauge(String name, LongSupplier supplier, long tolerance) {
+            this.name = name;
+            this.supplier = supplier;
+            this.tolerance = tolerance;
+        }
+    }
+
+    private final List<Gauge> gauges; // 監視する値
+    private final List<String> warnings; // 検出した増加の記録
+    private final PrintStream out; // CSVの出力先
+    private final long startNanos; // 監視開始時刻
+    private ScheduledExecutorService sampler; // 定期記録用のスレッド
+    private boolean headerPrinted;
+
+    /**
+     * 監視クラスのコンストラクタ
+     * 標準の値（ヒープ・スレッド数・出力ライン数）を登録する
+     *
+     * @param out CSVの出力先
+     */
+    public SoakMonitor(PrintStream out) {
+        this.gauges = new ArrayList<>();
+        this.warnings = new ArrayList<>();
+        this.out = out;
+        this.startNanos = System.nanoTime();
+
+        addGauge("heap_after_gc_kb", SoakMonitor::heapAfterGcKilobytes, 1024);
+        addGauge("threads", () -> ManagementFactory.getThreadMXBean().getThreadCount(), 0);
+        addGauge("audio_lines", AudioMixer::getOpenLineCount, 0);
+    }
+
+    /**
+     * 監視する値を追加する
+     *
+     * @param name      名前（CSVの列名）
+     * @param supplier  値の取得（記録用スレッドから呼ばれる）
+     * @param tolerance 直近のサンプルの間にこの値を超えて増え続けたら警告する
+     */
+    public synchronized void addGauge(String name, LongSupplier supplier, long tolerance) {
+        gauges.add(new Gauge(name, supplier, tolerance));
+    }
+
+    /**
+     * 記録のみ行う値（ゲーム数など、増えるのが正常な値）を追加する
+     *
+     * @param name     名前（CSVの列名）
+     * @param supplier 値の取得（記録用スレッドから呼ばれる）
+     */
+    public void addCounter(String name, LongSupplier supplier) {
+        addGauge(name, supplier, Long.MAX_VALUE);
+    }
+
+    /**
+     * GCを実行した後のヒープ使用量を取得する
+     *
+     * @return ヒープ使用量（KB）
+     */
+    private static long heapAfterGcKilobytes() {
+        System.gc();
+        System.gc(); // ファイナライズ待ちのオブジェクトも回収する
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / 1024;
+    }
+
+    /**
+     * 一定間隔での記録を開始する
+     *
+     * @param intervalSeconds 記録間隔（秒）
+     */
+    public synchronized void start(long intervalSeconds) {
+        if (sampler != null) {
+            return;
+        }
+        sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "soak-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(this::sample, 0, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 記録を停止する（最後に1回記録する）
+     */
+    public synchronized void stop() {
+        if (sampler == null) {
+            return;
+        }
+        sampler.shutdownNow();
+        try {
+            sampler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sampler = null;
+        sample();
+    }
+
+    /**
+     * 全ての値を1回記録し、増加し続けている値を判定する
+     */
+    public synchronized void sample() {
+        if (!headerPrinted) {
+            StringBuilder header = new StringBuilder("elapsed_s");
+            for (Gauge gauge : gauges) {
+                header.append(',').append(gauge.name);
+            }
+            out.println(header);
+            headerPrinted = true;
+        }
+
+        StringBuilder row = new StringBuilder();
+        row.append((System.nanoTime() - startNanos) / 1_000_000_000L);
+        for (Gauge gauge : gauges) {
+            long value = gauge.supplier.getAsLong();
+            row.append(',').append(value);
+            update(gauge, value);
+        }
+        out.println(row);
+        out.flush();
+    }
+
+    /**
+     * サンプルを追加し、直近のサンプルが全て前回以上で、何度も増えていて、
+     * かつ許容量を超えて増えていれば警告する
+     */
+    private void update(Gauge gauge, long value) {
+        if (gauge.samples == 0) {
+            gauge.firstValue = value;
+        }
+        gauge.lastValue = value;
+        gauge.samples++;
+        if (gauge.samples <= WARMUP_SAMPLES) {
+            return;
+        }
+        int index = gauge.samples - WARMUP_SAMPLES; // 判定に使うサンプルの通し番号（1から）
+        gauge.window[(index - 1) % GROWTH_WINDOW] = value;
+        if (index < GROWTH_WINDOW) {
+            return;
+        }
+
+        int oldest = index % GROWTH_WINDOW; // リングバッファの最も古い位置
+        boolean monotonic = true;
+        int risingSteps = 0;
+        for (int i = 1; i < GROWTH_WINDOW; i++) {
+            long previous = gauge.window[(oldest + i - 1) % GROWTH_WINDOW];
+            long current = gauge.window[(oldest + i) % GROWTH_WINDOW];
+            if (current < previous) {
+                monotonic = false;
+                break;
+            }
+            if (current > previous) {
+                risingSteps++;
+            }
+        }
+        boolean growing = monotonic && risingSteps >= MIN_RISING_STEPS
+                && value - gauge.window[oldest] > gauge.tolerance;
+
+        if (growing && !gauge.growing) {
+            String warning = String.format("%s が直近%d回のサンプルで増加し続けています（%d -> %d）",
+                    gauge.name, GROWTH_WINDOW, gauge.window[oldest], value);
+            warnings.add(warning);
+            System.err.println(warning);
+        }
+        gauge.growing = growing;
+    }
+
+    /**
+     * 現在も増加し続けている値の名前を取得する
+     *
+     * @return 名前のリスト
+     */
+    public synchronized List<String> getGrowingGauges() {
+        List<String> names = new ArrayList<>();
+        for (Gauge gauge : gauges) {
+            if (gauge.growing) {
+                names.add(gauge.name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * 最初と最後のサンプルの比較と、検出した警告を書き出す
+     *
+     * @param summary 出力先
+     */
+    public synchronized void printSummary(PrintStream summary) {
+        for (Gauge gauge : gauges) {
+            summary.printf("%-18s first %12d  last %12d  %s%n", gauge.name, gauge.firstValue, gauge.lastValue,
+                    gauge.growing ? "GROWING" : "ok");
+        }
+        for (String warning : warnings) {
+            summary.println("warning: " + warning);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.tetris.diagnostics;
+
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+
+import com.tetris.ai.AutoPlayer;
+import com.tetris.effects.FrameClock;
+import com.tetris.game.Game;
+import com.tetris.ui.WallWindow;
+
+/**
+ * 長時間の無人実行でリソースのリークを検出するクラス
+ * 自動操作のゲームを次々にプレイし、ヒープ・スレッド数・出力ライン数・
+ * アニメーションのサイズを定期的に記録して、増え続ける値があれば終了コード1で終了する
+ * 
+ * 画面なしの場合はゲームを1つずつ作成・破棄しながら全速で進める
+ * --ui を指定した場合はウォール表示のゲームを一定間隔で自動操作する
+ * 
+ * 使い方: SoakRunner [--minutes N] [--sample-seconds N] [--seed N] [--sound] [--ui GAMES] [--out FILE]
+ */
+public class SoakRunner {
+
+    private static final long FRAME_NANOS = 16_666_667L; // 画面なしの場合の1操作あたりの経過時間
+
+    private final long durationNanos; // 実行時間
+    private final long seed; // 乱数のシード
+    private final boolean sound; // 効果音を有効にするか
+    private final SoakMonitor monitor;
+    private volatile List<Game> activeGames; // 実行中のゲーム（記録用スレッドから参照）
+    private volatile long gamesPlayed; // 終了したゲーム数
+    private volatile long linesCleared; // 終了したゲームで消去したライン数
+
+    /**
+     * 長時間実行クラスのコンストラクタ
+     *
+     * @param minutes 実行時間（分）
+     * @param seed    乱数のシード
+     * @param sound   効果音を有効にする場合true
+     * @param monitor 記録先
+     */
+    public SoakRunner(double minutes, long seed, boolean sound, SoakMonitor monitor) {
+        this.durationNanos = (long) (minutes * 60e9);
+        this.seed = seed;
+        this.sound = sound;
+        this.monitor = monitor;
+        this.activeGames = List.of();
+        monitor.addCounter("games", () -> gamesPlayed);
+        monitor.addCounter("lines", () -> linesCleared);
+        // 別スレッドからの読み取りのため厳密な値ではないが、増え続けるかの判定には十分
+        monitor.addGauge("particles", () -> {
+            long sum = 0;
+            for (Game game : activeGames) {
+                sum += game.getAnimationManager().getParticleCount();
+            }
+            return sum;
+        }, 0);
+        monitor.addGauge("line_animations", () -> {
+            long sum = 0;
+            for (Game game : activeGames) {
+                sum += game.getAnimationManager().getLineAnimationCount();
+            }
+            return sum;
+        }, 0);
+    }
+
+    /**
+     * 画面なしでゲームを次々にプレイする
+     */
+    public void runHeadless() {
+        AutoPlayer player = new AutoPlayer();
+        FrameClock clock = new FrameClock();
+        long clockNanos = 0;
+        long deadline = System.nanoTime() + durationNanos;
+
+        while (System.nanoTime() < deadline) {
+            Game game = Game.createHeadless(seed + gamesPlayed);
+            if (sound) {
+                game.getSoundManager().setSoundEnabled(true);
+            }
+            activeGames = List.of(game);
+            game.startGame();
+
+            while (game.getGameState() == Game.GameState.PLAYING && System.nanoTime() < deadline) {
+                player.step(game);
+                game.tick();
+                clockNanos += FRAME_NANOS;
+                clock.advanceTo(clockNanos, false);
+                game.getAnimationManager().update(clock);
+            }
+
+            game.dispose();
+            linesCleared += game.getLines();
+            gamesPlayed++;
+        }
+        activeGames = List.of();
+    }
+
+    /**
+     * ウォール表示のゲームを自動操作する
+     *
+     * @param gameCount ゲーム数
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    public void runWithUi(int gameCount) throws InterruptedException {
+        List<Game> games = new CopyOnWriteArrayList<>();
+        CountDownLatch closed = new CountDownLatch(1);
+        WallWindow[] window = new WallWindow[1];
+
+        SwingUtilities.invokeLater(() -> {
+            window[0] = new WallWindow(gameCount);
+            games.addAll(window[0].getWallPanel().getGames());
+            activeGames = games;
+            window[0].setAutoPlay(true);
+            // 終了したゲームはウォールが再開する直前に数える（状態を定期的に調べると見逃すため）
+            window[0].setFinishedGameListener(game -> {
+                linesCleared += game.getLines();
+                gamesPlayed++;
+            });
+            window[0].setVisible(true);
+            window[0].addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosed(WindowEvent e) {
+                    closed.countDown();
+                }
+            });
+        });
+
+        if (!closed.await(durationNanos, TimeUnit.NANOSECONDS)) {
+            SwingUtilities.invokeLater(() -> window[0].dispose());
+            closed.await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * 長時間実行を開始する
+     *
+     * @param args コマンドライン引数
+     * @throws Exception 実行に失敗した場合
+     */
+    public static void main(String[] args) throws Exception {
+        double minutes = 60;
+        long sampleSeconds = 30;
+        long seed = 1;
+        boolean sound = false;
+        int uiGames = 0;
+        PrintStream csv = System.out;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--minutes":
+                    minutes = Double.parseDouble(args[++i]);
+                    break;
+                case "--sample-seconds":
+                    sampleSeconds = Long.parseLong(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                case "--sound":
+                    sound = true;
+                    break;
+                case "--ui":
+                    uiGames = Integer.parseInt(args[++i]);
+                    break;
+                case "--out":
+                    csv = new PrintStream(args[++i], "UTF-8");
+                    break;
+                default:
+                    System.err.println("不明なオプションです: " + args[i]);
+                    System.exit(2);
+            }
+        }
+        if (uiGames == 0) {
+            System.setProperty("java.awt.headless", "true");
+        }
+
+        SoakMonitor monitor = new SoakMonitor(csv);
+        SoakRunner runner = new SoakRunner(minutes, seed, sound, monitor);
+        monitor.start(sampleSeconds);
+        if (uiGames > 0) {
+            runner.runWithUi(uiGames);
+        } else {
+            runner.runHeadless();
+        }
+        monitor.stop();
+
+        System.err.printf("games %d, lines %d%n", runner.gamesPlayed, runner.linesCleared);
+        monitor.printSummary(System.err);
+        System.exit(monitor.getGrowingGauges().isEmpty() ? 0 : 1);
+    }
+}
@@ -0,0 +1,24 @@
+package com.tetris.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 効果音の再生要求（SoundManager.playSound）を表すJFRイベント
+ * 初回の要求でミキサーのスレッドが作られるため、スタックトレースを記録する
+ */
+@Name("com.tetris.SoundDispatch")
+@Label("Sound Dispatch")
+@Description("SoundManager.playSound call, including lazy mixer start-up")
+@Category({ "Tetris", "Audio" })
+public class SoundDispatchEvent extends jdk.jfr.Event {
+
+    @Label("Sound")
+    public String sound;
+
+    @Label("Dispatched")
+    @Description("False when the sound bank or the output line was not available")
+    public boolean dispatched;
+}
@@ -0,0 +1,85 @@
+package com.tetris.diagnostics;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+
+/**
+ * 起動処理の各段階の時刻を記録するクラス
+ * JVMの起動から最初のフレームを描画するまでの時間を段階ごとに表示する
+ * 記録は常に行い（配列への書き込みのみ）、表示はシステムプロパティ tetris.startup.timing=true の場合のみ行う
+ */
+public final class StartupTimer {
+
+    /**
+     * 起動時間を表示するかを指定するシステムプロパティ
+     */
+    public static final String PROPERTY = "tetris.startup.timing";
+
+    private static final int MAX_PHASES = 32; // 記録できる段階の数
+
+    private static final long ORIGIN_NANOS = System.nanoTime(); // 最初に記録した時刻
+    private static final long ORIGIN_MILLIS = System.currentTimeMillis(); // 同じ時刻の壁時計
+    private static final String[] PHASE_NAMES = new String[MAX_PHASES];
+    private static final long[] PHASE_NANOS = new long[MAX_PHASES];
+    private static final String[] PHASE_THREADS = new String[MAX_PHASES];
+    private static int phaseCount;
+    private static boolean reported;
+
+    private StartupTimer() {
+        throw new AssertionError("Cannot instantiate utility class");
+    }
+
+    /**
+     * 段階の終了時刻を記録する（どのスレッドからでも呼び出せる）
+     *
+     * @param phase 段階の名前
+     */
+    public static synchronized void mark(String phase) {
+        if (phaseCount < MAX_PHASES) {
+            PHASE_NAMES[phaseCount] = phase;
+            PHASE_NANOS[phaseCount] = System.nanoTime();
+            PHASE_THREADS[phaseCount] = Thread.currentThread().getName();
+            phaseCount++;
+        }
+    }
+
+    /**
+     * 起動時間を表示する設定かを返す
+     *
+     * @return 表示する場合true
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(PROPERTY);
+    }
+
+    /**
+     * 表示する設定であれば記録した段階を1回だけ表示する
+     */
+    public static synchronized void reportIfEnabled() {
+        if (reported || !isEnabled()) {
+            return;
+        }
+        reported = true;
+        report(System.err);
+    }
+
+    /**
+     * 記録した段階をJVM起動からの経過時間で表示する
+     * JVMの起動時刻は表示時に取得する（管理用クラスの読み込みを起動処理に含めないため）
+     *
+     * @param out 出力先
+     */
+    public static synchronized void report(PrintStream out) {
+        long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+        double originMillis = ORIGIN_MILLIS - jvmStartMillis; // JVM起動から記録開始まで
+
+        out.println("起動時間（JVM起動からの経過）:");
+        out.printf("  %8.1f ms  %8s  %-24s%n", 0.0, "", "JVM起動");
+        double previous = 0;
+        for (int i = 0; i < phaseCount; i++) {
+            double elapsed = originMillis + (PHASE_NANOS[i] - ORIGIN_NANOS) / 1e6;
+            out.printf("  %8.1f ms  %+7.1f  %-24s [%s]%n", elapsed, elapsed - previous, PHASE_NAMES[i], PHASE_THREADS[i]);
+            previous = elapsed;
+        }
+    }
+}
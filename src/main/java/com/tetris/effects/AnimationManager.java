@@ -3,44 +3,68 @@ package com.tetris.effects;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.FontMetrics;
-import java.awt.GradientPaint;
 import java.awt.Graphics2D;
-import java.util.ArrayList;
+import java.awt.image.BufferedImage;
 import java.util.List;
-import java.util.Random;
 
 /**
  * ゲーム内のアニメーション効果を管理するクラス
  * ライン消去、レベルアップ、パーティクルエフェクトなどの視覚効果を制御
+ * 更新と描画ではオブジェクトを確保しない（色や文字列は事前に用意する）
  */
 public class AnimationManager {
 
-    private List<LineAnimation> lineAnimations;
-    private List<Particle> particles;
+    private static final int MAX_PARTICLES = 1024; // パーティクルプールの容量
+    private static final int MAX_LINE_ANIMATIONS = 16; // 同時に再生できるライン消去アニメーションの数
+    private static final Color[] WHITE_BY_ALPHA = createAlphaColors(255, 255, 255); // 透明度ごとの白
+
+    private final LineAnimation[] lineAnimations; // ライン消去アニメーション（先頭からlineAnimationCount個が再生中）
+    private int lineAnimationCount;
+    private ParticlePool particles;
     private LevelUpAnimation levelUpAnimation;
-    private long animationStartTime;
+    private long currentTime; // アニメーション時刻（ミリ秒、一時停止中は進まない）
+    private int particlesPerBlock; // ブロック固定時に1ブロックあたり発生させるパーティクル数
+    private boolean simpleLineFlash; // ライン消去を単純なフラッシュのみで描画するか
 
     /**
      * アニメーション管理クラスのコンストラクタ
      */
     public AnimationManager() {
-        lineAnimations = new ArrayList<>();
-        particles = new ArrayList<>();
+        lineAnimations = new LineAnimation[MAX_LINE_ANIMATIONS];
+        for (int i = 0; i < MAX_LINE_ANIMATIONS; i++) {
+            lineAnimations[i] = new LineAnimation();
+        }
+        lineAnimationCount = 0;
+        particles = new ParticlePool(MAX_PARTICLES);
         levelUpAnimation = null;
+        particles.setLimit(400);
+        particlesPerBlock = 5;
+        simpleLineFlash = false;
     }
 
     /**
-     * アニメーションを更新する
+     * アニメーションを1フレーム分進める
+     * 描画とは別に、ゲームループから1フレームに1回呼び出す
      * 
-     * @param currentTime 現在の時刻（ミリ秒）
+     * @param clock フレーム時計
      */
-    public void update(long currentTime) {
-        // ラインアニメーションの更新
-        lineAnimations.removeIf(anim -> anim.isFinished(currentTime));
+    public void update(FrameClock clock) {
+        currentTime = clock.getTimeNanos() / 1_000_000L;
+
+        // ラインアニメーションの更新（終了したものは末尾と入れ替えて詰める）
+        int i = 0;
+        while (i < lineAnimationCount) {
+            if (lineAnimations[i].isFinished(currentTime)) {
+                LineAnimation finished = lineAnimations[i];
+                lineAnimations[i] = lineAnimations[--lineAnimationCount];
+                lineAnimations[lineAnimationCount] = finished;
+            } else {
+                i++;
+            }
+        }
 
-        // パーティクルの更新
-        particles.forEach(p -> p.update());
-        particles.removeIf(Particle::isDead);
+        // パーティクルの更新（経過時間で積分する）
+        particles.update(clock.getDeltaSeconds());
 
         // レベルアップアニメーションの更新
         if (levelUpAnimation != null && levelUpAnimation.isFinished(currentTime)) {
@@ -54,10 +78,42 @@ public class AnimationManager {
      * @param lines 消去するライン番号のリスト
      */
     public void startLineAnimation(List<Integer> lines) {
-        long startTime = System.currentTimeMillis();
         for (int line : lines) {
-            lineAnimations.add(new LineAnimation(line, startTime));
+            addLineAnimation(line);
+        }
+    }
+
+    /**
+     * ライン消去アニメーションを開始（オブジェクトを確保しない）
+     * 
+     * @param lines 消去するライン番号
+     * @param count ライン数
+     */
+    public void startLineAnimation(int[] lines, int count) {
+        for (int i = 0; i < count; i++) {
+            addLineAnimation(lines[i]);
+        }
+    }
+
+    /**
+     * ライン消去アニメーションを1つ追加する
+     * 上限に達している場合は最も古いものを再利用する
+     * 
+     * @param line ライン番号
+     */
+    private void addLineAnimation(int line) {
+        LineAnimation anim;
+        if (lineAnimationCount < MAX_LINE_ANIMATIONS) {
+            anim = lineAnimations[lineAnimationCount++];
+        } else {
+            anim = lineAnimations[0];
+            for (int i = 1; i < lineAnimationCount; i++) {
+                if (lineAnimations[i].startTime < anim.startTime) {
+                    anim = lineAnimations[i];
+                }
+            }
         }
+        anim.start(line, currentTime);
     }
 
     /**
@@ -66,7 +122,7 @@ public class AnimationManager {
      * @param newLevel 新しいレベル
      */
     public void startLevelUpAnimation(int newLevel) {
-        levelUpAnimation = new LevelUpAnimation(newLevel, System.currentTimeMillis());
+        levelUpAnimation = new LevelUpAnimation(newLevel, currentTime);
     }
 
     /**
@@ -78,9 +134,7 @@ public class AnimationManager {
      * @param count パーティクル数
      */
     public void addParticleEffect(int x, int y, Color color, int count) {
-        for (int i = 0; i < count; i++) {
-            particles.add(new Particle(x, y, color));
-        }
+        particles.emit(x, y, color.getRGB(), count);
     }
 
     /**
@@ -94,11 +148,66 @@ public class AnimationManager {
     public void addBlockPlaceEffect(int blockX, int blockY, int blockSize, Color color) {
         int centerX = blockX * blockSize + blockSize / 2;
         int centerY = blockY * blockSize + blockSize / 2;
-        addParticleEffect(centerX, centerY, color, 5);
+        addParticleEffect(centerX, centerY, color, particlesPerBlock);
     }
 
     /**
-     * アニメーションを描画する
+     * パーティクル数の上限を設定する
+     * 上限に達した後に追加したパーティクルは最も古いものを上書きする
+     * 
+     * @param limit パーティクル数の上限
+     */
+    public void setParticleLimit(int limit) {
+        particles.setLimit(limit);
+    }
+
+    /**
+     * ブロック固定時に1ブロックあたり発生させるパーティクル数を設定する
+     * 
+     * @param count パーティクル数
+     */
+    public void setParticlesPerBlock(int count) {
+        particlesPerBlock = Math.max(0, count);
+    }
+
+    /**
+     * ライン消去を単純なフラッシュのみで描画するかを設定する
+     * 
+     * @param simple グラデーション効果を省略する場合true
+     */
+    public void setSimpleLineFlash(boolean simple) {
+        simpleLineFlash = simple;
+    }
+
+    /**
+     * 再生中のアニメーションがあるかを取得
+     * 
+     * @return いずれかのアニメーションが再生中の場合true
+     */
+    public boolean isActive() {
+        return lineAnimationCount > 0 || particles.size() > 0 || levelUpAnimation != null;
+    }
+
+    /**
+     * 再生中のライン消去アニメーションの数を取得
+     * 
+     * @return アニメーション数
+     */
+    public int getLineAnimationCount() {
+        return lineAnimationCount;
+    }
+
+    /**
+     * 現在のパーティクル数を取得
+     * 
+     * @return パーティクル数
+     */
+    public int getParticleCount() {
+        return particles.size();
+    }
+
+    /**
+     * アニメーションを描画する（状態は変更しない）
      * 
      * @param g2d         グラフィックスコンテキスト
      * @param boardWidth  ボードの幅（ピクセル）
@@ -106,17 +215,13 @@ public class AnimationManager {
      * @param blockSize   ブロックサイズ（ピクセル）
      */
     public void render(Graphics2D g2d, int boardWidth, int boardHeight, int blockSize) {
-        long currentTime = System.currentTimeMillis();
-
         // ラインアニメーションの描画
-        for (LineAnimation anim : lineAnimations) {
-            anim.render(g2d, boardWidth, blockSize, currentTime);
+        for (int i = 0; i < lineAnimationCount; i++) {
+            lineAnimations[i].render(g2d, boardWidth, blockSize, currentTime, simpleLineFlash);
         }
 
         // パーティクルの描画
-        for (Particle particle : particles) {
-            particle.render(g2d);
-        }
+        particles.render(g2d);
 
         // レベルアップアニメーションの描画
         if (levelUpAnimation != null) {
@@ -124,15 +229,35 @@ public class AnimationManager {
         }
     }
 
+    /**
+     * 透明度ごとの色を作成する（描画のたびにColorを作らないため）
+     * 
+     * @param red   赤
+     * @param green 緑
+     * @param blue  青
+     * @return 透明度（0〜255）を添字とする色の配列
+     */
+    private static Color[] createAlphaColors(int red, int green, int blue) {
+        Color[] colors = new Color[256];
+        for (int alpha = 0; alpha < 256; alpha++) {
+            colors[alpha] = new Color(red, green, blue, alpha);
+        }
+        return colors;
+    }
+
     /**
      * ライン消去アニメーションクラス
+     * 終了後は再利用する
      */
     private static class LineAnimation {
-        private final int line;
-        private final long startTime;
         private static final long DURATION = 500; // アニメーション時間（ミリ秒）
+        private static final int GLOW_LEVELS = 16; // 光の効果の透明度の段階数
+        private static final BufferedImage[] GLOW_STRIPS = createGlowStrips();
 
-        public LineAnimation(int line, long startTime) {
+        private int line;
+        private long startTime;
+
+        public void start(int line, long startTime) {
             this.line = line;
             this.startTime = startTime;
         }
@@ -141,29 +266,42 @@ public class AnimationManager {
             return currentTime - startTime > DURATION;
         }
 
-        public void render(Graphics2D g2d, int boardWidth, int blockSize, long currentTime) {
+        public void render(Graphics2D g2d, int boardWidth, int blockSize, long currentTime, boolean simple) {
             float progress = Math.min(1.0f, (currentTime - startTime) / (float) DURATION);
 
             // フラッシュ効果
             float flashIntensity = (float) Math.sin(progress * Math.PI);
-            int alpha = (int) (255 * flashIntensity * (1 - progress));
+            int alpha = Math.max(0, Math.min(255, (int) (255 * flashIntensity * (1 - progress))));
 
-            g2d.setColor(new Color(255, 255, 255, alpha));
+            g2d.setColor(WHITE_BY_ALPHA[alpha]);
             g2d.fillRect(0, line * blockSize, boardWidth, blockSize);
 
-            // 横に広がる光の効果
-            if (progress < 0.5f) {
+            // 横に広がる光の効果（左端の透明度から右端の透明まで変化する帯を引き伸ばして描く）
+            if (!simple && progress < 0.5f) {
                 int expandWidth = (int) (boardWidth * progress * 2);
                 int centerX = boardWidth / 2;
+                BufferedImage strip = GLOW_STRIPS[alpha * GLOW_LEVELS / 256];
+                g2d.drawImage(strip, centerX - expandWidth / 2, line * blockSize,
+                        expandWidth, blockSize, null);
+            }
+        }
 
-                GradientPaint gradient = new GradientPaint(
-                        centerX - expandWidth / 2, 0, new Color(255, 255, 100, alpha),
-                        centerX + expandWidth / 2, 0, new Color(255, 255, 100, 0));
-
-                g2d.setPaint(gradient);
-                g2d.fillRect(centerX - expandWidth / 2, line * blockSize,
-                        expandWidth, blockSize);
+        /**
+         * 光の効果の帯画像を透明度の段階ごとに作成する
+         */
+        private static BufferedImage[] createGlowStrips() {
+            int width = 64;
+            BufferedImage[] strips = new BufferedImage[GLOW_LEVELS];
+            for (int level = 0; level < GLOW_LEVELS; level++) {
+                int startAlpha = (int) (255 * (level + 0.5f) / GLOW_LEVELS);
+                BufferedImage strip = new BufferedImage(width, 1, BufferedImage.TYPE_INT_ARGB);
+                for (int x = 0; x < width; x++) {
+                    int a = startAlpha * (width - 1 - x) / (width - 1);
+                    strip.setRGB(x, 0, (a << 24) | 0xFFFF64);
+                }
+                strips[level] = strip;
             }
+            return strips;
         }
     }
 
@@ -171,12 +309,15 @@ public class AnimationManager {
      * レベルアップアニメーションクラス
      */
     private static class LevelUpAnimation {
-        private final int level;
-        private final long startTime;
         private static final long DURATION = 2000; // アニメーション時間（ミリ秒）
+        private static final Font FONT = new Font("Arial", Font.BOLD, 48);
+        private static final Color[] TEXT_COLORS = createAlphaColors(255, 255, 0);
+
+        private final String text; // 表示する文字列
+        private final long startTime;
 
         public LevelUpAnimation(int level, long startTime) {
-            this.level = level;
+            this.text = "LEVEL " + level;
             this.startTime = startTime;
         }
 
@@ -191,7 +332,7 @@ public class AnimationManager {
             if (progress < 0.2f) {
                 float flashProgress = progress / 0.2f;
                 int alpha = (int) (100 * (1 - flashProgress));
-                g2d.setColor(new Color(255, 255, 255, alpha));
+                g2d.setColor(WHITE_BY_ALPHA[alpha]);
                 g2d.fillRect(0, 0, width, height);
             }
 
@@ -200,10 +341,9 @@ public class AnimationManager {
                 float textProgress = progress / 0.8f;
                 int alpha = (int) (255 * Math.min(1, 2 * (1 - textProgress)));
 
-                g2d.setColor(new Color(255, 255, 0, alpha));
-                g2d.setFont(new Font("Arial", Font.BOLD, 48));
+                g2d.setColor(TEXT_COLORS[alpha]);
+                g2d.setFont(FONT);
 
-                String text = "LEVEL " + level;
                 FontMetrics fm = g2d.getFontMetrics();
                 int textWidth = fm.stringWidth(text);
                 int textX = (width - textWidth) / 2;
@@ -219,48 +359,4 @@ public class AnimationManager {
             }
         }
     }
-
-    /**
-     * パーティクルクラス
-     */
-    private static class Particle {
-        private float x, y;
-        private float vx, vy;
-        private float life;
-        private final Color color;
-        private static final Random random = new Random();
-
-        public Particle(int x, int y, Color color) {
-            this.x = x;
-            this.y = y;
-            this.color = color;
-            this.life = 1.0f;
-
-            // ランダムな速度を設定
-            float angle = (float) (random.nextDouble() * Math.PI * 2);
-            float speed = 1 + random.nextFloat() * 3;
-            this.vx = (float) Math.cos(angle) * speed;
-            this.vy = (float) Math.sin(angle) * speed - 2; // 上向きの傾向
-        }
-
-        public void update() {
-            x += vx;
-            y += vy;
-            vy += 0.2f; // 重力
-            life -= 0.02f;
-            vx *= 0.98f; // 空気抵抗
-        }
-
-        public boolean isDead() {
-            return life <= 0;
-        }
-
-        public void render(Graphics2D g2d) {
-            int alpha = (int) (255 * life);
-            int size = (int) (5 * life);
-
-            g2d.setColor(new Color(color.getRed(), color.getGreen(), color.getBlue(), alpha));
-            g2d.fillOval((int) x - size / 2, (int) y - size / 2, size, size);
-        }
-    }
 }
\ No newline at end of file
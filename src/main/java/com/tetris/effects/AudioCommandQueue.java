@@ -0,0 +1,82 @@
+package com.tetris.effects;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 再生コマンドを受け渡すロックフリーの固定長キュー
+ * 複数スレッドから追加し、ミキサースレッドが取り出す
+ * 各スロットの通し番号で書き込み完了を判定する方式で、追加・取り出しともにオブジェクトを確保しない
+ */
+class AudioCommandQueue {
+
+    private final int mask; // 容量-1（容量は2の累乗）
+    private final AtomicLongArray sequences; // スロットごとの通し番号
+    private final int[] soundIds; // 再生するサウンド番号
+    private final long[] timestamps; // 追加した時刻（nanoTime）
+    private final AtomicLong tail; // 次に書き込む位置
+    private final AtomicLong head; // 次に読み出す位置
+
+    /**
+     * コマンドキューのコンストラクタ
+     * 
+     * @param capacity 容量（2の累乗に切り上げる）
+     */
+    AudioCommandQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        this.soundIds = new int[size];
+        this.timestamps = new long[size];
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.tail = new AtomicLong();
+        this.head = new AtomicLong();
+    }
+
+    /**
+     * コマンドを追加する
+     * 
+     * @param soundId   サウンド番号
+     * @param timestamp 追加した時刻（nanoTime）
+     * @return 追加できた場合true（満杯の場合false）
+     */
+    boolean offer(int soundId, long timestamp) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    soundIds[index] = soundId;
+                    timestamps[index] = timestamp;
+                    sequences.set(index, position + 1); // 書き込み完了を公開
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false; // 満杯
+            }
+            // 他のスレッドが先に書き込んだので位置を取り直す
+        }
+    }
+
+    /**
+     * 先頭のコマンドを取り出す（ミキサースレッドからのみ呼び出す）
+     * 
+     * @param timestampOut 追加時刻の格納先（要素0に書き込む）
+     * @return サウンド番号（空の場合-1）
+     */
+    int poll(long[] timestampOut) {
+        long position = head.get();
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return -1; // 空、または書き込み中
+        }
+        int soundId = soundIds[index];
+        timestampOut[0] = timestamps[index];
+        sequences.set(index, position + mask + 1); // 次の周回で再利用できるようにする
+        head.lazySet(position + 1);
+        return soundId;
+    }
+}
@@ -0,0 +1,450 @@
+package com.tetris.effects;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+/**
+ * 1本のスレッドで効果音をミックスして再生するソフトウェアミキサー
+ * 常に開いたままのSourceDataLine1本に、事前に用意したPCMデータを合成して書き込む
+ * 再生要求はロックフリーのキューで受け取り、要求から最初のバッファ書き込みまでの遅延を計測する
+ * 同時発音数は上限を設け、音ごとのVoicePolicyに従って優先度・再要求・連続要求の集約を処理する
+ * BGMのシーケンサーを設定すると、効果音と同じブロックに合成する
+ */
+public class AudioMixer {
+
+    public static final float SAMPLE_RATE = 44100; // サンプリング周波数
+    public static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 16, 1, true, false);
+
+    private static final int BLOCK_FRAMES = 512; // 1回に合成するフレーム数（約11.6ms）
+    private static final int LINE_BUFFER_BLOCKS = 4; // ライン側のバッファ（ブロック数）
+    private static final int DEFAULT_MAX_VOICES = 8; // 同時発音数の上限
+    private static final int QUEUE_CAPACITY = 256; // 再生要求キューの容量
+    private static final AtomicInteger OPEN_LINES = new AtomicInteger(); // プロセス全体で開いている出力ラインの数
+
+    private final short[][] samples; // サウンド番号ごとのPCMデータ
+    private final VoicePolicy[] policies; // サウンド番号ごとの発音ルール
+    private final AtomicLongArray lastRequestNanos; // サウンド番号ごとの最後に受け付けた要求の時刻
+    private final int maxVoices; // 同時発音数の上限
+    private final AudioCommandQueue commands; // 再生要求キュー
+    private final long[] polledTimestamp; // キューから取り出した時刻の受け取り用
+
+    // 発音中のボイス（ミキサースレッドのみが触る）
+    private final short[][] voiceData;
+    private final int[] voicePosition;
+    private final int[] voiceSound; // 発音中のサウンド番号
+    private final long[] voiceSerial; // 発音を開始した順番（古いボイスの判定用）
+    private final long[] voiceRequestTime; // 再生要求の時刻（書き込み前は0以外）
+    private long nextSerial; // 次に割り当てる発音順
+
+    private final int[] mixBuffer; // 合成用の作業領域
+    private final byte[] outputBuffer; // ラインへ書き込むバイト列
+
+    private volatile float masterVolume; // マスター音量（0.0〜1.0）
+    private volatile boolean running; // ミキサースレッドの実行中フラグ
+    private volatile MusicSequencer music; // BGMのシーケンサー（ない場合null）
+    private SourceDataLine line; // 出力ライン
+    private final AtomicBoolean lineOpen = new AtomicBoolean(); // 出力ラインを開いている場合true（閉じる処理を1回にする）
+    private Thread mixerThread; // ミキサースレッド
+
+    // 遅延の統計（ミキサースレッドが書き込み、他スレッドが読む）
+    private volatile long lastLatencyNanos;
+    private volatile long maxLatencyNanos;
+    private volatile long totalLatencyNanos;
+    private volatile long latencySamples;
+    private final AtomicLong droppedCommands = new AtomicLong();
+    private final AtomicLong coalescedRequests = new AtomicLong();
+    private volatile long ignoredRequests; // 発音中のため無視した要求
+    private volatile long stolenVoices; // 他の音に置き換えたボイス
+    private volatile long rejectedRequests; // 空きボイスがなく鳴らせなかった要求
+    private volatile long underruns; // ラインのバッファが空になった回数
+    private long blocksWritten; // 書き込んだブロック数
+    private volatile int failures; // ミキサースレッドが例外で終了した回数
+
+    /**
+     * ミキサーのコンストラクタ
+     * 
+     * @param samples  サウンド番号ごとのPCMデータ（16bitモノラル）
+     * @param policies サウンド番号ごとの発音ルール
+     */
+    public AudioMixer(short[][] samples, VoicePolicy[] policies) {
+        this(samples, policies, DEFAULT_MAX_VOICES);
+    }
+
+    /**
+     * ミキサーのコンストラクタ
+     * 
+     * @param samples   サウンド番号ごとのPCMデータ（16bitモノラル）
+     * @param policies  サウンド番号ごとの発音ルール
+     * @param maxVoices 同時発音数の上限
+     */
+    public AudioMixer(short[][] samples, VoicePolicy[] policies, int maxVoices) {
+        this.samples = samples;
+        this.policies = policies;
+        this.lastRequestNanos = new AtomicLongArray(samples.length);
+        this.maxVoices = Math.max(1, maxVoices);
+        this.commands = new AudioCommandQueue(QUEUE_CAPACITY);
+        this.polledTimestamp = new long[1];
+        this.voiceData = new short[this.maxVoices][];
+        this.voicePosition = new int[this.maxVoices];
+        this.voiceSound = new int[this.maxVoices];
+        this.voiceSerial = new long[this.maxVoices];
+        this.voiceRequestTime = new long[this.maxVoices];
+        this.mixBuffer = new int[BLOCK_FRAMES];
+        this.outputBuffer = new byte[BLOCK_FRAMES * FORMAT.getFrameSize()];
+        this.masterVolume = 1.0f;
+    }
+
+    /**
+     * 出力ラインを開いてミキサースレッドを開始する
+     * 
+     * @throws LineUnavailableException 出力ラインを開けない場合
+     */
+    public synchronized void start() throws LineUnavailableException {
+        if (running) {
+            return;
+        }
+        SourceDataLine newLine = AudioSystem.getSourceDataLine(FORMAT);
+        try {
+            newLine.open(FORMAT, outputBuffer.length * LINE_BUFFER_BLOCKS);
+        } catch (LineUnavailableException | RuntimeException e) {
+            newLine.close(); // 取得したラインを解放する
+            throw e;
+        }
+        line = newLine;
+        lineOpen.set(true);
+        OPEN_LINES.incrementAndGet();
+        line.start();
+
+        running = true;
+        mixerThread = new Thread(this::mixLoop, "audio-mixer");
+        mixerThread.setDaemon(true);
+        mixerThread.setPriority(Thread.MAX_PRIORITY);
+        mixerThread.start();
+    }
+
+    /**
+     * ミキサースレッドを停止して出力ラインを閉じる
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            mixerThread.join(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closeLine(); // 書き込みで止まっている場合も、閉じればスレッドが抜ける
+    }
+
+    /**
+     * 出力ラインを閉じる（stopとミキサースレッドの終了処理のうち、先に呼んだ方のみが閉じる）
+     */
+    private void closeLine() {
+        if (lineOpen.compareAndSet(true, false)) {
+            line.stop();
+            line.close();
+            OPEN_LINES.decrementAndGet();
+        }
+    }
+
+    /**
+     * プロセス全体で開いている出力ラインの数を取得（リーク検出用）
+     * 
+     * @return 開いているライン数
+     */
+    public static int getOpenLineCount() {
+        return OPEN_LINES.get();
+    }
+
+    /**
+     * サウンドの再生を要求する（どのスレッドからでも呼び出せる）
+     * 集約時間内に同じ音が要求済みの場合はキューに積まずに捨てる
+     * 
+     * @param soundId サウンド番号
+     */
+    public void play(int soundId) {
+        if (!running || soundId < 0 || soundId >= samples.length) {
+            return;
+        }
+        long now = System.nanoTime();
+        long last = lastRequestNanos.get(soundId);
+        if (last != 0 && now - last < policies[soundId].getCoalesceNanos()) {
+            coalescedRequests.incrementAndGet();
+            return;
+        }
+        lastRequestNanos.lazySet(soundId, now);
+
+        if (!commands.offer(soundId, now)) {
+            droppedCommands.incrementAndGet();
+        }
+    }
+
+    /**
+     * ミキサースレッドの本体
+     * 1ブロックずつ合成してラインに書き込む（書き込みがブロックすることで再生速度に同期する）
+     */
+    private void mixLoop() {
+        try {
+            while (running) {
+                acceptCommands();
+                mixBlock();
+
+                // 書き込み前にラインのバッファが空になっていれば再生が途切れている
+                if (blocksWritten >= LINE_BUFFER_BLOCKS && line.available() >= line.getBufferSize()) {
+                    underruns++;
+                }
+                line.write(outputBuffer, 0, outputBuffer.length);
+                blocksWritten++;
+                recordLatencies();
+            }
+        } catch (RuntimeException e) {
+            failures++;
+            System.err.println("ミキサースレッドが異常終了しました: " + e);
+        } finally {
+            // 例外で抜けた場合も、ラインを閉じてから停止状態にする（再開できるように）
+            closeLine();
+            running = false;
+        }
+    }
+
+    /**
+     * キューに溜まった再生要求を発音ルールに従ってボイスに割り当てる
+     */
+    private void acceptCommands() {
+        int soundId;
+        while ((soundId = commands.poll(polledTimestamp)) >= 0) {
+            if (samples[soundId] != null) {
+                startVoice(soundId, polledTimestamp[0]);
+            }
+        }
+    }
+
+    /**
+     * 1つの再生要求を処理する
+     * 
+     * @param soundId     サウンド番号
+     * @param requestTime 要求した時刻（nanoTime）
+     */
+    private void startVoice(int soundId, long requestTime) {
+        VoicePolicy policy = policies[soundId];
+
+        // 同じ音の発音数と、そのうち最も古いボイスを調べる
+        int instances = 0;
+        int oldestSame = -1;
+        for (int v = 0; v < maxVoices; v++) {
+            if (voiceData[v] != null && voiceSound[v] == soundId) {
+                instances++;
+                if (oldestSame < 0 || voiceSerial[v] < voiceSerial[oldestSame]) {
+                    oldestSame = v;
+                }
+            }
+        }
+
+        if (instances > 0) {
+            switch (policy.getRetrigger()) {
+                case IGNORE:
+                    ignoredRequests++;
+                    return;
+                case RESTART:
+                    assignVoice(oldestSame, soundId, requestTime);
+                    return;
+                case STEAL_OLDEST:
+                    if (instances >= policy.getMaxInstances()) {
+                        stolenVoices++;
+                        assignVoice(oldestSame, soundId, requestTime);
+                        return;
+                    }
+                    break;
+            }
+        }
+
+        int voice = findVoice(policy.getPriority());
+        if (voice < 0) {
+            rejectedRequests++;
+            return;
+        }
+        if (voiceData[voice] != null) {
+            stolenVoices++;
+        }
+        assignVoice(voice, soundId, requestTime);
+    }
+
+    /**
+     * 新しい音に使うボイスを探す
+     * 空きがなければ、優先度が指定以下のボイスのうち最も優先度が低く古いものを選ぶ
+     * 
+     * @param priority 新しい音の優先度
+     * @return ボイス番号（置き換えられるボイスがない場合-1）
+     */
+    private int findVoice(int priority) {
+        int candidate = -1;
+        for (int v = 0; v < maxVoices; v++) {
+            if (voiceData[v] == null) {
+                return v;
+            }
+            int voicePriority = policies[voiceSound[v]].getPriority();
+            if (voicePriority > priority) {
+                continue;
+            }
+            if (candidate < 0) {
+                candidate = v;
+                continue;
+            }
+            int candidatePriority = policies[voiceSound[candidate]].getPriority();
+            if (voicePriority < candidatePriority
+                    || (voicePriority == candidatePriority && voiceSerial[v] < voiceSerial[candidate])) {
+                candidate = v;
+            }
+        }
+        return candidate;
+    }
+
+    /**
+     * ボイスに音を割り当てて先頭から鳴らす
+     */
+    private void assignVoice(int voice, int soundId, long requestTime) {
+        voiceData[voice] = samples[soundId];
+        voicePosition[voice] = 0;
+        voiceSound[voice] = soundId;
+        voiceSerial[voice] = nextSerial++;
+        voiceRequestTime[voice] = requestTime;
+    }
+
+    /**
+     * 発音中の全ボイスを1ブロック分合成する
+     */
+    private void mixBlock() {
+        for (int i = 0; i < BLOCK_FRAMES; i++) {
+            mixBuffer[i] = 0;
+        }
+
+        for (int v = 0; v < maxVoices; v++) {
+            short[] data = voiceData[v];
+            if (data == null) {
+                continue;
+            }
+            int position = voicePosition[v];
+            int frames = Math.min(BLOCK_FRAMES, data.length - position);
+            for (int i = 0; i < frames; i++) {
+                mixBuffer[i] += data[position + i];
+            }
+            voicePosition[v] = position + frames;
+            if (voicePosition[v] >= data.length) {
+                voiceData[v] = null; // 再生終了
+            }
+        }
+
+        // BGMを合成
+        MusicSequencer activeMusic = music;
+        if (activeMusic != null) {
+            activeMusic.render(mixBuffer, BLOCK_FRAMES);
+        }
+
+        // 音量を掛けてクリップし、リトルエンディアンの16bitに変換
+        float volume = masterVolume;
+        for (int i = 0; i < BLOCK_FRAMES; i++) {
+            int sample = (int) (mixBuffer[i] * volume);
+            sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, sample));
+            outputBuffer[i * 2] = (byte) sample;
+            outputBuffer[i * 2 + 1] = (byte) (sample >> 8);
+        }
+    }
+
+    /**
+     * 今回初めて書き込んだボイスについて、要求からの遅延を記録する
+     */
+    private void recordLatencies() {
+        long now = System.nanoTime();
+        for (int v = 0; v < maxVoices; v++) {
+            long requested = voiceRequestTime[v];
+            if (requested == 0) {
+                continue;
+            }
+            voiceRequestTime[v] = 0;
+            long latency = now - requested;
+            lastLatencyNanos = latency;
+            if (latency > maxLatencyNanos) {
+                maxLatencyNanos = latency;
+            }
+            totalLatencyNanos += latency;
+            latencySamples++;
+        }
+    }
+
+    /**
+     * BGMのシーケンサーを設定する
+     * 
+     * @param sequencer シーケンサー（BGMを鳴らさない場合null）
+     */
+    public void setMusic(MusicSequencer sequencer) {
+        this.music = sequencer;
+    }
+
+    /**
+     * マスター音量を設定
+     * 
+     * @param volume 音量（0.0〜1.0）
+     */
+    public void setMasterVolume(float volume) {
+        this.masterVolume = Math.max(0.0f, Math.min(1.0f, volume));
+    }
+
+    // ゲッター
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getLastLatencyNanos() {
+        return lastLatencyNanos;
+    }
+
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos;
+    }
+
+    public long getAverageLatencyNanos() {
+        long count = latencySamples;
+        return count == 0 ? 0 : totalLatencyNanos / count;
+    }
+
+    public long getDroppedCommands() {
+        return droppedCommands.get();
+    }
+
+    public long getCoalescedRequests() {
+        return coalescedRequests.get();
+    }
+
+    public long getIgnoredRequests() {
+        return ignoredRequests;
+    }
+
+    public long getStolenVoices() {
+        return stolenVoices;
+    }
+
+    public long getRejectedRequests() {
+        return rejectedRequests;
+    }
+
+    public long getUnderruns() {
+        return underruns;
+    }
+
+    public int getFailures() {
+        return failures;
+    }
+
+    public int getMaxVoices() {
+        return maxVoices;
+    }
+}
@@ -0,0 +1,73 @@
+package com.tetris.effects;
+
+/**
+ * アニメーション用のフレーム時計クラス
+ * System.nanoTimeを1フレームに1回だけ読み、経過時間と一時停止を除いた時刻を提供する
+ * すべてのアニメーションはこの時計を基準に進めるため、描画頻度によらず同じ速さで動く
+ */
+public class FrameClock {
+
+    private static final long MAX_DELTA_NANOS = 100_000_000L; // 1フレームで進める最大時間（ストール対策）
+
+    private long lastTickNanos; // 前回advanceしたときのnanoTime
+    private long timeNanos; // 一時停止中を除いた累積時間
+    private long deltaNanos; // 直近フレームの経過時間（一時停止中は0）
+
+    /**
+     * フレーム時計のコンストラクタ
+     */
+    public FrameClock() {
+        lastTickNanos = System.nanoTime();
+        timeNanos = 0;
+        deltaNanos = 0;
+    }
+
+    /**
+     * 時計を1フレーム進める
+     * 
+     * @param paused 一時停止中の場合true（時刻を進めない）
+     */
+    public void advance(boolean paused) {
+        advanceTo(System.nanoTime(), paused);
+    }
+
+    /**
+     * 指定したnanoTimeまで時計を進める
+     * 
+     * @param nowNanos 現在のnanoTime
+     * @param paused   一時停止中の場合true（時刻を進めない）
+     */
+    public void advanceTo(long nowNanos, boolean paused) {
+        long elapsed = nowNanos - lastTickNanos;
+        lastTickNanos = nowNanos;
+        deltaNanos = paused ? 0 : Math.max(0, Math.min(MAX_DELTA_NANOS, elapsed));
+        timeNanos += deltaNanos;
+    }
+
+    /**
+     * 一時停止中を除いた累積時間を取得
+     * 
+     * @return 累積時間（ナノ秒）
+     */
+    public long getTimeNanos() {
+        return timeNanos;
+    }
+
+    /**
+     * 直近フレームの経過時間を取得
+     * 
+     * @return 経過時間（ナノ秒）
+     */
+    public long getDeltaNanos() {
+        return deltaNanos;
+    }
+
+    /**
+     * 直近フレームの経過時間を秒で取得
+     * 
+     * @return 経過時間（秒）
+     */
+    public float getDeltaSeconds() {
+        return deltaNanos / 1e9f;
+    }
+}
@@ -0,0 +1,188 @@
+package com.tetris.effects;
+
+/**
+ * BGM（コロブチカ）をリアルタイムに合成するシーケンサー
+ * ミキサースレッドから1ブロックずつ呼び出され、メロディ（矩形波）とベース（三角波）を
+ * ミックス用バッファに直接加算する。合成中はオブジェクトを一切確保しない
+ * テンポはゲームのレベルに合わせて変化する
+ */
+public class MusicSequencer {
+
+    private static final int REST = -1; // 休符
+
+    // メロディ（MIDIノート番号と長さ（8分音符単位）の組）
+    private static final int[] MELODY_NOTES = {
+            // A
+            76, 71, 72, 74, 72, 71,
+            69, 69, 72, 76, 74, 72,
+            71, 72, 74, 76,
+            72, 69, 69,
+            // B
+            74, 77, 81, 79, 77,
+            76, 72, 76, 74, 72,
+            71, 71, 72, 74, 76,
+            72, 69, 69, REST
+    };
+    private static final int[] MELODY_LENGTHS = {
+            2, 1, 1, 2, 1, 1,
+            2, 1, 1, 2, 1, 1,
+            3, 1, 2, 2,
+            2, 2, 4,
+            3, 1, 2, 1, 1,
+            3, 1, 2, 1, 1,
+            2, 1, 1, 2, 2,
+            2, 2, 2, 2
+    };
+
+    // ベースの根音（1小節ごと、MIDIノート番号）。8分音符で根音と1オクターブ上を交互に鳴らす
+    private static final int[] BASS_ROOTS = { 40, 45, 40, 45, 38, 36, 40, 45 };
+    private static final int EIGHTHS_PER_BAR = 8;
+
+    private static final float BASE_BPM = 120; // レベル1のテンポ（4分音符/分）
+    private static final float BPM_PER_LEVEL = 8; // レベルごとのテンポ上昇
+    private static final float MAX_BPM = 240; // 最大テンポ
+    private static final float MELODY_GAIN = 0.12f * 32767; // メロディの音量
+    private static final float BASS_GAIN = 0.15f * 32767; // ベースの音量
+    private static final float NOTE_DECAY = 0.99985f; // 1サンプルごとの減衰率
+
+    private static final float[] NOTE_FREQUENCIES = new float[128]; // MIDIノート番号ごとの周波数
+
+    static {
+        for (int note = 0; note < NOTE_FREQUENCIES.length; note++) {
+            NOTE_FREQUENCIES[note] = (float) (440.0 * Math.pow(2.0, (note - 69) / 12.0));
+        }
+    }
+
+    private final float sampleRate; // サンプリング周波数
+    private volatile boolean playing; // 再生中フラグ
+    private volatile int samplesPerEighth; // 8分音符1つ分のサンプル数（テンポから算出）
+    private volatile boolean rewindRequested; // 次のブロックの合成前に曲頭へ戻す（startから要求する）
+
+    // 以下はミキサースレッドのみが触る
+    private int melodyIndex; // 現在のメロディの位置
+    private int melodySamplesLeft; // 現在の音の残りサンプル数
+    private float melodyStep; // メロディの位相増分（1サンプルあたり）
+    private float melodyPhase; // メロディの位相（0.0〜1.0）
+    private float melodyEnvelope; // メロディの音量エンベロープ
+    private int eighthCount; // 曲頭からの8分音符の数（ベース用）
+    private int bassSamplesLeft; // 現在のベース音の残りサンプル数
+    private float bassStep; // ベースの位相増分
+    private float bassPhase; // ベースの位相
+
+    /**
+     * シーケンサーのコンストラクタ
+     * 
+     * @param sampleRate サンプリング周波数
+     */
+    public MusicSequencer(float sampleRate) {
+        this.sampleRate = sampleRate;
+        setLevel(1);
+        rewind();
+    }
+
+    /**
+     * 再生位置を曲頭に戻す（ミキサースレッド、または合成を始める前のコンストラクタから呼び出す）
+     */
+    private void rewind() {
+        melodyIndex = -1;
+        melodySamplesLeft = 0;
+        eighthCount = -1;
+        bassSamplesLeft = 0;
+    }
+
+    /**
+     * 1ブロック分の音を合成してバッファに加算する（ミキサースレッドから呼び出す）
+     * 
+     * @param mix    ミックス用バッファ
+     * @param frames 合成するフレーム数
+     */
+    public void render(int[] mix, int frames) {
+        if (!playing) {
+            return;
+        }
+        if (rewindRequested) {
+            // 位置の変更はミキサースレッドで行う（合成中のブロックが途中の値を読まないように）
+            rewindRequested = false;
+            rewind();
+        }
+        int eighth = samplesPerEighth;
+
+        for (int i = 0; i < frames; i++) {
+            // メロディの次の音へ進む
+            if (melodySamplesLeft <= 0) {
+                melodyIndex = (melodyIndex + 1) % MELODY_NOTES.length;
+                melodySamplesLeft = MELODY_LENGTHS[melodyIndex] * eighth;
+                int note = MELODY_NOTES[melodyIndex];
+                melodyStep = note == REST ? 0 : NOTE_FREQUENCIES[note] / sampleRate;
+                melodyEnvelope = note == REST ? 0 : 1;
+            }
+            // ベースの次の音へ進む
+            if (bassSamplesLeft <= 0) {
+                eighthCount = (eighthCount + 1) % (BASS_ROOTS.length * EIGHTHS_PER_BAR);
+                bassSamplesLeft = eighth;
+                int root = BASS_ROOTS[eighthCount / EIGHTHS_PER_BAR];
+                bassStep = NOTE_FREQUENCIES[(eighthCount & 1) == 0 ? root : root + 12] / sampleRate;
+            }
+
+            // メロディ: 減衰する矩形波
+            melodyPhase += melodyStep;
+            if (melodyPhase >= 1) {
+                melodyPhase -= 1;
+            }
+            float melody = (melodyPhase < 0.5f ? 1 : -1) * melodyEnvelope;
+            melodyEnvelope *= NOTE_DECAY;
+
+            // ベース: 三角波
+            bassPhase += bassStep;
+            if (bassPhase >= 1) {
+                bassPhase -= 1;
+            }
+            float bass = 4 * Math.abs(bassPhase - 0.5f) - 1;
+
+            mix[i] += (int) (melody * MELODY_GAIN + bass * BASS_GAIN);
+            melodySamplesLeft--;
+            bassSamplesLeft--;
+        }
+    }
+
+    /**
+     * レベルに合わせてテンポを設定する
+     * 
+     * @param level ゲームのレベル
+     */
+    public void setLevel(int level) {
+        float bpm = Math.min(MAX_BPM, BASE_BPM + (Math.max(1, level) - 1) * BPM_PER_LEVEL);
+        samplesPerEighth = (int) (sampleRate * 60 / bpm / 2);
+    }
+
+    /**
+     * 再生を開始する（曲頭から）
+     * 再生位置はミキサースレッドのみが触るため、曲頭へ戻すのは次のブロックの合成時に行う
+     */
+    public void start() {
+        if (!playing) {
+            rewindRequested = true;
+            playing = true;
+        }
+    }
+
+    /**
+     * 再生を一時停止/再開する（位置は保持する）
+     * 
+     * @param paused 一時停止する場合true
+     */
+    public void setPaused(boolean paused) {
+        playing = !paused;
+    }
+
+    /**
+     * 再生を停止する
+     */
+    public void stop() {
+        playing = false;
+    }
+
+    public boolean isPlaying() {
+        return playing;
+    }
+}
@@ -0,0 +1,292 @@
+package com.tetris.effects;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.util.Random;
+
+/**
+ * 固定容量のパーティクル管理クラス
+ * 位置・速度・寿命を並列のfloat配列、色をパレット番号で保持し、
+ * 生成・更新・描画のいずれでもオブジェクトを確保しない
+ *
+ * 配列は生成順に並ぶリングバッファとして使う
+ * 寿命は全パーティクルで1.0から同じ速さで減るため、消滅するのは常に先頭（最も古いもの）からで、
+ * 満杯のときの最も古いものの上書きも、先頭を1つ進めるだけで済む
+ */
+public class ParticlePool {
+
+    private static final int ALPHA_LEVELS = 16; // 透明度の段階数（描画時に色をまとめるため）
+    private static final int MAX_PALETTE = 32; // 同時に扱える色の種類
+    private static final float MAX_SIZE = 5.0f; // パーティクルの最大直径（ピクセル）
+    private static final float GRAVITY = 720.0f; // 重力加速度（ピクセル/秒^2）
+    private static final float DECAY_RATE = 1.2f; // 寿命の減少速度（1/秒）
+    private static final float DRAG_PER_SECOND = 0.2976f; // 1秒あたりの横方向速度の残存率（0.98^60）
+
+    private final int capacity; // 最大パーティクル数
+    private final float[] x; // X座標
+    private final float[] y; // Y座標
+    private final float[] vx; // X方向の速度（ピクセル/秒）
+    private final float[] vy; // Y方向の速度（ピクセル/秒）
+    private final float[] life; // 残り寿命（1.0〜0.0）
+    private final int[] paletteSlot; // 描画用パレットの番号（描画時はこの番号と透明度でまとめる）
+
+    private final int[] palette; // 登録済みの色（RGB）
+    private final Color[][] paletteColors; // パレット色ごと・透明度段階ごとのColor
+    private int paletteSize; // 登録済みの色の数
+
+    private final int[] drawOrder; // 描画順（色でまとめた並び）
+    private final int[] bucketStart; // 色ごとの開始位置（計数ソート用）
+
+    private final Random random; // 初速度用の乱数
+    private int head; // 最も古いパーティクルの位置
+    private int count; // 生存中のパーティクル数
+    private int limit; // 同時に存在できる数の上限（capacity以下）
+
+    /**
+     * パーティクルプールのコンストラクタ
+     *
+     * @param capacity 最大パーティクル数
+     */
+    public ParticlePool(int capacity) {
+        this.capacity = capacity;
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.vx = new float[capacity];
+        this.vy = new float[capacity];
+        this.life = new float[capacity];
+        this.paletteSlot = new int[capacity];
+        this.palette = new int[MAX_PALETTE];
+        this.paletteColors = new Color[MAX_PALETTE][];
+        this.drawOrder = new int[capacity];
+        this.bucketStart = new int[MAX_PALETTE * ALPHA_LEVELS + 1];
+        this.random = new Random();
+        this.count = 0;
+        this.limit = capacity;
+    }
+
+    /**
+     * 指定位置からパーティクルを放出する
+     * 上限に達している場合は最も古いパーティクルを上書きする（探索せず先頭を進める）
+     *
+     * @param px     X座標（ピクセル）
+     * @param py     Y座標（ピクセル）
+     * @param rgb    色（RGB）
+     * @param amount 放出する数
+     */
+    public void emit(float px, float py, int rgb, int amount) {
+        if (limit == 0) {
+            return;
+        }
+        int slot = paletteSlotFor(rgb);
+        for (int n = 0; n < amount; n++) {
+            if (count == limit) {
+                dropOldest(1);
+            }
+            int i = index(count++);
+
+            x[i] = px;
+            y[i] = py;
+            life[i] = 1.0f;
+            paletteSlot[i] = slot;
+
+            // ランダムな速度を設定
+            float angle = (float) (random.nextDouble() * Math.PI * 2);
+            float speed = 60 + random.nextFloat() * 180;
+            vx[i] = (float) Math.cos(angle) * speed;
+            vy[i] = (float) Math.sin(angle) * speed - 120; // 上向きの傾向
+        }
+    }
+
+    /**
+     * 全パーティクルを経過時間分だけ進め、寿命が尽きたものを取り除く
+     *
+     * @param deltaSeconds 経過時間（秒）
+     */
+    public void update(float deltaSeconds) {
+        if (deltaSeconds <= 0) {
+            return;
+        }
+        float drag = (float) Math.pow(DRAG_PER_SECOND, deltaSeconds); // 空気抵抗
+        float gravity = GRAVITY * deltaSeconds;
+        float decay = DECAY_RATE * deltaSeconds;
+
+        int expired = 0;
+        for (int n = 0, i = head; n < count; n++) {
+            x[i] += vx[i] * deltaSeconds;
+            y[i] += vy[i] * deltaSeconds;
+            vy[i] += gravity;
+            life[i] -= decay;
+            vx[i] *= drag;
+            if (life[i] <= 0) {
+                expired++; // 消滅するのは先頭から連続する古いもののみ
+            }
+            if (++i == capacity) {
+                i = 0;
+            }
+        }
+        dropOldest(expired);
+    }
+
+    /**
+     * 全パーティクルを描画する
+     * 色と透明度の組でまとめて描画し、色の切り替えを最小限にする
+     *
+     * @param g2d グラフィックスコンテキスト
+     */
+    public void render(Graphics2D g2d) {
+        if (count == 0) {
+            return;
+        }
+
+        // 色と透明度の組をキーに計数ソートする
+        int bucketCount = paletteSize * ALPHA_LEVELS;
+        for (int b = 0; b <= bucketCount; b++) {
+            bucketStart[b] = 0;
+        }
+        for (int n = 0; n < count; n++) {
+            bucketStart[bucketKey(index(n)) + 1]++;
+        }
+        for (int b = 0; b < bucketCount; b++) {
+            bucketStart[b + 1] += bucketStart[b];
+        }
+        for (int n = 0; n < count; n++) {
+            int i = index(n);
+            drawOrder[bucketStart[bucketKey(i)]++] = i;
+        }
+
+        int currentKey = -1;
+        for (int n = 0; n < count; n++) {
+            int i = drawOrder[n];
+            int key = bucketKey(i);
+            if (key != currentKey) {
+                currentKey = key;
+                g2d.setColor(paletteColors[key / ALPHA_LEVELS][key % ALPHA_LEVELS]);
+            }
+            int size = (int) (MAX_SIZE * life[i]);
+            fillDot(g2d, (int) x[i] - size / 2, (int) y[i] - size / 2, size);
+        }
+    }
+
+    /**
+     * 小さな円に近い点を矩形の組み合わせで塗りつぶす
+     * fillOvalは呼び出しのたびに図形オブジェクトを確保するため、重ならない矩形で代用する
+     *
+     * @param g2d  グラフィックスコンテキスト
+     * @param left 左端
+     * @param top  上端
+     * @param size 直径（ピクセル）
+     */
+    private static void fillDot(Graphics2D g2d, int left, int top, int size) {
+        if (size <= 2) {
+            g2d.fillRect(left, top, size, size);
+            return;
+        }
+        // 中央の縦長の矩形と、左右の角を落とした列
+        g2d.fillRect(left + 1, top, size - 2, size);
+        g2d.fillRect(left, top + 1, 1, size - 2);
+        g2d.fillRect(left + size - 1, top + 1, 1, size - 2);
+    }
+
+    /**
+     * 同時に存在できるパーティクル数の上限を設定する
+     * 上限を超えている分は古いものから取り除く
+     *
+     * @param newLimit 上限（capacityを超える値はcapacityに丸める）
+     */
+    public void setLimit(int newLimit) {
+        limit = Math.max(0, Math.min(capacity, newLimit));
+        if (count > limit) {
+            dropOldest(count - limit);
+        }
+    }
+
+    /**
+     * 全パーティクルを取り除く
+     */
+    public void clear() {
+        head = 0;
+        count = 0;
+    }
+
+    /**
+     * 古いものから指定数のパーティクルを取り除く
+     */
+    private void dropOldest(int n) {
+        if (n == 0) {
+            return;
+        }
+        head = (head + n) % capacity;
+        count -= n;
+    }
+
+    /**
+     * 古い方からn番目のパーティクルの配列上の位置
+     */
+    private int index(int n) {
+        int i = head + n;
+        return i < capacity ? i : i - capacity;
+    }
+
+    /**
+     * 描画時にまとめるためのキー（パレット番号と透明度段階）を求める
+     */
+    private int bucketKey(int i) {
+        int alphaLevel = Math.min(ALPHA_LEVELS - 1, (int) (life[i] * ALPHA_LEVELS));
+        return paletteSlot[i] * ALPHA_LEVELS + Math.max(0, alphaLevel);
+    }
+
+    /**
+     * 色に対応するパレット番号を取得する（未登録なら登録する）
+     * パレットが満杯の場合は最も近い色を使う
+     */
+    private int paletteSlotFor(int rgb) {
+        rgb &= 0xFFFFFF;
+        int nearest = 0;
+        int nearestDistance = Integer.MAX_VALUE;
+        for (int s = 0; s < paletteSize; s++) {
+            if (palette[s] == rgb) {
+                return s;
+            }
+            int distance = colorDistance(palette[s], rgb);
+            if (distance < nearestDistance) {
+                nearestDistance = distance;
+                nearest = s;
+            }
+        }
+        if (paletteSize == MAX_PALETTE) {
+            return nearest;
+        }
+
+        // 透明度段階ごとの色を作成しておく（新しい色が現れたときのみ）
+        int slot = paletteSize++;
+        palette[slot] = rgb;
+        paletteColors[slot] = new Color[ALPHA_LEVELS];
+        for (int level = 0; level < ALPHA_LEVELS; level++) {
+            int alpha = (int) (255 * (level + 0.5f) / ALPHA_LEVELS);
+            paletteColors[slot][level] = new Color((alpha << 24) | rgb, true);
+        }
+        return slot;
+    }
+
+    /**
+     * 2つの色の差を求める
+     */
+    private static int colorDistance(int a, int b) {
+        return Math.abs(((a >> 16) & 0xFF) - ((b >> 16) & 0xFF))
+                + Math.abs(((a >> 8) & 0xFF) - ((b >> 8) & 0xFF))
+                + Math.abs((a & 0xFF) - (b & 0xFF));
+    }
+
+    // ゲッター
+    public int size() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -1,235 +1,392 @@
 package com.tetris.effects;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.util.HashMap;
-import java.util.Map;
-
-import javax.sound.sampled.AudioFileFormat;
-import javax.sound.sampled.AudioFormat;
-import javax.sound.sampled.AudioInputStream;
-import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.Clip;
-import javax.sound.sampled.FloatControl;
-import javax.sound.sampled.LineEvent;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+import com.tetris.diagnostics.SoundDispatchEvent;
 
 /**
  * ゲーム内の音響効果を管理するクラス
  * 効果音の生成、再生、音量調整などを行う
+ * 効果音はPCM（16bitモノラル）として直接合成し、バックグラウンドで並列に用意する
  */
 public class SoundManager {
 
-    private Map<SoundType, byte[]> soundCache;
-    private boolean soundEnabled;
+    private static final int MAX_MIXER_RESTARTS = 3; // ミキサースレッドが例外で終了した場合に開き直す回数の上限
+    private static final long SYNTHESIS_BUDGET_NANOS = 50_000_000L; // 効果音合成の時間予算（起動直後のJIT前で50ms）
+
+    private volatile CompletableFuture<short[][]> soundBank; // サウンド番号ごとのPCMデータ
+    private volatile long synthesisNanos; // 効果音の合成にかかった時間
+    private volatile boolean soundEnabled;
     private float masterVolume;
+    private AudioMixer mixer; // 効果音を合成するミキサー（合成完了後にバックグラウンドで開始）
+    private boolean closed; // 閉じた後はミキサーを開始しない
+    private final MusicSequencer music; // BGMのシーケンサー
 
     /**
      * サウンドの種類を表す列挙型
+     * 各効果音の発音ルール（優先度、再要求時の扱い、同時発音数、集約時間）も定義する
      */
     public enum SoundType {
-        BLOCK_PLACE, // ブロック固定音
-        LINE_CLEAR, // ライン消去音
-        TETRIS, // 4ライン消去音
-        LEVEL_UP, // レベルアップ音
-        GAME_OVER, // ゲームオーバー音
-        ROTATE, // 回転音
-        MOVE // 移動音
+        BLOCK_PLACE(new VoicePolicy(2, VoicePolicy.RetriggerPolicy.STEAL_OLDEST, 2, 20)), // ブロック固定音
+        LINE_CLEAR(new VoicePolicy(3, VoicePolicy.RetriggerPolicy.RESTART, 1, 50)), // ライン消去音
+        TETRIS(new VoicePolicy(4, VoicePolicy.RetriggerPolicy.IGNORE, 1, 100)), // 4ライン消去音
+        LEVEL_UP(new VoicePolicy(4, VoicePolicy.RetriggerPolicy.IGNORE, 1, 100)), // レベルアップ音
+        GAME_OVER(new VoicePolicy(5, VoicePolicy.RetriggerPolicy.IGNORE, 1, 500)), // ゲームオーバー音
+        ROTATE(new VoicePolicy(1, VoicePolicy.RetriggerPolicy.RESTART, 1, 30)), // 回転音
+        MOVE(new VoicePolicy(0, VoicePolicy.RetriggerPolicy.RESTART, 1, 30)); // 移動音
+
+        private final VoicePolicy voicePolicy;
+
+        SoundType(VoicePolicy voicePolicy) {
+            this.voicePolicy = voicePolicy;
+        }
+
+        public VoicePolicy getVoicePolicy() {
+            return voicePolicy;
+        }
     }
 
     /**
      * サウンド管理クラスのコンストラクタ
+     * 効果音の合成はバックグラウンドで開始し、完了を待たずに戻る
      */
     public SoundManager() {
-        soundCache = new HashMap<>();
-        soundEnabled = true;
-        masterVolume = 0.7f;
+        this(true);
+    }
 
-        // サウンドを生成してキャッシュ
-        generateSounds();
+    /**
+     * サウンド管理クラスのコンストラクタ
+     * 
+     * @param enabled 有効にする場合true（無効の場合は有効にするまで効果音を合成しない）
+     */
+    public SoundManager(boolean enabled) {
+        soundEnabled = enabled;
+        masterVolume = 0.7f;
+        music = new MusicSequencer(AudioMixer.SAMPLE_RATE);
+        if (enabled) {
+            generateSoundsAsync();
+        }
     }
 
     /**
-     * プログラムで生成したサウンドをキャッシュに追加
+     * 効果音の合成をバックグラウンドで開始する（すでに開始済みなら何もしない）
      */
-    private void generateSounds() {
-        try {
-            // 各種効果音を生成
-            soundCache.put(SoundType.BLOCK_PLACE, generateBlockPlaceSound());
-            soundCache.put(SoundType.LINE_CLEAR, generateLineClearSound());
-            soundCache.put(SoundType.TETRIS, generateTetrisSound());
-            soundCache.put(SoundType.LEVEL_UP, generateLevelUpSound());
-            soundCache.put(SoundType.GAME_OVER, generateGameOverSound());
-            soundCache.put(SoundType.ROTATE, generateRotateSound());
-            soundCache.put(SoundType.MOVE, generateMoveSound());
-        } catch (Exception e) {
+    private synchronized void generateSoundsAsync() {
+        if (soundBank != null) {
+            return;
+        }
+        soundBank = CompletableFuture.supplyAsync(this::generateSounds);
+        soundBank.exceptionally(e -> {
             System.err.println("サウンド生成エラー: " + e.getMessage());
             soundEnabled = false;
+            return null;
+        });
+        // 出力ラインを開く処理（オーディオシステムの初期化を含む）もバックグラウンドで済ませ、
+        // 最初の再生時にEDTで待たないようにする
+        soundBank.thenRunAsync(() -> {
+            if (soundEnabled) {
+                getOrStartMixer();
+            }
+        });
+    }
+
+    /**
+     * 全効果音を並列に合成する
+     * 
+     * @return サウンド番号ごとのPCMデータ
+     */
+    private short[][] generateSounds() {
+        long start = System.nanoTime();
+        short[][] bank = Arrays.stream(SoundType.values())
+                .parallel()
+                .map(this::generateSound)
+                .toArray(short[][]::new);
+        synthesisNanos = System.nanoTime() - start;
+
+        if (synthesisNanos > SYNTHESIS_BUDGET_NANOS) {
+            System.err.printf("効果音の合成が予算を超過: %.1fms（予算 %.1fms）%n",
+                    synthesisNanos / 1e6, SYNTHESIS_BUDGET_NANOS / 1e6);
+        }
+        return bank;
+    }
+
+    /**
+     * 指定した種類の効果音を合成する
+     * 
+     * @param soundType サウンドの種類
+     * @return PCMデータ
+     */
+    private short[] generateSound(SoundType soundType) {
+        switch (soundType) {
+            case BLOCK_PLACE:
+                return generateBlockPlaceSound();
+            case LINE_CLEAR:
+                return generateLineClearSound();
+            case TETRIS:
+                return generateTetrisSound();
+            case LEVEL_UP:
+                return generateLevelUpSound();
+            case GAME_OVER:
+                return generateGameOverSound();
+            case ROTATE:
+                return generateRotateSound();
+            case MOVE:
+                return generateMoveSound();
+            default:
+                throw new IllegalArgumentException("未知のサウンド: " + soundType);
         }
     }
 
     /**
      * サウンドを再生
+     * ミキサーのキューに再生要求を積むだけなので、呼び出し元をブロックしない
+     * 効果音の合成がまだ終わっていない場合は再生しない
      * 
      * @param soundType 再生するサウンドの種類
      */
     public void playSound(SoundType soundType) {
-        if (!soundEnabled || !soundCache.containsKey(soundType)) {
+        if (!soundEnabled) {
             return;
         }
 
-        // 新しいスレッドで再生（ゲームをブロックしないため）
-        new Thread(() -> {
-            try {
-                byte[] soundData = soundCache.get(soundType);
-                ByteArrayInputStream bais = new ByteArrayInputStream(soundData);
-                AudioInputStream audioStream = AudioSystem.getAudioInputStream(bais);
-
-                Clip clip = AudioSystem.getClip();
-                clip.open(audioStream);
-
-                // 音量を設定
-                if (clip.isControlSupported(FloatControl.Type.MASTER_GAIN)) {
-                    FloatControl gainControl = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
-                    float dB = (float) (Math.log(masterVolume) / Math.log(10.0) * 20.0);
-                    gainControl.setValue(dB);
+        SoundDispatchEvent event = new SoundDispatchEvent();
+        event.begin();
+        AudioMixer activeMixer = getOrStartMixer();
+        if (activeMixer != null) {
+            activeMixer.play(soundType.ordinal());
+        }
+        event.sound = soundType.name();
+        event.dispatched = activeMixer != null;
+        event.commit();
+    }
+
+    /**
+     * ミキサーを取得する（効果音の準備ができていて未開始なら開始する）
+     * 
+     * @return ミキサー（準備中、または出力ラインを開けない場合null）
+     */
+    private synchronized AudioMixer getOrStartMixer() {
+        if (closed) {
+            return null;
+        }
+        if (mixer != null) {
+            if (!mixer.isRunning() && mixer.getFailures() > 0 && mixer.getFailures() <= MAX_MIXER_RESTARTS) {
+                // ミキサースレッドが例外で終了した場合は開き直す
+                try {
+                    mixer.start();
+                } catch (Exception e) {
+                    System.err.println("サウンド再生エラー: " + e.getMessage());
                 }
+            }
+            return mixer.isRunning() ? mixer : null;
+        }
+        CompletableFuture<short[][]> bank = soundBank;
+        if (bank == null || !bank.isDone() || bank.isCompletedExceptionally()) {
+            return null;
+        }
+        try {
+            VoicePolicy[] policies = Arrays.stream(SoundType.values())
+                    .map(SoundType::getVoicePolicy)
+                    .toArray(VoicePolicy[]::new);
+            mixer = new AudioMixer(bank.join(), policies);
+            mixer.setMasterVolume(masterVolume);
+            mixer.setMusic(music);
+            mixer.start();
+        } catch (Exception e) {
+            System.err.println("サウンド再生エラー: " + e.getMessage());
+            soundEnabled = false;
+        }
+        return mixer != null && mixer.isRunning() ? mixer : null;
+    }
+
+    /**
+     * BGMを曲頭から再生する
+     * 効果音の準備が終わっていない場合は、ミキサーの開始時に鳴り始める
+     */
+    public void startMusic() {
+        if (!soundEnabled) {
+            return;
+        }
+        music.start();
+        getOrStartMixer();
+    }
+
+    /**
+     * BGMを一時停止/再開する
+     * 
+     * @param paused 一時停止する場合true
+     */
+    public void setMusicPaused(boolean paused) {
+        if (soundEnabled) {
+            music.setPaused(paused);
+        }
+    }
 
-                clip.start();
+    /**
+     * BGMを停止する
+     */
+    public void stopMusic() {
+        music.stop();
+    }
 
-                // 再生終了を待つ
-                clip.addLineListener(event -> {
-                    if (event.getType() == LineEvent.Type.STOP) {
-                        clip.close();
-                    }
-                });
+    /**
+     * BGMのテンポをレベルに合わせる
+     * 
+     * @param level ゲームのレベル
+     */
+    public void setMusicLevel(int level) {
+        music.setLevel(level);
+    }
 
-            } catch (Exception e) {
-                System.err.println("サウンド再生エラー: " + e.getMessage());
-            }
-        }).start();
+    /**
+     * ミキサーを停止して出力ラインを閉じる
+     */
+    public synchronized void close() {
+        closed = true;
+        if (mixer != null) {
+            mixer.stop();
+        }
+    }
+
+    /**
+     * ミキサーを取得（遅延の統計を参照するため）
+     * 
+     * @return ミキサー（まだ再生していない場合null）
+     */
+    public synchronized AudioMixer getMixer() {
+        return mixer;
     }
 
     /**
      * ブロック固定音を生成
      */
-    private byte[] generateBlockPlaceSound() throws Exception {
+    private short[] generateBlockPlaceSound() {
         return generateTone(200, 50, 0.5f); // 低めの短い音
     }
 
     /**
      * ライン消去音を生成
      */
-    private byte[] generateLineClearSound() throws Exception {
+    private short[] generateLineClearSound() {
         // 上昇する音のシーケンス
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        for (int i = 0; i < 3; i++) {
-            byte[] tone = generateTone(400 + i * 200, 100, 0.6f);
-            baos.write(tone);
-        }
-        return baos.toByteArray();
+        int[] frequencies = { 400, 600, 800 };
+        return generateSequence(frequencies, 100, 0.6f);
     }
 
     /**
      * テトリス（4ライン消去）音を生成
      */
-    private byte[] generateTetrisSound() throws Exception {
+    private short[] generateTetrisSound() {
         // より華やかな音のシーケンス
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
         int[] frequencies = { 523, 659, 784, 1047 }; // C, E, G, C (Cメジャーコード)
-        for (int freq : frequencies) {
-            byte[] tone = generateTone(freq, 150, 0.7f);
-            baos.write(tone);
-        }
-        return baos.toByteArray();
+        return generateSequence(frequencies, 150, 0.7f);
     }
 
     /**
      * レベルアップ音を生成
      */
-    private byte[] generateLevelUpSound() throws Exception {
+    private short[] generateLevelUpSound() {
         // ファンファーレ風の音
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
         int[] frequencies = { 523, 587, 659, 784 }; // C, D, E, G
-        for (int freq : frequencies) {
-            byte[] tone = generateTone(freq, 100, 0.8f);
-            baos.write(tone);
-        }
-        return baos.toByteArray();
+        return generateSequence(frequencies, 100, 0.8f);
     }
 
     /**
      * ゲームオーバー音を生成
      */
-    private byte[] generateGameOverSound() throws Exception {
+    private short[] generateGameOverSound() {
         // 下降する音のシーケンス
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        for (int i = 0; i < 4; i++) {
-            byte[] tone = generateTone(400 - i * 50, 200, 0.6f);
-            baos.write(tone);
-        }
-        return baos.toByteArray();
+        int[] frequencies = { 400, 350, 300, 250 };
+        return generateSequence(frequencies, 200, 0.6f);
     }
 
     /**
      * 回転音を生成
      */
-    private byte[] generateRotateSound() throws Exception {
+    private short[] generateRotateSound() {
         return generateTone(600, 30, 0.4f); // 高めの短い音
     }
 
     /**
      * 移動音を生成
      */
-    private byte[] generateMoveSound() throws Exception {
+    private short[] generateMoveSound() {
         return generateTone(300, 20, 0.3f); // 短いクリック音
     }
 
+    /**
+     * 同じ長さのトーンを順に並べた音を生成
+     * 
+     * @param frequencies 周波数（Hz）の並び
+     * @param duration    1音の長さ（ミリ秒）
+     * @param amplitude   振幅（0.0〜1.0）
+     * @return 生成されたPCMデータ
+     */
+    private short[] generateSequence(int[] frequencies, int duration, float amplitude) {
+        int toneSamples = sampleCount(duration);
+        short[] samples = new short[toneSamples * frequencies.length];
+        for (int i = 0; i < frequencies.length; i++) {
+            writeTone(samples, i * toneSamples, toneSamples, frequencies[i], amplitude);
+        }
+        return samples;
+    }
+
     /**
      * 単純な正弦波トーンを生成
      * 
      * @param frequency 周波数（Hz）
      * @param duration  長さ（ミリ秒）
      * @param amplitude 振幅（0.0〜1.0）
-     * @return 生成された音声データ
+     * @return 生成されたPCMデータ
      */
-    private byte[] generateTone(int frequency, int duration, float amplitude) throws Exception {
-        float sampleRate = 44100;
-        int sampleCount = (int) (sampleRate * duration / 1000);
-
-        AudioFormat format = new AudioFormat(sampleRate, 16, 1, true, false);
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-        // 正弦波を生成
-        for (int i = 0; i < sampleCount; i++) {
-            double angle = 2.0 * Math.PI * i * frequency / sampleRate;
-            short sample = (short) (Math.sin(angle) * amplitude * 32767);
+    public short[] generateTone(int frequency, int duration, float amplitude) {
+        int count = sampleCount(duration);
+        short[] samples = new short[count];
+        writeTone(samples, 0, count, frequency, amplitude);
+        return samples;
+    }
 
+    /**
+     * 正弦波トーンを配列に直接書き込む
+     * 正弦波は漸化式 s[n] = 2cos(w)s[n-1] - s[n-2] で求め、サンプルごとのsin呼び出しを避ける
+     * 
+     * @param samples   書き込み先
+     * @param offset    書き込み開始位置
+     * @param count     サンプル数
+     * @param frequency 周波数（Hz）
+     * @param amplitude 振幅（0.0〜1.0）
+     */
+    private void writeTone(short[] samples, int offset, int count, int frequency, float amplitude) {
+        double omega = 2.0 * Math.PI * frequency / AudioMixer.SAMPLE_RATE;
+        double coefficient = 2.0 * Math.cos(omega);
+        double previous = -Math.sin(omega); // sin(-w)
+        double current = 0.0; // sin(0)
+        double scale = amplitude * 32767;
+        int fadeLength = (int) (count * 0.1); // 10%の長さでフェード
+
+        for (int i = 0; i < count; i++) {
             // フェードイン/フェードアウト
             float fadeRatio = 1.0f;
-            int fadeLength = (int) (sampleCount * 0.1); // 10%の長さでフェード
-
             if (i < fadeLength) {
                 fadeRatio = (float) i / fadeLength;
-            } else if (i > sampleCount - fadeLength) {
-                fadeRatio = (float) (sampleCount - i) / fadeLength;
+            } else if (i > count - fadeLength) {
+                fadeRatio = (float) (count - i) / fadeLength;
             }
 
-            sample = (short) (sample * fadeRatio);
+            samples[offset + i] = (short) (current * scale * fadeRatio);
 
-            // リトルエンディアンで書き込み
-            baos.write(sample & 0xFF);
-            baos.write((sample >> 8) & 0xFF);
+            double next = coefficient * current - previous;
+            previous = current;
+            current = next;
         }
+    }
 
-        byte[] audioData = baos.toByteArray();
-
-        // AudioInputStreamに変換してから返す
-        ByteArrayInputStream bais = new ByteArrayInputStream(audioData);
-        AudioInputStream ais = new AudioInputStream(bais, format, audioData.length / format.getFrameSize());
-        ByteArrayOutputStream result = new ByteArrayOutputStream();
-        AudioSystem.write(ais, AudioFileFormat.Type.WAVE, result);
-
-        return result.toByteArray();
+    /**
+     * 長さ（ミリ秒）からサンプル数を求める
+     */
+    private static int sampleCount(int duration) {
+        return (int) (AudioMixer.SAMPLE_RATE * duration / 1000);
     }
 
     /**
@@ -239,6 +396,9 @@ public class SoundManager {
      */
     public void setSoundEnabled(boolean enabled) {
         this.soundEnabled = enabled;
+        if (enabled) {
+            generateSoundsAsync();
+        }
     }
 
     /**
@@ -248,6 +408,10 @@ public class SoundManager {
      */
     public void setMasterVolume(float volume) {
         this.masterVolume = Math.max(0.0f, Math.min(1.0f, volume));
+        AudioMixer activeMixer = getMixer();
+        if (activeMixer != null) {
+            activeMixer.setMasterVolume(masterVolume);
+        }
     }
 
     /**
@@ -258,4 +422,23 @@ public class SoundManager {
     public boolean isSoundEnabled() {
         return soundEnabled;
     }
-}
\ No newline at end of file
+
+    /**
+     * 効果音の準備ができているかを取得
+     * 
+     * @return 合成が完了している場合true
+     */
+    public boolean isReady() {
+        CompletableFuture<short[][]> bank = soundBank;
+        return bank != null && bank.isDone() && !bank.isCompletedExceptionally();
+    }
+
+    /**
+     * 効果音の合成にかかった時間を取得
+     * 
+     * @return 合成時間（ナノ秒、未完了の場合0）
+     */
+    public long getSynthesisNanos() {
+        return synthesisNanos;
+    }
+}
@@ -0,0 +1,54 @@
+package com.tetris.effects;
+
+/**
+ * 効果音ごとの発音ルールを表すクラス
+ * 優先度、同じ音が鳴っているときの扱い、同時発音数、連続要求をまとめる時間を定義する
+ */
+public class VoicePolicy {
+
+    /**
+     * 同じ音が発音中に再度要求されたときの扱い
+     */
+    public enum RetriggerPolicy {
+        RESTART, // 発音中のボイスを先頭から鳴らし直す
+        IGNORE, // 新しい要求を無視する
+        STEAL_OLDEST // 上限までは重ねて鳴らし、上限に達したら最も古いものを置き換える
+    }
+
+    private final int priority; // 優先度（大きいほど優先）
+    private final RetriggerPolicy retrigger; // 再要求時の扱い
+    private final int maxInstances; // この音の最大同時発音数
+    private final long coalesceNanos; // この時間内の同じ要求は1つにまとめる
+
+    /**
+     * 発音ルールのコンストラクタ
+     * 
+     * @param priority       優先度（大きいほど優先）
+     * @param retrigger      再要求時の扱い
+     * @param maxInstances   この音の最大同時発音数
+     * @param coalesceMillis この時間（ミリ秒）内の同じ要求は1つにまとめる
+     */
+    public VoicePolicy(int priority, RetriggerPolicy retrigger, int maxInstances, int coalesceMillis) {
+        this.priority = priority;
+        this.retrigger = retrigger;
+        this.maxInstances = Math.max(1, maxInstances);
+        this.coalesceNanos = coalesceMillis * 1_000_000L;
+    }
+
+    // ゲッター
+    public int getPriority() {
+        return priority;
+    }
+
+    public RetriggerPolicy getRetrigger() {
+        return retrigger;
+    }
+
+    public int getMaxInstances() {
+        return maxInstances;
+    }
+
+    public long getCoalesceNanos() {
+        return coalesceNanos;
+    }
+}
@@ -1,7 +1,6 @@
 package com.tetris.game;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import com.tetris.model.Tetromino;
@@ -14,6 +13,7 @@ import com.tetris.util.GameConstants;
 public class Board {
 
     private int[][] grid; // ボードのグリッド（0:空、1-7:各テトリミノの色）
+    private int modificationCount; // 盤面が変更された回数（描画の差分判定用）
 
     /**
      * ボードのコンストラクタ
@@ -23,6 +23,16 @@ public class Board {
         initializeBoard();
     }
 
+    /**
+     * ボードのコピーコンストラクタ
+     * 
+     * @param other コピー元のボード
+     */
+    public Board(Board other) {
+        grid = other.getGrid();
+        modificationCount = other.modificationCount;
+    }
+
     /**
      * ボードを初期化する
      */
@@ -40,6 +50,7 @@ public class Board {
                 grid[y][x] = 0;
             }
         }
+        modificationCount++;
     }
 
     /**
@@ -66,6 +77,7 @@ public class Board {
     public void setCell(int x, int y, int value) {
         if (isValidPosition(x, y)) {
             grid[y][x] = value;
+            modificationCount++;
         }
     }
 
@@ -96,10 +108,19 @@ public class Board {
      * @return 配置可能な場合true
      */
     public boolean canPlace(Tetromino tetromino) {
-        int[][] shape = tetromino.getShape();
-        int tetrominoX = tetromino.getX();
-        int tetrominoY = tetromino.getY();
+        return canPlace(tetromino.getShape(), tetromino.getX(), tetromino.getY());
+    }
 
+    /**
+     * 形状を指定位置に配置可能かチェック
+     * テトリミノを複製せずに別の位置（ゴーストピースなど）を判定するために使う
+     * 
+     * @param shape      4x4の形状配列
+     * @param tetrominoX 形状の左上のX座標
+     * @param tetrominoY 形状の左上のY座標
+     * @return 配置可能な場合true
+     */
+    public boolean canPlace(int[][] shape, int tetrominoX, int tetrominoY) {
         for (int row = 0; row < 4; row++) {
             for (int col = 0; col < 4; col++) {
                 if (shape[row][col] != 0) {
@@ -138,6 +159,37 @@ public class Board {
         return completeLines;
     }
 
+    /**
+     * 完成したラインを検出して配列に格納する（オブジェクトを確保しない）
+     * 
+     * @param lines ライン番号の格納先（上から順に格納、長さ4以上）
+     * @return 完成したライン数
+     */
+    public int findClearedLines(int[] lines) {
+        int count = 0;
+        for (int y = 0; y < GameConstants.BOARD_HEIGHT && count < lines.length; y++) {
+            if (isLineFull(y)) {
+                lines[count++] = y;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 配列で指定されたラインを消去する（オブジェクトを確保しない）
+     * 
+     * @param lines ライン番号（上から順に並んでいること）
+     * @param count 消去するライン数
+     * @return 消去したライン数
+     */
+    public int clearLines(int[] lines, int count) {
+        // 上のラインから消去すれば、下のラインの番号はずれない
+        for (int i = 0; i < count; i++) {
+            removeLine(lines[i]);
+        }
+        return count;
+    }
+
     /**
      * 指定されたラインを消去する
      * 
@@ -145,8 +197,8 @@ public class Board {
      * @return 消去したライン数
      */
     public int clearLines(List<Integer> lines) {
-        // ラインを降順にソートして上から消去
-        lines.sort(Collections.reverseOrder());
+        // ラインを昇順にソートして上から消去（上のラインから消せば下のラインの番号はずれない）
+        lines.sort(null);
 
         for (int lineIndex : lines) {
             removeLine(lineIndex);
@@ -197,6 +249,7 @@ public class Board {
         for (int x = 0; x < GameConstants.BOARD_WIDTH; x++) {
             grid[0][x] = 0;
         }
+        modificationCount++;
     }
 
     /**
@@ -226,6 +279,16 @@ public class Board {
         return false;
     }
 
+    /**
+     * 盤面が変更された回数を取得
+     * 値が同じであれば盤面の内容も変わっていない
+     * 
+     * @return 変更回数
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
     /**
      * ボードのグリッドを取得（読み取り専用）
      * 
@@ -1,11 +1,15 @@
 package com.tetris.game;
 
 import java.awt.event.ActionEvent;
-import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 
 import javax.swing.Timer;
 
+import com.tetris.diagnostics.GravityTickEvent;
+import com.tetris.diagnostics.LevelUpEvent;
+import com.tetris.diagnostics.PerfMonitor;
+import com.tetris.diagnostics.PieceLockEvent;
 import com.tetris.effects.AnimationManager;
 import com.tetris.effects.SoundManager;
 import com.tetris.model.Tetromino;
@@ -27,36 +31,80 @@ public class Game {
         GAME_OVER // ゲームオーバー
     }
 
+    private static final Tetromino.Type[] TYPES = Tetromino.Type.values(); // values()は呼ぶたびに配列を複製するため保持
+
     private Board board; // ゲームボード
     private Tetromino currentTetromino; // 現在操作中のテトリミノ
     private Tetromino nextTetromino; // 次のテトリミノ
     private GameState gameState; // ゲーム状態
     private Timer gameTimer; // ゲームタイマー
-    private Random random; // 乱数生成器
+    private GameRandom random; // 乱数生成器（状態を保存・復元できる）
     private AnimationManager animationManager; // アニメーション管理
     private SoundManager soundManager; // サウンド管理
+    private final boolean manualTick; // タイマーを使わず外部からtick()で進める場合true
+    private PerfMonitor perfMonitor; // 性能計測（nullの場合は計測しない）
+    private final int[] clearedLines = new int[4]; // 完成したライン番号（固定のたびに再利用）
+    private Consumer<GameInput> inputListener; // 操作の通知先（nullの場合は通知しない）
 
     private int score; // スコア
     private int level; // レベル
     private int lines; // 消去したライン数
     private int currentDelay; // 現在の落下速度（ミリ秒）
+    private long lastTickNanos; // 最後に自然落下した時刻（落下タイマーの位相の基準）
+    private int pausedPhase; // 一時停止した時点の落下タイマーの位相（ミリ秒）
 
     /**
      * ゲームのコンストラクタ
      */
     public Game() {
-        initializeGame();
+        this(new GameRandom(ThreadLocalRandom.current().nextLong()), false, true);
+    }
+
+    /**
+     * ゲームのコンストラクタ
+     * 
+     * @param random     テトリミノ生成に使う乱数生成器
+     * @param manualTick タイマーを使わず外部からtick()で進める場合true
+     * @param sound      効果音を有効にする場合true（無効の場合は効果音の合成もミキサーの開始も行わない）
+     */
+    private Game(GameRandom random, boolean manualTick, boolean sound) {
+        this.manualTick = manualTick;
+        initializeGame(random, sound);
+    }
+
+    /**
+     * 画面を持たない環境で使うゲームを作成する
+     * タイマーは動かさず、効果音も無効にする（落下はtick()で進める）
+     * 
+     * @param seed 乱数のシード
+     * @return 新しいゲーム
+     */
+    public static Game createHeadless(long seed) {
+        return new Game(new GameRandom(seed), true, false);
+    }
+
+    /**
+     * 効果音を無効にしたゲームを作成する（ウォール表示など、多数のゲームを同時に動かす場合）
+     * 落下はタイマーで進める
+     * 
+     * @return 新しいゲーム
+     */
+    public static Game createSilent() {
+        return new Game(new GameRandom(ThreadLocalRandom.current().nextLong()), false, false);
     }
 
     /**
      * ゲームを初期化する
+     * 
+     * @param random テトリミノ生成に使う乱数生成器
+     * @param sound  効果音を有効にする場合true
      */
-    private void initializeGame() {
+    private void initializeGame(GameRandom random, boolean sound) {
         board = new Board();
-        random = new Random();
+        this.random = random;
         gameState = GameState.READY;
         animationManager = new AnimationManager();
-        soundManager = new SoundManager();
+        soundManager = new SoundManager(sound); // 無効の場合は効果音を合成しない
 
         // タイマーの初期化
         gameTimer = new Timer(GameConstants.INITIAL_DELAY, this::gameUpdate);
@@ -79,6 +127,7 @@ public class Game {
      * ゲームを開始する
      */
     public void startGame() {
+        notifyInput(GameInput.START);
         if (gameState != GameState.PLAYING) {
             board.clearBoard();
             resetGameStats();
@@ -89,7 +138,11 @@ public class Game {
 
             gameState = GameState.PLAYING;
             gameTimer.setDelay(currentDelay);
-            gameTimer.start();
+            startTimer(0);
+
+            // BGMを開始
+            soundManager.setMusicLevel(level);
+            soundManager.startMusic();
         }
     }
 
@@ -97,33 +150,112 @@ public class Game {
      * ゲームを一時停止/再開する
      */
     public void togglePause() {
+        notifyInput(GameInput.PAUSE);
         if (gameState == GameState.PLAYING) {
+            pausedPhase = getGravityPhase();
             gameState = GameState.PAUSED;
             gameTimer.stop();
+            if (perfMonitor != null) {
+                perfMonitor.resetTickInterval(); // 一時停止中の間隔は記録しない
+            }
+            soundManager.setMusicPaused(true);
         } else if (gameState == GameState.PAUSED) {
             gameState = GameState.PLAYING;
-            gameTimer.start();
+            startTimer(pausedPhase); // 一時停止した時点の残り時間で次の落下を行う
+            soundManager.setMusicPaused(false);
+        }
+    }
+
+    /**
+     * 落下タイマーを開始する（手動で進めるゲームでは何もしない）
+     * 
+     * @param phase 前回の落下からの経過時間（ミリ秒、最初の落下はcurrentDelay - phase後に行う）
+     */
+    private void startTimer(int phase) {
+        if (!manualTick) {
+            phase = Math.max(0, Math.min(phase, currentDelay));
+            gameTimer.setInitialDelay(currentDelay - phase);
+            gameTimer.restart();
+            lastTickNanos = System.nanoTime() - phase * 1_000_000L;
+        }
+    }
+
+    /**
+     * 落下タイマーの位相（前回の自然落下からの経過時間）を取得する
+     * 一時停止中は一時停止した時点の値、手動で進めるゲームやプレイ中でない場合は0
+     * 
+     * @return 経過時間（ミリ秒、0以上currentDelay以下）
+     */
+    public int getGravityPhase() {
+        if (manualTick) {
+            return 0;
+        }
+        if (gameState == GameState.PAUSED) {
+            return pausedPhase;
         }
+        if (gameState != GameState.PLAYING) {
+            return 0;
+        }
+        long elapsed = (System.nanoTime() - lastTickNanos) / 1_000_000L;
+        return (int) Math.max(0, Math.min(elapsed, currentDelay));
     }
 
     /**
      * ゲームを停止する
      */
     public void stopGame() {
+        notifyInput(GameInput.STOP);
+        endGame();
+    }
+
+    /**
+     * ゲームオーバーにする
+     */
+    private void endGame() {
         gameTimer.stop();
+        if (perfMonitor != null) {
+            perfMonitor.resetTickInterval();
+        }
         gameState = GameState.GAME_OVER;
+        soundManager.stopMusic();
         soundManager.playSound(SoundManager.SoundType.GAME_OVER);
     }
 
+    /**
+     * ゲームを破棄する（タイマーを止め、効果音の出力ラインとミキサースレッドを解放する）
+     * 破棄したゲームは再開できない
+     */
+    public void dispose() {
+        gameTimer.stop();
+        gameState = GameState.GAME_OVER;
+        soundManager.close();
+    }
+
     /**
      * ゲームの更新処理（タイマーから呼ばれる）
      * 
      * @param e アクションイベント
      */
     private void gameUpdate(ActionEvent e) {
-        if (gameState == GameState.PLAYING) {
-            moveTetrominoDown();
+        lastTickNanos = System.nanoTime();
+        if (perfMonitor != null) {
+            perfMonitor.recordTick(System.nanoTime());
         }
+        GravityTickEvent event = new GravityTickEvent();
+        event.begin();
+        tick();
+        event.level = level;
+        event.delayMillis = currentDelay;
+        event.commit();
+    }
+
+    /**
+     * ゲームを1ティック（1段の自然落下）進める
+     * タイマーを使わないゲームではこのメソッドで落下を進める
+     */
+    public void tick() {
+        notifyInput(GameInput.TICK);
+        dropOneRow();
     }
 
     /**
@@ -132,28 +264,41 @@ public class Game {
      * @return 新しいテトリミノ
      */
     private Tetromino createRandomTetromino() {
-        Tetromino.Type[] types = Tetromino.Type.values();
-        Tetromino.Type randomType = types[random.nextInt(types.length)];
-        return new Tetromino(randomType);
+        return new Tetromino(TYPES[random.nextInt(TYPES.length)]);
     }
 
     /**
      * 次のテトリミノを生成して配置
+     * 固定済みのテトリミノのインスタンスを次のテトリミノとして再利用する
      */
     private void spawnNextTetromino() {
+        Tetromino placed = currentTetromino;
         currentTetromino = nextTetromino;
-        nextTetromino = createRandomTetromino();
+        if (placed != null && placed != currentTetromino) {
+            placed.reset(TYPES[random.nextInt(TYPES.length)]);
+            nextTetromino = placed;
+        } else {
+            nextTetromino = createRandomTetromino();
+        }
 
         // 初期位置でテトリミノが配置できない場合はゲームオーバー
         if (!board.canPlace(currentTetromino)) {
-            stopGame();
+            endGame();
         }
     }
 
     /**
-     * テトリミノを下に移動
+     * テトリミノを下に移動（ソフトドロップ）
      */
     public void moveTetrominoDown() {
+        notifyInput(GameInput.SOFT_DROP);
+        dropOneRow();
+    }
+
+    /**
+     * テトリミノを1段落下させ、落下できなければ固定する
+     */
+    private void dropOneRow() {
         if (currentTetromino == null || gameState != GameState.PLAYING) {
             return;
         }
@@ -171,6 +316,7 @@ public class Game {
      * テトリミノを左に移動
      */
     public void moveTetrominoLeft() {
+        notifyInput(GameInput.LEFT);
         if (currentTetromino == null || gameState != GameState.PLAYING) {
             return;
         }
@@ -187,6 +333,7 @@ public class Game {
      * テトリミノを右に移動
      */
     public void moveTetrominoRight() {
+        notifyInput(GameInput.RIGHT);
         if (currentTetromino == null || gameState != GameState.PLAYING) {
             return;
         }
@@ -203,6 +350,7 @@ public class Game {
      * テトリミノを回転
      */
     public void rotateTetromino() {
+        notifyInput(GameInput.ROTATE);
         if (currentTetromino == null || gameState != GameState.PLAYING) {
             return;
         }
@@ -219,6 +367,7 @@ public class Game {
      * テトリミノをハードドロップ（即座に落下）
      */
     public void hardDrop() {
+        notifyInput(GameInput.HARD_DROP);
         if (currentTetromino == null || gameState != GameState.PLAYING) {
             return;
         }
@@ -238,6 +387,14 @@ public class Game {
      * 現在のテトリミノをボードに固定
      */
     private void placeCurrentTetromino() {
+        PieceLockEvent event = new PieceLockEvent();
+        event.begin();
+        if (event.isEnabled()) {
+            event.piece = currentTetromino.getType().name();
+            event.x = currentTetromino.getX();
+            event.y = currentTetromino.getY();
+        }
+
         // ブロック固定音を再生
         soundManager.playSound(SoundManager.SoundType.BLOCK_PLACE);
 
@@ -261,32 +418,36 @@ public class Game {
 
         board.placeTetromino(currentTetromino);
 
-        // ライン消去処理
-        List<Integer> clearedLines = board.getClearedLines();
-        if (!clearedLines.isEmpty()) {
+        // ライン消去処理（リストを作らず、再利用する配列に格納する）
+        int clearedLineCount = board.findClearedLines(clearedLines);
+        if (clearedLineCount > 0) {
             // アニメーションを開始
-            animationManager.startLineAnimation(clearedLines);
+            animationManager.startLineAnimation(clearedLines, clearedLineCount);
 
             // ライン消去音を再生
-            if (clearedLines.size() == 4) {
+            if (clearedLineCount == 4) {
                 soundManager.playSound(SoundManager.SoundType.TETRIS);
             } else {
                 soundManager.playSound(SoundManager.SoundType.LINE_CLEAR);
             }
 
             // 実際にラインを消去
-            int clearedCount = board.clearLines(clearedLines);
+            int clearedCount = board.clearLines(clearedLines, clearedLineCount);
             updateScore(clearedCount);
             updateLevel();
+            event.linesCleared = clearedCount;
         }
 
         // ゲームオーバーチェック
         if (board.isGameOver()) {
-            stopGame();
+            endGame();
         } else {
             // 次のテトリミノを生成
             spawnNextTetromino();
         }
+
+        event.score = score;
+        event.commit();
     }
 
     /**
@@ -308,9 +469,98 @@ public class Game {
         if (newLevel != level) {
             level = newLevel;
             updateGameSpeed();
+            soundManager.setMusicLevel(level);
             // レベルアップアニメーションと音を再生
             animationManager.startLevelUpAnimation(level);
             soundManager.playSound(SoundManager.SoundType.LEVEL_UP);
+
+            LevelUpEvent event = new LevelUpEvent();
+            event.level = level;
+            event.lines = lines;
+            event.delayMillis = currentDelay;
+            event.commit();
+        }
+    }
+
+    /**
+     * 性能計測クラスを設定する（落下タイマーの間隔を記録する）
+     * 
+     * @param perfMonitor 性能計測クラス
+     */
+    public void setPerfMonitor(PerfMonitor perfMonitor) {
+        this.perfMonitor = perfMonitor;
+    }
+
+    /**
+     * 操作の通知先を設定する（リプレイの記録など）
+     * 通知は操作を適用する前に、操作を呼び出したスレッドで行う（内部で発生するゲームオーバーは通知しない）
+     * 
+     * @param inputListener 通知先（nullの場合は通知しない）
+     */
+    public void setInputListener(Consumer<GameInput> inputListener) {
+        this.inputListener = inputListener;
+    }
+
+    private void notifyInput(GameInput input) {
+        if (inputListener != null) {
+            inputListener.accept(input);
+        }
+    }
+
+    /**
+     * 現在の状態のスナップショットを取得する
+     * 
+     * @return スナップショット
+     */
+    public GameSnapshot snapshot() {
+        return new GameSnapshot(gameState, score, level, lines, random.getState(),
+                currentTetromino, nextTetromino, board);
+    }
+
+    /**
+     * スナップショットの状態に戻す（以降の操作で取得時と同じ結果になる）
+     * プレイ中の状態に戻した場合は落下タイマーとBGMも再開する（最初の落下は1間隔後）
+     * 
+     * @param snapshot スナップショット
+     */
+    public void restore(GameSnapshot snapshot) {
+        restore(snapshot, 0);
+    }
+
+    /**
+     * スナップショットの状態と落下タイマーの位相に戻す
+     * 
+     * @param snapshot     スナップショット
+     * @param gravityPhase 落下タイマーの位相（getGravityPhaseの値）
+     */
+    public void restore(GameSnapshot snapshot, int gravityPhase) {
+        snapshot.restoreBoard(board);
+        Tetromino current = GameSnapshot.restorePiece(currentTetromino, snapshot.getCurrent());
+        // 操作中と次のテトリミノは別のインスタンスにする（固定時の再利用のため）
+        Tetromino nextTarget = nextTetromino != current ? nextTetromino : null;
+        nextTetromino = GameSnapshot.restorePiece(nextTarget, snapshot.getNext());
+        currentTetromino = current;
+        score = snapshot.getScore();
+        level = snapshot.getLevel();
+        lines = snapshot.getLines();
+        random.setState(snapshot.getRandomState());
+        gameState = snapshot.getState();
+        updateGameSpeed();
+        pausedPhase = gameState == GameState.PAUSED ? gravityPhase : 0;
+
+        gameTimer.stop();
+        if (perfMonitor != null) {
+            perfMonitor.resetTickInterval();
+        }
+        soundManager.setMusicLevel(level);
+        if (gameState == GameState.PLAYING || gameState == GameState.PAUSED) {
+            soundManager.startMusic();
+            soundManager.setMusicPaused(gameState == GameState.PAUSED);
+            if (gameState == GameState.PLAYING) {
+                startTimer(gravityPhase);
+            }
+        } else {
+            soundManager.stopMusic();
         }
     }
 
@@ -1,10 +1,15 @@
 package com.tetris.game;
 
+import com.tetris.ai.AutoPlayer;
+import com.tetris.ai.EvaluationWeights;
+import com.tetris.ai.LookaheadPlanner;
+import com.tetris.diagnostics.PerfMonitor;
 import com.tetris.ui.GamePanel;
 import com.tetris.util.GameConstants;
 import javax.swing.Timer;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * ゲームの操作を制御するクラス
@@ -12,10 +17,17 @@ import java.awt.event.KeyEvent;
  */
 public class GameController extends KeyAdapter {
 
+    private static final int AUTO_PLAY_DELAY = 100; // 自動操作の間隔（ミリ秒）
+    private static final int LOOKAHEAD_BEAM = 8; // 自動操作の先読みで展開する候補数
+    private static final long LOOKAHEAD_BUDGET_NANOS = 10_000_000L; // 自動操作の先読みの時間予算（EDTを止める上限）
+
     private Game game; // ゲームインスタンス
     private GamePanel gamePanel; // ゲームパネル
     private Timer softDropTimer; // ソフトドロップ用タイマー
     private boolean isSoftDropping; // ソフトドロップ中フラグ
+    private PerfMonitor perfMonitor; // 性能計測（nullの場合は計測しない）
+    private Timer autoPlayTimer; // 自動操作用タイマー
+    private AutoPlayer autoPlayer; // 自動操作（デモ用、Aキーで切り替え）
 
     /**
      * ゲームコントローラーのコンストラクタ
@@ -29,6 +41,7 @@ public class GameController extends KeyAdapter {
         this.isSoftDropping = false;
 
         initializeSoftDropTimer();
+        initializeAutoPlayTimer();
 
         // キーリスナーを登録
         gamePanel.addKeyListener(this);
@@ -46,6 +59,21 @@ public class GameController extends KeyAdapter {
         });
     }
 
+    /**
+     * 自動操作タイマーを初期化
+     */
+    private void initializeAutoPlayTimer() {
+        autoPlayer = new AutoPlayer();
+        autoPlayer.setLookahead(new LookaheadPlanner(EvaluationWeights.DEFAULT, LOOKAHEAD_BEAM,
+                LOOKAHEAD_BUDGET_NANOS, ForkJoinPool.commonPool()));
+        autoPlayTimer = new Timer(AUTO_PLAY_DELAY, e -> {
+            if (game.getGameState() == Game.GameState.PLAYING) {
+                autoPlayer.step(game);
+                gamePanel.repaint();
+            }
+        });
+    }
+
     /**
      * キー押下時の処理
      * 
@@ -53,6 +81,15 @@ public class GameController extends KeyAdapter {
      */
     @Override
     public void keyPressed(KeyEvent e) {
+        // 性能計測結果の表示はゲーム状態に関係なく切り替える
+        if (e.getKeyCode() == KeyEvent.VK_F3) {
+            gamePanel.togglePerfOverlay();
+            return;
+        }
+        if (perfMonitor != null) {
+            perfMonitor.recordInput(e.getWhen());
+        }
+
         // ゲームがプレイ中でない場合は一部のキーのみ受け付ける
         if (game.getGameState() != Game.GameState.PLAYING) {
             handleNonPlayingKeys(e);
@@ -84,6 +121,10 @@ public class GameController extends KeyAdapter {
                 game.togglePause();
                 break;
 
+            case KeyEvent.VK_A:
+                toggleAutoPlay();
+                break;
+
             case KeyEvent.VK_ESCAPE:
                 game.stopGame();
                 break;
@@ -155,6 +196,17 @@ public class GameController extends KeyAdapter {
         softDropTimer.stop();
     }
 
+    /**
+     * 自動操作の開始・停止を切り替える
+     */
+    private void toggleAutoPlay() {
+        if (autoPlayTimer.isRunning()) {
+            autoPlayTimer.stop();
+        } else {
+            autoPlayTimer.start();
+        }
+    }
+
     /**
      * ゲームインスタンスを設定
      * 
@@ -164,11 +216,21 @@ public class GameController extends KeyAdapter {
         this.game = game;
     }
 
+    /**
+     * 性能計測クラスを設定する（キー入力から描画までの遅延を記録する）
+     * 
+     * @param perfMonitor 性能計測クラス
+     */
+    public void setPerfMonitor(PerfMonitor perfMonitor) {
+        this.perfMonitor = perfMonitor;
+    }
+
     /**
      * コントローラーをクリーンアップ
      */
     public void cleanup() {
         stopSoftDrop();
+        autoPlayTimer.stop();
         gamePanel.removeKeyListener(this);
     }
 }
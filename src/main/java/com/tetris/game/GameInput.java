@@ -0,0 +1,76 @@
+package com.tetris.game;
+
+/**
+ * ゲームの状態を変える操作（自然落下を含む）
+ * Gameの入力リスナーに通知され、applyで同じ操作をゲームに適用できる
+ * 番号（ordinal）はリプレイファイルに記録するため、値の追加は末尾に行う
+ */
+public enum GameInput {
+    TICK, // 自然落下（tick）
+    LEFT, // 左移動
+    RIGHT, // 右移動
+    ROTATE, // 回転
+    SOFT_DROP, // ソフトドロップ（1段落下）
+    HARD_DROP, // ハードドロップ
+    PAUSE, // 一時停止/再開
+    START, // ゲーム開始
+    STOP; // ゲーム停止
+
+    private static final GameInput[] VALUES = values();
+
+    /**
+     * 操作をゲームに適用する
+     *
+     * @param game 適用するゲーム
+     */
+    public void apply(Game game) {
+        switch (this) {
+            case TICK:
+                game.tick();
+                break;
+            case LEFT:
+                game.moveTetrominoLeft();
+                break;
+            case RIGHT:
+                game.moveTetrominoRight();
+                break;
+            case ROTATE:
+                game.rotateTetromino();
+                break;
+            case SOFT_DROP:
+                game.moveTetrominoDown();
+                break;
+            case HARD_DROP:
+                game.hardDrop();
+                break;
+            case PAUSE:
+                game.togglePause();
+                break;
+            case START:
+                game.startGame();
+                break;
+            case STOP:
+                game.stopGame();
+                break;
+        }
+    }
+
+    /**
+     * 番号から操作を取得する
+     *
+     * @param ordinal 番号
+     * @return 操作
+     */
+    public static GameInput fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * 操作の種類の数
+     *
+     * @return 種類の数
+     */
+    public static int count() {
+        return VALUES.length;
+    }
+}
@@ -0,0 +1,77 @@
+package com.tetris.game;
+
+/**
+ * テトリミノの生成に使う乱数生成器
+ * java.util.Randomと同じ48ビットの線形合同法で、同じシードからは同じ並びを生成する
+ * 内部状態を取得・設定できるため、リプレイや保存したゲームで以降のテトリミノを再現できる
+ */
+public final class GameRandom {
+
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private long state; // 内部状態（下位48ビット）
+
+    /**
+     * 乱数生成器のコンストラクタ（new Random(seed)と同じ並びになる）
+     *
+     * @param seed シード
+     */
+    public GameRandom(long seed) {
+        setSeed(seed);
+    }
+
+    /**
+     * シードを設定する（Random.setSeedと同じ変換を行う）
+     *
+     * @param seed シード
+     */
+    public void setSeed(long seed) {
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    /**
+     * 0以上bound未満の乱数を生成する（Random.nextIntと同じ結果）
+     *
+     * @param bound 上限（正の値）
+     * @return 乱数
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive: " + bound);
+        }
+        int r = next(31);
+        int m = bound - 1;
+        if ((bound & m) == 0) { // 2の累乗
+            return (int) ((bound * (long) r) >> 31);
+        }
+        // 偏りが出る範囲の値は引き直す
+        for (int u = r; u - (r = u % bound) + m < 0; u = next(31)) {
+        }
+        return r;
+    }
+
+    private int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    /**
+     * 内部状態を取得する（setStateに渡すと同じ並びを再開できる）
+     *
+     * @return 内部状態
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * getStateで取得した内部状態を設定する
+     *
+     * @param state 内部状態
+     */
+    public void setState(long state) {
+        this.state = state & MASK;
+    }
+}
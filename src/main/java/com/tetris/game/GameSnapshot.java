@@ -0,0 +1,236 @@
+package com.tetris.game;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.tetris.model.Tetromino;
+import com.tetris.util.GameConstants;
+
+/**
+ * ゲームの状態（盤面・操作中と次のテトリミノ・スコア・乱数の状態など）のスナップショット
+ * Game.restoreに渡すと、取得した時点と同じ状態から同じ入力で同じ結果を再現できる
+ *
+ * バイナリ形式（固定長BYTESバイト、ビッグエンディアン）
+ * ・状態（1）、スコア・レベル・ライン数（int×3）、乱数の内部状態（long）
+ * ・操作中と次のテトリミノ（種類・回転・X・Yの各1バイト、ない場合は種類が-1）
+ * ・盤面（1マス4ビット、上の行から2マスずつ1バイトに詰める）
+ */
+public final class GameSnapshot {
+
+    /**
+     * バイナリ形式のバイト数
+     */
+    public static final int BYTES = 1 + 4 * 3 + 8 + 4 * 2
+            + GameConstants.BOARD_WIDTH * GameConstants.BOARD_HEIGHT / 2;
+
+    private static final Game.GameState[] STATES = Game.GameState.values();
+    private static final Tetromino.Type[] TYPES = Tetromino.Type.values();
+
+    private final Game.GameState state;
+    private final int score;
+    private final int level;
+    private final int lines;
+    private final long randomState;
+    private final byte[] current; // 種類・回転・X・Y（ない場合null）
+    private final byte[] next;
+    private final byte[] cells; // 盤面の色（上の行から）
+
+    GameSnapshot(Game.GameState state, int score, int level, int lines, long randomState,
+            Tetromino current, Tetromino next, Board board) {
+        this.state = state;
+        this.score = score;
+        this.level = level;
+        this.lines = lines;
+        this.randomState = randomState;
+        this.current = encodePiece(current);
+        this.next = encodePiece(next);
+        this.cells = new byte[GameConstants.BOARD_WIDTH * GameConstants.BOARD_HEIGHT];
+        for (int y = 0; y < GameConstants.BOARD_HEIGHT; y++) {
+            for (int x = 0; x < GameConstants.BOARD_WIDTH; x++) {
+                cells[y * GameConstants.BOARD_WIDTH + x] = (byte) board.getCell(x, y);
+            }
+        }
+    }
+
+    private GameSnapshot(Game.GameState state, int score, int level, int lines, long randomState,
+            byte[] current, byte[] next, byte[] cells) {
+        this.state = state;
+        this.score = score;
+        this.level = level;
+        this.lines = lines;
+        this.randomState = randomState;
+        this.current = current;
+        this.next = next;
+        this.cells = cells;
+    }
+
+    private static byte[] encodePiece(Tetromino piece) {
+        if (piece == null) {
+            return null;
+        }
+        return new byte[] { (byte) piece.getType().ordinal(), (byte) piece.getRotation(),
+                (byte) piece.getX(), (byte) piece.getY() };
+    }
+
+    /**
+     * バイナリ形式で書き込む
+     *
+     * @param out 書き込み先（BYTESバイト以上の残りが必要）
+     */
+    public void writeTo(ByteBuffer out) {
+        out.put((byte) state.ordinal());
+        out.putInt(score);
+        out.putInt(level);
+        out.putInt(lines);
+        out.putLong(randomState);
+        writePiece(out, current);
+        writePiece(out, next);
+        for (int i = 0; i < cells.length; i += 2) {
+            out.put((byte) (cells[i] << 4 | cells[i + 1]));
+        }
+    }
+
+    private static void writePiece(ByteBuffer out, byte[] piece) {
+        if (piece == null) {
+            out.putInt(-1); // 種類が-1（残りの3バイトも0xFF）
+        } else {
+            out.put(piece);
+        }
+    }
+
+    /**
+     * バイナリ形式から読み込む
+     *
+     * @param in 読み込み元
+     * @return スナップショット
+     * @throws IllegalArgumentException 形式が不正な場合
+     */
+    public static GameSnapshot readFrom(ByteBuffer in) {
+        try {
+            int stateIndex = in.get();
+            if (stateIndex < 0 || stateIndex >= STATES.length) {
+                throw new IllegalArgumentException("Invalid game state: " + stateIndex);
+            }
+            int score = in.getInt();
+            int level = in.getInt();
+            int lines = in.getInt();
+            long randomState = in.getLong();
+            byte[] current = readPiece(in);
+            byte[] next = readPiece(in);
+            byte[] cells = new byte[GameConstants.BOARD_WIDTH * GameConstants.BOARD_HEIGHT];
+            for (int i = 0; i < cells.length; i += 2) {
+                int packed = in.get() & 0xFF;
+                cells[i] = (byte) (packed >>> 4);
+                cells[i + 1] = (byte) (packed & 0x0F);
+            }
+            return new GameSnapshot(STATES[stateIndex], score, level, lines, randomState, current, next, cells);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated game snapshot", e);
+        }
+    }
+
+    private static byte[] readPiece(ByteBuffer in) {
+        byte[] piece = new byte[4];
+        in.get(piece);
+        if (piece[0] == -1) {
+            return null;
+        }
+        if (piece[0] < 0 || piece[0] >= TYPES.length || piece[1] < 0 || piece[1] > 3) {
+            throw new IllegalArgumentException("Invalid tetromino: " + Arrays.toString(piece));
+        }
+        return piece;
+    }
+
+    /**
+     * テトリミノを復元する（インスタンスがあれば再利用する）
+     *
+     * @param piece  格納先（nullの場合は作成する）
+     * @param source 種類・回転・X・Y
+     * @return 復元したテトリミノ（ない場合null）
+     */
+    static Tetromino restorePiece(Tetromino piece, byte[] source) {
+        if (source == null) {
+            return null;
+        }
+        Tetromino.Type type = TYPES[source[0]];
+        if (piece == null) {
+            piece = new Tetromino(type);
+        } else {
+            piece.reset(type);
+        }
+        piece.setRotation(source[1]);
+        piece.setX(source[2]);
+        piece.setY(source[3]);
+        return piece;
+    }
+
+    /**
+     * 盤面を復元する
+     *
+     * @param board 格納先
+     */
+    void restoreBoard(Board board) {
+        board.clearBoard();
+        for (int y = 0; y < GameConstants.BOARD_HEIGHT; y++) {
+            for (int x = 0; x < GameConstants.BOARD_WIDTH; x++) {
+                int value = cells[y * GameConstants.BOARD_WIDTH + x];
+                if (value != 0) {
+                    board.setCell(x, y, value);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof GameSnapshot)) {
+            return false;
+        }
+        GameSnapshot other = (GameSnapshot) obj;
+        return state == other.state && score == other.score && level == other.level && lines == other.lines
+                && randomState == other.randomState && Arrays.equals(current, other.current)
+                && Arrays.equals(next, other.next) && Arrays.equals(cells, other.cells);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(cells);
+        result = 31 * result + Arrays.hashCode(current);
+        result = 31 * result + Arrays.hashCode(next);
+        result = 31 * result + Long.hashCode(randomState);
+        return 31 * result + score;
+    }
+
+    // ゲッター
+    byte[] getCurrent() {
+        return current;
+    }
+
+    byte[] getNext() {
+        return next;
+    }
+
+    public Game.GameState getState() {
+        return state;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getLines() {
+        return lines;
+    }
+
+    public long getRandomState() {
+        return randomState;
+    }
+}
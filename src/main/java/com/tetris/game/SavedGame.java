@@ -0,0 +1,143 @@
+package com.tetris.game;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * 途中のゲームをバイナリ形式で保存・再開するクラス
+ * 保存は一時ファイルに書き込んでから置き換えるため、途中で終了しても元のファイルが壊れない
+ *
+ * 形式（固定長BYTESバイト、ビッグエンディアン）
+ * ・MAGIC（int）、VERSION（short）
+ * ・落下タイマーの位相（int、ミリ秒）
+ * ・GameSnapshotのバイナリ形式（盤面・テトリミノ・スコア・乱数の状態など）
+ * ・ここまでのCRC32（int）
+ */
+public final class SavedGame {
+
+    /**
+     * 保存先を指定するシステムプロパティ（空文字の場合は保存しない）
+     */
+    public static final String PATH_PROPERTY = "tetris.save";
+
+    /**
+     * ファイル先頭の識別子（"TSAV"）
+     */
+    public static final int MAGIC = 0x54534156;
+
+    /**
+     * 形式のバージョン
+     */
+    public static final short VERSION = 1;
+
+    /**
+     * ファイルのバイト数
+     */
+    public static final int BYTES = 4 + 2 + 4 + GameSnapshot.BYTES + 4;
+
+    private SavedGame() {
+        throw new AssertionError("Cannot instantiate utility class");
+    }
+
+    /**
+     * 保存先を取得する（システムプロパティの指定がない場合はホームディレクトリの.tetris-save）
+     *
+     * @return 保存先（保存しない場合null）
+     */
+    public static Path defaultPath() {
+        String file = System.getProperty(PATH_PROPERTY);
+        if (file == null) {
+            return Paths.get(System.getProperty("user.home"), ".tetris-save");
+        }
+        return file.isEmpty() ? null : Paths.get(file);
+    }
+
+    /**
+     * ゲームの現在の状態を保存する（数百バイトの書き込みのみで、1フレーム内に終わる）
+     *
+     * @param game 保存するゲーム
+     * @param file 保存先
+     * @throws IOException 書き込めない場合
+     */
+    public static void save(Game game, Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BYTES);
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putInt(game.getGravityPhase());
+        game.snapshot().writeTo(buffer);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false); // 置き換えた後に中身が空にならないよう、先にディスクへ書き出す
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 保存した状態をゲームに復元する
+     *
+     * @param game 復元先のゲーム
+     * @param file 保存先
+     * @return 復元した場合true（ファイルがない場合false）
+     * @throws IOException 読み込めない場合や形式が不正な場合（ゲームは変更しない）
+     */
+    public static boolean load(Game game, Path file) throws IOException {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        if (bytes.length != BYTES) {
+            throw new IOException("Invalid save file size: " + bytes.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a save file");
+        }
+        short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported save version: " + version);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, BYTES - 4);
+        if (buffer.getInt(BYTES - 4) != (int) crc.getValue()) {
+            throw new IOException("Save file checksum mismatch");
+        }
+        int gravityPhase = buffer.getInt();
+        GameSnapshot snapshot;
+        try {
+            snapshot = GameSnapshot.readFrom(buffer);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupted save file: " + e.getMessage(), e);
+        }
+        game.restore(snapshot, gravityPhase);
+        return true;
+    }
+
+    /**
+     * 保存したゲームを削除する（ゲームオーバーなど、再開する必要がなくなった場合）
+     *
+     * @param file 保存先
+     * @throws IOException 削除できない場合
+     */
+    public static void delete(Path file) throws IOException {
+        Files.deleteIfExists(file);
+    }
+}
@@ -106,6 +106,18 @@ public class Tetromino {
         this.y = other.y;
     }
 
+    /**
+     * 種類を変えて初期位置・初期回転に戻す（インスタンスを再利用するため）
+     * 
+     * @param type テトリミノの種類
+     */
+    public void reset(Type type) {
+        this.type = type;
+        this.rotation = 0;
+        this.x = 3;
+        this.y = 0;
+    }
+
     /**
      * 現在の回転状態での形状を取得
      * 
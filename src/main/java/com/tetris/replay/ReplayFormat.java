@@ -0,0 +1,84 @@
+package com.tetris.replay;
+
+import java.nio.ByteBuffer;
+
+import com.tetris.game.GameInput;
+
+/**
+ * リプレイファイルの形式の定数と可変長整数の書き込み
+ *
+ * ファイルの構成
+ * ・ヘッダー：MAGIC（int）、VERSION、キーフレームの間隔（ミリ秒）、記録開始時のスナップショット
+ * ・レコード：(前のレコードからの経過ミリ秒 &lt;&lt; 4 | 種類) の可変長整数
+ *   種類はGameInputの番号、KEYFRAME（直後にスナップショット）、END（記録の終了）
+ * ・索引：記録時間、キーフレーム数、各キーフレームの(時刻, レコードの位置)
+ * ・末尾：索引の位置（long）、INDEX_MAGIC（int）
+ * 可変長整数は下位7ビットずつ、続きがある場合は最上位ビットを立てる（LEB128）
+ * スナップショットはGameSnapshotのバイナリ形式（固定長）
+ */
+public final class ReplayFormat {
+
+    /**
+     * ファイル先頭の識別子（"TRPL"）
+     */
+    public static final int MAGIC = 0x5452504C;
+
+    /**
+     * 索引の後に置く識別子（"TRPI"）
+     */
+    public static final int INDEX_MAGIC = 0x54525049;
+
+    /**
+     * 形式のバージョン
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * キーフレームのレコードの種類
+     */
+    public static final int KEYFRAME = 14;
+
+    /**
+     * 記録の終了のレコードの種類
+     */
+    public static final int END = 15;
+
+    /**
+     * レコードの種類のビット数
+     */
+    public static final int CODE_BITS = 4;
+
+    /**
+     * 末尾（索引の位置と識別子）のバイト数
+     */
+    public static final int TRAILER_BYTES = 8 + 4;
+
+    /**
+     * 可変長整数の最大バイト数
+     */
+    public static final int MAX_VARINT_BYTES = 10;
+
+    static {
+        if (GameInput.count() > KEYFRAME) {
+            throw new AssertionError("Too many game inputs for the replay format");
+        }
+    }
+
+    private ReplayFormat() {
+        throw new AssertionError("Cannot instantiate utility class");
+    }
+
+    /**
+     * 0以上の値を可変長整数で書き込む
+     *
+     * @param out   書き込み先
+     * @param value 値
+     */
+    public static void putVarint(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+}
@@ -0,0 +1,373 @@
+package com.tetris.replay;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import com.tetris.game.Game;
+import com.tetris.game.GameInput;
+import com.tetris.game.GameSnapshot;
+import com.tetris.model.Tetromino;
+import com.tetris.util.GameConstants;
+
+/**
+ * リプレイファイルを再生するクラス（形式はReplayFormatを参照）
+ * ファイルはメモリマップして読み、画面を持たないゲームに操作を適用して状態を再現する
+ * 任意の時刻へのシークは、索引から直前のキーフレームを探してその状態に戻し、
+ * 目的の時刻までの操作を描画せずに最高速度で適用する
+ *
+ * 索引がないファイル（記録中に異常終了した場合など）は、開くときにレコードを走査して索引を作る
+ *
+ * 使い方：ReplayPlayer ファイル [--at 秒] [--verify]
+ */
+public final class ReplayPlayer {
+
+    private final MappedByteBuffer data;
+    private int limit; // レコードを読める範囲の終わり
+    private final GameSnapshot initial;
+    private final int recordsStart;
+    private final long keyframeInterval;
+    private long[] keyframeTimes;
+    private int[] keyframeOffsets; // キーフレームのレコードの位置
+    private int keyframeCount;
+    private long duration;
+    private final Game game = Game.createHeadless(0);
+
+    private int position; // 次に読むレコードの位置
+    private long time; // 最後に読んだレコードの時刻
+    private boolean ended;
+
+    private ReplayPlayer(MappedByteBuffer data) throws IOException {
+        this.data = data;
+        if (data.capacity() < 4 || data.getInt(0) != ReplayFormat.MAGIC) {
+            throw new IOException("Not a replay file");
+        }
+        position = 4;
+        int version = (int) readVarint();
+        if (version != ReplayFormat.VERSION) {
+            throw new IOException("Unsupported replay version: " + version);
+        }
+        keyframeInterval = readVarint();
+        initial = readSnapshot();
+        recordsStart = position;
+
+        int trailer = data.capacity() - ReplayFormat.TRAILER_BYTES;
+        if (trailer >= recordsStart && data.getInt(trailer + 8) == ReplayFormat.INDEX_MAGIC) {
+            long indexOffset = data.getLong(trailer);
+            if (indexOffset < recordsStart || indexOffset > trailer) {
+                throw new IOException("Invalid replay index offset: " + indexOffset);
+            }
+            limit = (int) indexOffset;
+            readIndex();
+        } else {
+            limit = data.capacity();
+            scanIndex();
+        }
+        rewind();
+    }
+
+    /**
+     * リプレイファイルを開く
+     *
+     * @param file ファイル
+     * @return 記録開始時の状態に戻したプレイヤー
+     * @throws IOException 読み込めない場合や形式が不正な場合
+     */
+    public static ReplayPlayer open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Replay file is too large: " + channel.size());
+            }
+            // マップはチャネルを閉じた後も有効
+            return new ReplayPlayer(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupted replay file: " + e.getMessage(), e);
+        }
+    }
+
+    private void readIndex() throws IOException {
+        position = limit;
+        duration = readVarint();
+        int count = (int) readVarint();
+        keyframeTimes = new long[count];
+        keyframeOffsets = new int[count];
+        for (int i = 0; i < count; i++) {
+            keyframeTimes[i] = readVarint();
+            long offset = readVarint();
+            if (offset < recordsStart || offset >= limit) {
+                throw new IOException("Invalid keyframe offset: " + offset);
+            }
+            keyframeOffsets[i] = (int) offset;
+        }
+        keyframeCount = count;
+    }
+
+    /**
+     * レコードを先頭から走査して索引を作る（途中で切れたレコードの手前までを有効とする）
+     */
+    private void scanIndex() {
+        keyframeTimes = new long[16];
+        keyframeOffsets = new int[16];
+        position = recordsStart;
+        time = 0;
+        while (position < limit) {
+            int start = position;
+            long record;
+            try {
+                record = readVarint();
+            } catch (IOException e) {
+                position = start;
+                break;
+            }
+            int code = (int) (record & ((1 << ReplayFormat.CODE_BITS) - 1));
+            long recordTime = time + (record >>> ReplayFormat.CODE_BITS);
+            if (code == ReplayFormat.END) {
+                time = recordTime;
+                break;
+            }
+            if (code == ReplayFormat.KEYFRAME) {
+                if (limit - position < GameSnapshot.BYTES) {
+                    position = start;
+                    break;
+                }
+                if (keyframeCount == keyframeTimes.length) {
+                    keyframeTimes = Arrays.copyOf(keyframeTimes, keyframeCount * 2);
+                    keyframeOffsets = Arrays.copyOf(keyframeOffsets, keyframeCount * 2);
+                }
+                keyframeTimes[keyframeCount] = recordTime;
+                keyframeOffsets[keyframeCount] = start;
+                keyframeCount++;
+                position += GameSnapshot.BYTES;
+            } else if (code >= GameInput.count()) {
+                position = start;
+                break;
+            }
+            time = recordTime;
+        }
+        limit = position;
+        duration = time;
+    }
+
+    private long readVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position >= data.capacity()) {
+                throw new IOException("Truncated replay record");
+            }
+            byte b = data.get(position++);
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed replay varint");
+    }
+
+    private GameSnapshot readSnapshot() {
+        GameSnapshot snapshot = GameSnapshot.readFrom(data.duplicate().position(position));
+        position += GameSnapshot.BYTES;
+        return snapshot;
+    }
+
+    /**
+     * 記録開始時の状態に戻す
+     */
+    public void rewind() {
+        game.restore(initial);
+        position = recordsStart;
+        time = 0;
+        ended = false;
+    }
+
+    /**
+     * 指定した時刻の状態にする（直前のキーフレームから再現する）
+     *
+     * @param timeMillis 記録開始からの時刻（ミリ秒）
+     * @return 指定した時刻までの操作を適用したゲーム
+     * @throws IOException レコードが不正な場合
+     */
+    public Game seek(long timeMillis) throws IOException {
+        int keyframe = findKeyframe(timeMillis);
+        if (keyframe < 0) {
+            rewind();
+        } else {
+            position = keyframeOffsets[keyframe];
+            readVarint();
+            time = keyframeTimes[keyframe];
+            game.restore(readSnapshot());
+            ended = false;
+        }
+        return advanceTo(timeMillis);
+    }
+
+    /**
+     * 指定した時刻まで再生を進める（現在の時刻より前の場合はシークする）
+     *
+     * @param timeMillis 記録開始からの時刻（ミリ秒）
+     * @return 指定した時刻までの操作を適用したゲーム
+     * @throws IOException レコードが不正な場合
+     */
+    public Game advanceTo(long timeMillis) throws IOException {
+        if (timeMillis < time) {
+            return seek(timeMillis);
+        }
+        while (!ended && position < limit) {
+            int start = position;
+            long recordTime = time + (readVarint() >>> ReplayFormat.CODE_BITS);
+            position = start;
+            if (recordTime > timeMillis) {
+                break;
+            }
+            advanceOneRecord();
+        }
+        return game;
+    }
+
+    /**
+     * 指定した時刻以前で最後のキーフレームを探す
+     *
+     * @return キーフレームの番号（ない場合-1）
+     */
+    private int findKeyframe(long timeMillis) {
+        int low = 0;
+        int high = keyframeCount - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (keyframeTimes[mid] <= timeMillis) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * 先頭から全ての操作を適用し、各キーフレームの状態と一致するかを検査する
+     *
+     * @return 一致しなかったキーフレームの数
+     * @throws IOException レコードが不正な場合
+     */
+    public int verify() throws IOException {
+        rewind();
+        int mismatches = 0;
+        for (int i = 0; i < keyframeCount; i++) {
+            // キーフレームの直前のレコードまで進める（同じ時刻の後続の操作は適用しない）
+            while (position < keyframeOffsets[i]) {
+                advanceOneRecord();
+            }
+            position = keyframeOffsets[i];
+            readVarint();
+            time = keyframeTimes[i];
+            if (!readSnapshot().equals(game.snapshot())) {
+                mismatches++;
+            }
+        }
+        return mismatches;
+    }
+
+    /**
+     * 次のレコードを読み、操作であればゲームに適用する
+     */
+    private void advanceOneRecord() throws IOException {
+        long record = readVarint();
+        time += record >>> ReplayFormat.CODE_BITS;
+        int code = (int) (record & ((1 << ReplayFormat.CODE_BITS) - 1));
+        if (code == ReplayFormat.KEYFRAME) {
+            position += GameSnapshot.BYTES;
+        } else if (code == ReplayFormat.END) {
+            ended = true;
+        } else if (code < GameInput.count()) {
+            GameInput.fromOrdinal(code).apply(game);
+        } else {
+            throw new IOException("Unknown replay record: " + code);
+        }
+    }
+
+    // ゲッター
+    public Game getGame() {
+        return game;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public int getKeyframeCount() {
+        return keyframeCount;
+    }
+
+    public long getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    public int getSize() {
+        return data.capacity();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("使い方: ReplayPlayer ファイル [--at 秒] [--verify]");
+            System.exit(2);
+        }
+        ReplayPlayer player = open(Paths.get(args[0]));
+        System.out.printf("%s: %d bytes, %.1f s, %d keyframes (every %d ms)%n", args[0], player.getSize(),
+                player.getDuration() / 1000.0, player.getKeyframeCount(), player.getKeyframeInterval());
+
+        long at = player.getDuration();
+        boolean verify = false;
+        for (int i = 1; i < args.length; i++) {
+            if ("--at".equals(args[i]) && i + 1 < args.length) {
+                at = (long) (Double.parseDouble(args[++i]) * 1000);
+            } else if ("--verify".equals(args[i])) {
+                verify = true;
+            }
+        }
+
+        if (verify) {
+            int mismatches = player.verify();
+            System.out.printf("verify: %d/%d keyframes mismatched%n", mismatches, player.getKeyframeCount());
+            if (mismatches > 0) {
+                System.exit(1);
+            }
+        }
+
+        long start = System.nanoTime();
+        Game game = player.seek(at);
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("seek to %.3f s: %.1f us%n", at / 1000.0, elapsed / 1000.0);
+        System.out.printf("state=%s score=%d level=%d lines=%d%n", game.getGameState(), game.getScore(),
+                game.getLevel(), game.getLines());
+        printBoard(game);
+    }
+
+    private static void printBoard(Game game) {
+        Tetromino piece = game.getCurrentTetromino();
+        int[][] shape = piece != null ? piece.getShape() : null;
+        StringBuilder sb = new StringBuilder();
+        for (int y = 0; y < GameConstants.BOARD_HEIGHT; y++) {
+            sb.append('|');
+            for (int x = 0; x < GameConstants.BOARD_WIDTH; x++) {
+                boolean active = false;
+                if (shape != null) {
+                    int row = y - piece.getY();
+                    int col = x - piece.getX();
+                    active = row >= 0 && row < 4 && col >= 0 && col < 4 && shape[row][col] != 0;
+                }
+                sb.append(active ? '@' : game.getBoard().getCell(x, y) != 0 ? '#' : '.');
+            }
+            sb.append("|\n");
+        }
+        System.out.print(sb);
+    }
+}
@@ -0,0 +1,284 @@
+package com.tetris.replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import com.tetris.game.Game;
+import com.tetris.game.GameInput;
+import com.tetris.game.GameSnapshot;
+
+/**
+ * ゲームの操作をリプレイファイルに記録するクラス（形式はReplayFormatを参照）
+ * 記録開始時のスナップショット（乱数の状態を含む）と、時刻付きの操作を可変長整数で記録する
+ * 一定時間ごとにキーフレーム（その時点のスナップショット）を挟み、終了時に索引を書き込む
+ *
+ * 操作の通知を受けたスレッド（EDT）ではバッファに書き込むだけで、
+ * 埋まったバッファは書き込み用のスレッドがFileChannelでファイルに書き出す
+ */
+public final class ReplayRecorder implements Consumer<GameInput>, Closeable {
+
+    /**
+     * 記録の出力先を指定するシステムプロパティ
+     */
+    public static final String OUTPUT_PROPERTY = "tetris.replay";
+
+    /**
+     * キーフレームの間隔の既定値（ミリ秒）
+     */
+    public static final long DEFAULT_KEYFRAME_INTERVAL_MILLIS = 5_000;
+
+    private static final int BUFFER_BYTES = 8192;
+    // キーフレームのレコードを書き込めなくなる前に書き込み用のスレッドへ渡す
+    private static final int FLUSH_THRESHOLD = BUFFER_BYTES - GameSnapshot.BYTES
+            - 2 * ReplayFormat.MAX_VARINT_BYTES;
+    private static final ByteBuffer END_OF_STREAM = ByteBuffer.allocate(0); // 書き込み用スレッドの終了の合図
+
+    private final Game game;
+    private final FileChannel channel;
+    private final LongSupplier clock; // 記録の時刻（ミリ秒）
+    private final long keyframeInterval;
+    private final long startTime;
+    private final BlockingQueue<ByteBuffer> filled = new LinkedBlockingQueue<>(); // 書き出し待ちのバッファ
+    private final BlockingQueue<ByteBuffer> free = new LinkedBlockingQueue<>(); // 再利用するバッファ
+    private final Thread writer;
+    private volatile IOException failure; // 書き出しで発生した最初の例外
+
+    private ByteBuffer active; // 書き込み中のバッファ
+    private long handedOffBytes; // 書き込み用のスレッドに渡したバイト数（activeの先頭のファイル上の位置）
+    private long lastTime; // 最後のレコードの時刻（記録開始からのミリ秒）
+    private long nextKeyframeTime;
+    private long[] keyframeTimes = new long[16];
+    private long[] keyframeOffsets = new long[16];
+    private int keyframeCount;
+    private int eventCount;
+    private boolean closed;
+
+    /**
+     * リプレイの記録を開始する（実時間で記録し、既定の間隔でキーフレームを挟む）
+     *
+     * @param game 記録するゲーム
+     * @param file 出力先のファイル（既存の場合は上書きする）
+     * @return 開始した記録
+     * @throws IOException ファイルを作成できない場合
+     */
+    public static ReplayRecorder start(Game game, Path file) throws IOException {
+        return new ReplayRecorder(game, file, () -> System.nanoTime() / 1_000_000L,
+                DEFAULT_KEYFRAME_INTERVAL_MILLIS);
+    }
+
+    /**
+     * システムプロパティで出力先が指定されていれば記録を開始する（JVM終了時に記録を閉じる）
+     *
+     * @param game 記録するゲーム
+     * @return 開始した記録（指定がない場合や開始できない場合null）
+     */
+    public static ReplayRecorder startIfRequested(Game game) {
+        String file = System.getProperty(OUTPUT_PROPERTY);
+        if (file == null || file.isEmpty()) {
+            return null;
+        }
+        try {
+            ReplayRecorder recorder = start(game, Paths.get(file));
+            Runtime.getRuntime().addShutdownHook(new Thread(recorder::closeQuietly, "replay-close"));
+            return recorder;
+        } catch (IOException e) {
+            System.err.println("リプレイの記録を開始できませんでした: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * リプレイの記録を開始する
+     *
+     * @param game                   記録するゲーム（操作の通知先に設定する）
+     * @param file                   出力先のファイル（既存の場合は上書きする）
+     * @param clockMillis            時刻（ミリ秒、減少しないこと）
+     * @param keyframeIntervalMillis キーフレームの間隔（ミリ秒）
+     * @throws IOException ファイルを作成できない場合
+     */
+    public ReplayRecorder(Game game, Path file, LongSupplier clockMillis, long keyframeIntervalMillis)
+            throws IOException {
+        if (keyframeIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Invalid keyframe interval: " + keyframeIntervalMillis);
+        }
+        this.game = game;
+        this.clock = clockMillis;
+        this.keyframeInterval = keyframeIntervalMillis;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.startTime = clockMillis.getAsLong();
+        this.nextKeyframeTime = keyframeIntervalMillis;
+        this.active = ByteBuffer.allocate(BUFFER_BYTES);
+
+        // ヘッダー（記録開始時のスナップショットが最初のキーフレームになる）
+        active.putInt(ReplayFormat.MAGIC);
+        ReplayFormat.putVarint(active, ReplayFormat.VERSION);
+        ReplayFormat.putVarint(active, keyframeIntervalMillis);
+        game.snapshot().writeTo(active);
+
+        writer = new Thread(this::writeLoop, "replay-writer");
+        writer.setDaemon(true);
+        writer.start();
+        game.setInputListener(this);
+    }
+
+    /**
+     * 操作を記録する（Gameから操作を適用する前に呼ばれる）
+     *
+     * @param input 操作
+     */
+    @Override
+    public synchronized void accept(GameInput input) {
+        if (closed) {
+            return;
+        }
+        long now = currentTime();
+        if (now >= nextKeyframeTime) {
+            writeKeyframe(now); // 操作を適用する前の状態
+            nextKeyframeTime = now + keyframeInterval;
+        }
+        writeRecord(now, input.ordinal());
+        eventCount++;
+        if (active.position() >= FLUSH_THRESHOLD) {
+            handOff();
+        }
+    }
+
+    private long currentTime() {
+        return Math.max(lastTime, clock.getAsLong() - startTime);
+    }
+
+    private void writeRecord(long time, int code) {
+        ReplayFormat.putVarint(active, (time - lastTime) << ReplayFormat.CODE_BITS | code);
+        lastTime = time;
+    }
+
+    private void writeKeyframe(long time) {
+        if (keyframeCount == keyframeTimes.length) {
+            keyframeTimes = Arrays.copyOf(keyframeTimes, keyframeCount * 2);
+            keyframeOffsets = Arrays.copyOf(keyframeOffsets, keyframeCount * 2);
+        }
+        keyframeTimes[keyframeCount] = time;
+        keyframeOffsets[keyframeCount] = handedOffBytes + active.position();
+        keyframeCount++;
+        writeRecord(time, ReplayFormat.KEYFRAME);
+        game.snapshot().writeTo(active);
+        handOff(); // キーフレームごとにファイルへ書き出す（異常終了しても直前のキーフレームまで残る）
+    }
+
+    /**
+     * 書き込み中のバッファを書き込み用のスレッドに渡し、空のバッファに切り替える
+     */
+    private void handOff() {
+        if (active.position() == 0) {
+            return;
+        }
+        active.flip();
+        handedOffBytes += active.remaining();
+        filled.add(active);
+        ByteBuffer next = free.poll();
+        active = next != null ? next : ByteBuffer.allocate(BUFFER_BYTES);
+    }
+
+    private void ensureRemaining(int bytes) {
+        if (active.remaining() < bytes) {
+            handOff();
+        }
+    }
+
+    /**
+     * 書き込み用のスレッドの処理（渡されたバッファを順に書き出す）
+     */
+    private void writeLoop() {
+        try {
+            while (true) {
+                ByteBuffer buffer = filled.take();
+                if (buffer == END_OF_STREAM) {
+                    return;
+                }
+                try {
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                } catch (IOException e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+                buffer.clear();
+                free.add(buffer);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 記録を終了する（最後の状態のキーフレーム・終了のレコード・索引を書き込んでファイルを閉じる）
+     *
+     * @throws IOException 書き出しに失敗した場合
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        game.setInputListener(null);
+
+        long now = currentTime();
+        writeKeyframe(now);
+        writeRecord(now, ReplayFormat.END);
+
+        long indexOffset = handedOffBytes + active.position();
+        ReplayFormat.putVarint(active, now); // 記録時間
+        ReplayFormat.putVarint(active, keyframeCount);
+        for (int i = 0; i < keyframeCount; i++) {
+            ensureRemaining(2 * ReplayFormat.MAX_VARINT_BYTES);
+            ReplayFormat.putVarint(active, keyframeTimes[i]);
+            ReplayFormat.putVarint(active, keyframeOffsets[i]);
+        }
+        ensureRemaining(ReplayFormat.TRAILER_BYTES);
+        active.putLong(indexOffset);
+        active.putInt(ReplayFormat.INDEX_MAGIC);
+        handOff();
+
+        filled.add(END_OF_STREAM);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException e) {
+            System.err.println("リプレイの書き出しに失敗しました: " + e.getMessage());
+        }
+    }
+
+    // ゲッター
+    public synchronized int getEventCount() {
+        return eventCount;
+    }
+
+    public synchronized int getKeyframeCount() {
+        return keyframeCount;
+    }
+}
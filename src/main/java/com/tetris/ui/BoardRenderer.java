@@ -0,0 +1,255 @@
+package com.tetris.ui;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+import com.tetris.effects.AnimationManager;
+import com.tetris.game.Board;
+import com.tetris.game.Game;
+import com.tetris.model.Tetromino;
+import com.tetris.util.GameConstants;
+
+/**
+ * 1つのゲームのボードを描画するクラス
+ * GamePanelとWallPanelで共有し、ボード左上を原点としたデバイス座標系で描画する
+ * setBlockSizeでタイルを生成した後のrenderは状態を変更しないため、
+ * 異なるゲームであれば複数スレッドから同時に呼び出せる
+ */
+public class BoardRenderer {
+
+    private final TileCache tileCache; // タイル画像キャッシュ
+
+    /**
+     * ボード描画クラスのコンストラクタ
+     */
+    public BoardRenderer() {
+        this.tileCache = new TileCache();
+    }
+
+    /**
+     * ブロックサイズを設定する（変わった場合のみタイルを再生成）
+     * 
+     * @param blockSize ブロックサイズ（デバイスピクセル）
+     * @return タイルを再生成した場合true
+     */
+    public boolean setBlockSize(int blockSize) {
+        return tileCache.validate(blockSize);
+    }
+
+    /**
+     * 現在のブロックサイズを取得
+     * 
+     * @return ブロックサイズ（デバイスピクセル）
+     */
+    public int getBlockSize() {
+        return tileCache.getBlockSize();
+    }
+
+    /**
+     * ボードの幅を取得
+     * 
+     * @return ボードの幅（デバイスピクセル）
+     */
+    public int getBoardWidth() {
+        return GameConstants.BOARD_WIDTH * tileCache.getBlockSize();
+    }
+
+    /**
+     * ボードの高さを取得
+     * 
+     * @return ボードの高さ（デバイスピクセル）
+     */
+    public int getBoardHeight() {
+        return GameConstants.BOARD_HEIGHT * tileCache.getBlockSize();
+    }
+
+    /**
+     * ゲーム画面を描画する
+     * 
+     * @param g2d     グラフィックスコンテキスト（ボード左上が原点）
+     * @param game    描画するゲーム
+     * @param quality 描画品質
+     */
+    public void render(Graphics2D g2d, Game game, QualityGovernor.QualityLevel quality) {
+        render(g2d, game.getBoard(), game.getCurrentTetromino(), game.getGameState(),
+                game.getAnimationManager(), quality);
+    }
+
+    /**
+     * 盤面を描画する
+     * Gameを介さずに描画できるため、保存した盤面のスナップショットも描画できる
+     * 
+     * @param g2d              グラフィックスコンテキスト（ボード左上が原点）
+     * @param board            ボード
+     * @param current          落下中のテトリミノ（ない場合null）
+     * @param gameState        ゲーム状態
+     * @param animationManager アニメーション（描画しない場合null）
+     * @param quality          描画品質
+     */
+    public void render(Graphics2D g2d, Board board, Tetromino current, Game.GameState gameState,
+            AnimationManager animationManager, QualityGovernor.QualityLevel quality) {
+        // アンチエイリアシングは品質レベルに応じて切り替える
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, quality.isAntialiasing()
+                ? RenderingHints.VALUE_ANTIALIAS_ON
+                : RenderingHints.VALUE_ANTIALIAS_OFF);
+
+        // グリッド線を描画
+        g2d.drawImage(tileCache.getGridLayer(), 0, 0, null);
+
+        // ボードの固定ブロックを描画
+        drawBoard(g2d, board);
+
+        // ゴーストピース（着地位置の予測表示）を描画
+        if (current != null && gameState == Game.GameState.PLAYING) {
+            drawGhostPiece(g2d, board, current, quality.isOutlineGhost());
+        }
+
+        // 落下中のテトリミノを描画
+        if (current != null) {
+            drawTetromino(g2d, current, false);
+        }
+
+        // アニメーション効果を描画（エフェクトは基準ブロックサイズの座標系で計算されている）
+        // getTransformは変換行列を複製するため、拡大と縮小を対にして元に戻す
+        if (animationManager != null) {
+            double effectScale = tileCache.getBlockSize() / (double) GameConstants.BLOCK_SIZE;
+            g2d.scale(effectScale, effectScale);
+            animationManager.render(g2d,
+                    GameConstants.BOARD_WIDTH * GameConstants.BLOCK_SIZE,
+                    GameConstants.BOARD_HEIGHT * GameConstants.BLOCK_SIZE,
+                    GameConstants.BLOCK_SIZE);
+            g2d.scale(1 / effectScale, 1 / effectScale);
+        }
+
+        // ゲームオーバー時のオーバーレイ
+        if (gameState == Game.GameState.GAME_OVER) {
+            g2d.drawImage(tileCache.getGameOverOverlay(), 0, 0, null);
+        }
+    }
+
+    /**
+     * ボードの固定ブロックを描画する
+     * 
+     * @param g2d   グラフィックスコンテキスト
+     * @param board 描画するボード
+     */
+    private void drawBoard(Graphics2D g2d, Board board) {
+        // グリッドのコピーを作らずにセルを直接参照する
+        for (int y = 0; y < GameConstants.BOARD_HEIGHT; y++) {
+            for (int x = 0; x < GameConstants.BOARD_WIDTH; x++) {
+                int cell = board.getCell(x, y);
+                if (cell != 0) {
+                    drawBlock(g2d, x, y, cell, false);
+                }
+            }
+        }
+    }
+
+    /**
+     * テトリミノを描画する
+     * 
+     * @param g2d       グラフィックスコンテキスト
+     * @param tetromino 描画するテトリミノ
+     * @param ghost     半透明のゴーストとして描画する場合true
+     */
+    private void drawTetromino(Graphics2D g2d, Tetromino tetromino, boolean ghost) {
+        drawShape(g2d, tetromino.getShape(), tetromino.getX(), tetromino.getY(), tetromino.getColorIndex(), ghost);
+    }
+
+    /**
+     * 形状を指定位置に描画する
+     * 
+     * @param g2d        グラフィックスコンテキスト
+     * @param shape      4x4の形状配列
+     * @param shapeX     形状の左上のX座標（ブロック単位）
+     * @param shapeY     形状の左上のY座標（ブロック単位）
+     * @param colorIndex 色のインデックス
+     * @param ghost      半透明のゴーストとして描画する場合true
+     */
+    private void drawShape(Graphics2D g2d, int[][] shape, int shapeX, int shapeY, int colorIndex, boolean ghost) {
+        for (int row = 0; row < 4; row++) {
+            for (int col = 0; col < 4; col++) {
+                if (shape[row][col] != 0) {
+                    int x = shapeX + col;
+                    int y = shapeY + row;
+
+                    if (x >= 0 && x < GameConstants.BOARD_WIDTH &&
+                            y >= 0 && y < GameConstants.BOARD_HEIGHT) {
+                        drawBlock(g2d, x, y, colorIndex, ghost);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * ゴーストピース（着地位置の予測表示）を描画する
+     * 
+     * @param g2d     グラフィックスコンテキスト
+     * @param board   ボード
+     * @param current 落下中のテトリミノ
+     * @param outline 枠線のみで描画する場合true（低品質時）
+     */
+    private void drawGhostPiece(Graphics2D g2d, Board board, Tetromino current, boolean outline) {
+        // ゴーストピースの位置を計算（テトリミノを複製せず、最下部まで落とした位置を求める）
+        int[][] shape = current.getShape();
+        int ghostY = current.getY();
+        while (board.canPlace(shape, current.getX(), ghostY + 1)) {
+            ghostY++;
+        }
+
+        if (outline) {
+            drawOutline(g2d, shape, current.getX(), ghostY, current.getColorIndex());
+        } else {
+            // 半透明で描画
+            drawShape(g2d, shape, current.getX(), ghostY, current.getColorIndex(), true);
+        }
+    }
+
+    /**
+     * テトリミノを枠線のみで描画する（合成処理を伴わない軽量な描画）
+     * 
+     * @param g2d        グラフィックスコンテキスト
+     * @param shape      4x4の形状配列
+     * @param shapeX     形状の左上のX座標（ブロック単位）
+     * @param shapeY     形状の左上のY座標（ブロック単位）
+     * @param colorIndex 色のインデックス
+     */
+    private void drawOutline(Graphics2D g2d, int[][] shape, int shapeX, int shapeY, int colorIndex) {
+        int blockSize = tileCache.getBlockSize();
+        g2d.setColor(GameConstants.TETROMINO_COLORS[colorIndex]);
+
+        for (int row = 0; row < 4; row++) {
+            for (int col = 0; col < 4; col++) {
+                if (shape[row][col] != 0) {
+                    int x = shapeX + col;
+                    int y = shapeY + row;
+                    if (x >= 0 && x < GameConstants.BOARD_WIDTH &&
+                            y >= 0 && y < GameConstants.BOARD_HEIGHT) {
+                        g2d.drawRect(x * blockSize, y * blockSize, blockSize - 1, blockSize - 1);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * ブロックを描画する（キャッシュ済みタイルの転送）
+     * 
+     * @param g2d        グラフィックスコンテキスト
+     * @param x          X座標（ブロック単位）
+     * @param y          Y座標（ブロック単位）
+     * @param colorIndex 色のインデックス
+     * @param ghost      半透明のゴーストとして描画する場合true
+     */
+    private void drawBlock(Graphics2D g2d, int x, int y, int colorIndex, boolean ghost) {
+        if (colorIndex <= 0 || colorIndex >= GameConstants.TETROMINO_COLORS.length) {
+            return;
+        }
+
+        BufferedImage tile = ghost ? tileCache.getGhostTile(colorIndex) : tileCache.getBlockTile(colorIndex);
+        int blockSize = tileCache.getBlockSize();
+        g2d.drawImage(tile, x * blockSize, y * blockSize, null);
+    }
+}
@@ -0,0 +1,190 @@
+package com.tetris.ui;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.imageio.ImageIO;
+
+import com.tetris.game.Game;
+
+/**
+ * 記録したゲームを連番PNG画像として書き出すクラス
+ * 各フレームの描画とPNGエンコードは全コアで並列に行う
+ * 画面のない環境で描画性能を測るベンチマークとしても使える
+ * 
+ * 使い方: FrameExporter [--out DIR] [--seed N] [--frames N] [--block N] [--threads N] [--benchmark]
+ */
+public class FrameExporter {
+
+    private static final int GRAVITY_FRAMES = 8; // 何フレームごとに1段落下させるか
+
+    private final OffscreenRenderer renderer; // 共有するオフスクリーン描画
+    private final int threads; // 並列数
+    private final ThreadLocal<BufferedImage> frameBuffers; // スレッドごとの描画先
+
+    /**
+     * フレーム書き出しクラスのコンストラクタ
+     * 
+     * @param blockSize ブロックサイズ（ピクセル）
+     * @param threads   並列数
+     */
+    public FrameExporter(int blockSize, int threads) {
+        this.renderer = new OffscreenRenderer(blockSize, QualityGovernor.QualityLevel.HIGH);
+        this.threads = Math.max(1, threads);
+        this.frameBuffers = ThreadLocal.withInitial(renderer::createImage);
+    }
+
+    /**
+     * シードから決まる入力でゲームを進め、各フレームを記録する
+     * 
+     * @param seed      乱数のシード
+     * @param maxFrames 記録する最大フレーム数
+     * @return 記録したフレーム
+     */
+    public static List<FrameSnapshot> recordDemoGame(long seed, int maxFrames) {
+        Game game = Game.createHeadless(seed);
+        Random input = new Random(seed * 31 + 7);
+        List<FrameSnapshot> frames = new ArrayList<>();
+
+        game.startGame();
+        for (int frame = 0; frame < maxFrames; frame++) {
+            switch (input.nextInt(8)) {
+                case 0:
+                    game.moveTetrominoLeft();
+                    break;
+                case 1:
+                    game.moveTetrominoRight();
+                    break;
+                case 2:
+                    game.rotateTetromino();
+                    break;
+                default:
+                    break; // 何もしない
+            }
+            if (frame % GRAVITY_FRAMES == 0) {
+                game.tick();
+            }
+
+            frames.add(FrameSnapshot.of(game));
+            if (game.getGameState() == Game.GameState.GAME_OVER) {
+                break;
+            }
+        }
+        return frames;
+    }
+
+    /**
+     * フレームを並列に描画する
+     * 
+     * @param frames    描画するフレーム
+     * @param outputDir PNGの出力先（nullの場合はエンコードせず描画のみ）
+     * @return かかった時間（ナノ秒）
+     * @throws IOException 書き出しに失敗した場合
+     */
+    public long export(List<FrameSnapshot> frames, File outputDir) throws IOException {
+        if (outputDir != null && !outputDir.isDirectory() && !outputDir.mkdirs()) {
+            throw new IOException("出力先を作成できません: " + outputDir);
+        }
+        ImageIO.setUseCache(false); // 一時ファイルを使わずメモリ上でエンコード
+
+        List<Callable<Void>> tasks = new ArrayList<>(frames.size());
+        for (int i = 0; i < frames.size(); i++) {
+            int index = i;
+            tasks.add(() -> {
+                BufferedImage image = frameBuffers.get();
+                renderer.render(frames.get(index), image);
+                if (outputDir != null) {
+                    File file = new File(outputDir, String.format("frame_%05d.png", index));
+                    ImageIO.write(image, "png", file);
+                }
+                return null;
+            });
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("書き出しが中断されました", e);
+        } catch (ExecutionException e) {
+            throw new IOException("フレームの書き出しに失敗しました", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * 書き出しの結果を表示する
+     */
+    private void report(String label, int frameCount, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        double fps = frameCount / seconds;
+        System.out.printf("%s: %d フレーム / %.3f 秒 = %.1f fps（%d スレッド、1コアあたり %.1f fps）%n",
+                label, frameCount, seconds, fps, threads, fps / threads);
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+
+        File outputDir = new File("frames");
+        long seed = 1;
+        int maxFrames = 600;
+        int blockSize = 30;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean benchmark = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--out":
+                    outputDir = new File(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                case "--frames":
+                    maxFrames = Integer.parseInt(args[++i]);
+                    break;
+                case "--block":
+                    blockSize = Integer.parseInt(args[++i]);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                case "--benchmark":
+                    benchmark = true;
+                    break;
+                default:
+                    System.err.println("不明な引数: " + args[i]);
+                    return;
+            }
+        }
+
+        List<FrameSnapshot> frames = recordDemoGame(seed, maxFrames);
+        FrameExporter exporter = new FrameExporter(blockSize, threads);
+
+        if (benchmark) {
+            // ウォームアップ後、描画のみとPNGエンコード込みをそれぞれ計測
+            exporter.export(frames, null);
+            exporter.report("描画のみ", frames.size(), exporter.export(frames, null));
+            File tempDir = new File(System.getProperty("java.io.tmpdir"), "tetris-frames-" + seed);
+            exporter.report("描画+PNG", frames.size(), exporter.export(frames, tempDir));
+        } else {
+            exporter.report("書き出し", frames.size(), exporter.export(frames, outputDir));
+            System.out.println("出力先: " + outputDir.getAbsolutePath());
+        }
+    }
+}
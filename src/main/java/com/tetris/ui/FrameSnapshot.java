@@ -0,0 +1,75 @@
+package com.tetris.ui;
+
+import com.tetris.game.Board;
+import com.tetris.game.Game;
+import com.tetris.model.Tetromino;
+
+/**
+ * ある時点のゲーム画面を描画するのに必要な状態を保持するクラス
+ * 元のゲームが進んでも内容は変わらないため、別スレッドで描画できる
+ */
+public class FrameSnapshot {
+
+    private final Board board; // 盤面のコピー
+    private final Tetromino currentTetromino; // 落下中のテトリミノのコピー（ない場合null）
+    private final Game.GameState gameState; // ゲーム状態
+    private final int score; // スコア
+    private final int level; // レベル
+    private final int lines; // 消去したライン数
+
+    /**
+     * スナップショットのコンストラクタ
+     * 
+     * @param board            盤面（コピーして保持する）
+     * @param currentTetromino 落下中のテトリミノ（コピーして保持する）
+     * @param gameState        ゲーム状態
+     * @param score            スコア
+     * @param level            レベル
+     * @param lines            消去したライン数
+     */
+    public FrameSnapshot(Board board, Tetromino currentTetromino, Game.GameState gameState,
+            int score, int level, int lines) {
+        this.board = new Board(board);
+        this.currentTetromino = currentTetromino != null ? new Tetromino(currentTetromino) : null;
+        this.gameState = gameState;
+        this.score = score;
+        this.level = level;
+        this.lines = lines;
+    }
+
+    /**
+     * ゲームの現在の状態からスナップショットを作成する
+     * 
+     * @param game ゲーム
+     * @return スナップショット
+     */
+    public static FrameSnapshot of(Game game) {
+        return new FrameSnapshot(game.getBoard(), game.getCurrentTetromino(), game.getGameState(),
+                game.getScore(), game.getLevel(), game.getLines());
+    }
+
+    // ゲッター
+    public Board getBoard() {
+        return board;
+    }
+
+    public Tetromino getCurrentTetromino() {
+        return currentTetromino;
+    }
+
+    public Game.GameState getGameState() {
+        return gameState;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getLines() {
+        return lines;
+    }
+}
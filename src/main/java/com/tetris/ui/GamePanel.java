@@ -1,26 +1,40 @@
 package com.tetris.ui;
 
-import java.awt.Color;
 import java.awt.Dimension;
-import java.awt.Font;
-import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.util.concurrent.CompletableFuture;
 
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 
+import com.tetris.diagnostics.PaintEvent;
+import com.tetris.diagnostics.PerfMonitor;
+import com.tetris.diagnostics.PerfOverlay;
+import com.tetris.diagnostics.StartupTimer;
 import com.tetris.game.Game;
-import com.tetris.model.Tetromino;
 import com.tetris.util.GameConstants;
 
 /**
  * ゲーム画面の描画を担当するパネルクラス
  * ボード、落下中のテトリミノ、固定されたブロックなどを描画
+ * ブロックサイズはパネルサイズとディスプレイのスケールから算出し、
+ * デバイス解像度でキャッシュしたタイル画像を転送して描画する
+ * 描画時間はQualityGovernorで監視し、負荷に応じてエフェクトを間引く
  */
 public class GamePanel extends JPanel {
 
+    static final int MIN_BLOCK_SIZE = 8; // 最小ブロックサイズ（デバイスピクセル）
+
     private Game game;
+    private BoardRenderer boardRenderer; // ボード描画（最初の描画時に確定する）
+    private final CompletableFuture<BoardRenderer> preparedRenderer; // バックグラウンドで準備中のボード描画
+    private boolean firstFramePainted; // 最初のフレームを描画済みか
+    private final AffineTransform deviceTransform; // デバイス座標系への変換（再利用）
+    private final QualityGovernor qualityGovernor; // 描画品質の自動調整
+    private PerfMonitor perfMonitor; // 性能計測（nullの場合は計測しない）
+    private PerfOverlay perfOverlay; // 性能計測結果の表示
 
     /**
      * ゲームパネルのコンストラクタ
@@ -28,8 +42,23 @@ public class GamePanel extends JPanel {
      * @param game ゲームインスタンス
      */
     public GamePanel(Game game) {
+        this(game, null);
+    }
+
+    /**
+     * バックグラウンドで準備したボード描画を使うゲームパネルのコンストラクタ
+     * 準備の完了は最初の描画まで待たない
+     * 
+     * @param game             ゲームインスタンス
+     * @param preparedRenderer 準備中のボード描画（nullの場合は最初の描画時に作成する）
+     */
+    public GamePanel(Game game, CompletableFuture<BoardRenderer> preparedRenderer) {
         this.game = game;
+        this.preparedRenderer = preparedRenderer;
+        this.deviceTransform = new AffineTransform();
+        this.qualityGovernor = new QualityGovernor();
         initializePanel();
+        applyQualityLevel();
     }
 
     /**
@@ -39,6 +68,9 @@ public class GamePanel extends JPanel {
         setPreferredSize(new Dimension(
                 GameConstants.BOARD_WIDTH * GameConstants.BLOCK_SIZE,
                 GameConstants.BOARD_HEIGHT * GameConstants.BLOCK_SIZE));
+        setMinimumSize(new Dimension(
+                GameConstants.BOARD_WIDTH * MIN_BLOCK_SIZE,
+                GameConstants.BOARD_HEIGHT * MIN_BLOCK_SIZE));
         setBackground(GameConstants.BACKGROUND_COLOR);
         setFocusable(true);
         setDoubleBuffered(true); // ちらつき防止
@@ -51,207 +83,125 @@ public class GamePanel extends JPanel {
      */
     @Override
     protected void paintComponent(Graphics g) {
+        long paintStart = System.nanoTime();
+        PaintEvent event = new PaintEvent();
+        event.begin();
         super.paintComponent(g);
 
         Graphics2D g2d = (Graphics2D) g;
-        // アンチエイリアシングを有効化
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-        // アニメーションマネージャーを更新
-        if (game.getAnimationManager() != null) {
-            game.getAnimationManager().update(System.currentTimeMillis());
+        AffineTransform savedTransform = g2d.getTransform();
+        BoardRenderer boardRenderer = getBoardRenderer();
+
+        // ディスプレイのスケールを考慮してデバイスピクセル単位のブロックサイズを決定
+        double scale = savedTransform.getScaleX();
+        int deviceWidth = (int) Math.floor(getWidth() * scale);
+        int deviceHeight = (int) Math.floor(getHeight() * scale);
+        boardRenderer.setBlockSize(computeBlockSize(deviceWidth, deviceHeight));
+
+        // デバイス座標系で描画する（拡大による補間を避け、タイルを等倍転送する）
+        deviceTransform.setToTranslation(
+                Math.round(savedTransform.getTranslateX()) + (deviceWidth - boardRenderer.getBoardWidth()) / 2,
+                Math.round(savedTransform.getTranslateY()) + (deviceHeight - boardRenderer.getBoardHeight()) / 2);
+        g2d.setTransform(deviceTransform);
+
+        QualityGovernor.QualityLevel quality = qualityGovernor.getLevel();
+        boardRenderer.render(g2d, game, quality);
+
+        g2d.setTransform(savedTransform);
+        event.end();
+
+        // 描画時間を記録し、品質が変わったらエフェクト設定に反映
+        long paintEnd = System.nanoTime();
+        if (qualityGovernor.recordFrame(paintEnd - paintStart)) {
+            applyQualityLevel();
         }
-
-        // グリッド線を描画
-        drawGrid(g2d);
-
-        // ボードの固定ブロックを描画
-        drawBoard(g2d);
-
-        // ゴーストピース（着地位置の予測表示）を描画
-        if (game.getCurrentTetromino() != null && game.getGameState() == Game.GameState.PLAYING) {
-            drawGhostPiece(g2d);
+        if (perfMonitor != null) {
+            perfMonitor.recordPaint(paintStart, paintEnd);
+            perfOverlay.render(g2d); // 表示自体の時間は計測に含めない
         }
-
-        // 落下中のテトリミノを描画
-        if (game.getCurrentTetromino() != null) {
-            drawTetromino(g2d, game.getCurrentTetromino(), 1.0f);
-        }
-
-        // アニメーション効果を描画
-        if (game.getAnimationManager() != null) {
-            game.getAnimationManager().render(g2d,
-                    GameConstants.BOARD_WIDTH * GameConstants.BLOCK_SIZE,
-                    GameConstants.BOARD_HEIGHT * GameConstants.BLOCK_SIZE,
-                    GameConstants.BLOCK_SIZE);
+        if (!firstFramePainted) {
+            firstFramePainted = true;
+            StartupTimer.mark("最初のフレーム");
+            SwingUtilities.invokeLater(StartupTimer::reportIfEnabled);
         }
-
-        // ゲームオーバー時のオーバーレイ
-        if (game.getGameState() == Game.GameState.GAME_OVER) {
-            drawGameOverOverlay(g2d);
+        if (event.shouldCommit()) {
+            event.blockSize = boardRenderer.getBlockSize();
+            event.quality = quality.name();
+            if (game.getAnimationManager() != null) {
+                event.particles = game.getAnimationManager().getParticleCount();
+            }
+            event.commit();
         }
     }
 
     /**
-     * グリッド線を描画する
+     * ボード描画を取得する
+     * バックグラウンドで準備中の場合は完了を待ち、失敗していれば新しく作成する
      * 
-     * @param g2d グラフィックスコンテキスト
+     * @return ボード描画
      */
-    private void drawGrid(Graphics2D g2d) {
-        g2d.setColor(GameConstants.GRID_COLOR);
-
-        // 縦線を描画
-        for (int x = 0; x <= GameConstants.BOARD_WIDTH; x++) {
-            g2d.drawLine(
-                    x * GameConstants.BLOCK_SIZE, 0,
-                    x * GameConstants.BLOCK_SIZE, GameConstants.BOARD_HEIGHT * GameConstants.BLOCK_SIZE);
-        }
-
-        // 横線を描画
-        for (int y = 0; y <= GameConstants.BOARD_HEIGHT; y++) {
-            g2d.drawLine(
-                    0, y * GameConstants.BLOCK_SIZE,
-                    GameConstants.BOARD_WIDTH * GameConstants.BLOCK_SIZE, y * GameConstants.BLOCK_SIZE);
+    private BoardRenderer getBoardRenderer() {
+        if (boardRenderer == null) {
+            boardRenderer = preparedRenderer != null
+                    ? preparedRenderer.exceptionally(e -> new BoardRenderer()).join()
+                    : new BoardRenderer();
         }
+        return boardRenderer;
     }
 
     /**
-     * ボードの固定ブロックを描画する
+     * 描画領域に収まる最大のブロックサイズを求める
      * 
-     * @param g2d グラフィックスコンテキスト
+     * @param deviceWidth  描画領域の幅（デバイスピクセル）
+     * @param deviceHeight 描画領域の高さ（デバイスピクセル）
+     * @return ブロックサイズ（デバイスピクセル）
      */
-    private void drawBoard(Graphics2D g2d) {
-        int[][] grid = game.getBoard().getGrid();
-
-        for (int y = 0; y < GameConstants.BOARD_HEIGHT; y++) {
-            for (int x = 0; x < GameConstants.BOARD_WIDTH; x++) {
-                if (grid[y][x] != 0) {
-                    drawBlock(g2d, x, y, grid[y][x], 1.0f);
-                }
-            }
-        }
+    static int computeBlockSize(int deviceWidth, int deviceHeight) {
+        int size = Math.min(
+                deviceWidth / GameConstants.BOARD_WIDTH,
+                deviceHeight / GameConstants.BOARD_HEIGHT);
+        return Math.max(MIN_BLOCK_SIZE, size);
     }
 
     /**
-     * テトリミノを描画する
-     * 
-     * @param g2d       グラフィックスコンテキスト
-     * @param tetromino 描画するテトリミノ
-     * @param alpha     透明度（0.0〜1.0）
+     * 現在の品質レベルをアニメーション設定に反映する
      */
-    private void drawTetromino(Graphics2D g2d, Tetromino tetromino, float alpha) {
-        int[][] shape = tetromino.getShape();
-        int colorIndex = tetromino.getColorIndex();
-
-        for (int row = 0; row < 4; row++) {
-            for (int col = 0; col < 4; col++) {
-                if (shape[row][col] != 0) {
-                    int x = tetromino.getX() + col;
-                    int y = tetromino.getY() + row;
-
-                    if (x >= 0 && x < GameConstants.BOARD_WIDTH &&
-                            y >= 0 && y < GameConstants.BOARD_HEIGHT) {
-                        drawBlock(g2d, x, y, colorIndex, alpha);
-                    }
-                }
-            }
+    private void applyQualityLevel() {
+        if (game.getAnimationManager() == null) {
+            return;
         }
+        QualityGovernor.QualityLevel quality = qualityGovernor.getLevel();
+        game.getAnimationManager().setParticlesPerBlock(quality.getParticlesPerBlock());
+        game.getAnimationManager().setParticleLimit(quality.getParticleLimit());
+        game.getAnimationManager().setSimpleLineFlash(quality.isSimpleLineFlash());
     }
 
     /**
-     * ゴーストピース（着地位置の予測表示）を描画する
+     * 性能計測クラスを設定する（描画時間を記録し、計測結果を重ねて表示できるようにする）
      * 
-     * @param g2d グラフィックスコンテキスト
+     * @param perfMonitor 性能計測クラス
      */
-    private void drawGhostPiece(Graphics2D g2d) {
-        Tetromino ghost = new Tetromino(game.getCurrentTetromino());
-
-        // ゴーストピースの位置を計算（最下部まで落下）
-        while (game.getBoard().canPlace(ghost)) {
-            ghost.moveDown();
-        }
-        ghost.setY(ghost.getY() - 1);
-
-        // 半透明で描画
-        drawTetromino(g2d, ghost, 0.3f);
+    public void setPerfMonitor(PerfMonitor perfMonitor) {
+        this.perfMonitor = perfMonitor;
+        this.perfOverlay = new PerfOverlay(perfMonitor);
     }
 
     /**
-     * ブロックを描画する
-     * 
-     * @param g2d        グラフィックスコンテキスト
-     * @param x          X座標（ブロック単位）
-     * @param y          Y座標（ブロック単位）
-     * @param colorIndex 色のインデックス
-     * @param alpha      透明度（0.0〜1.0）
+     * 性能計測結果の表示/非表示を切り替える
      */
-    private void drawBlock(Graphics2D g2d, int x, int y, int colorIndex, float alpha) {
-        if (colorIndex <= 0 || colorIndex >= GameConstants.TETROMINO_COLORS.length) {
-            return;
+    public void togglePerfOverlay() {
+        if (perfOverlay != null) {
+            perfOverlay.toggle();
+            repaint();
         }
-
-        int pixelX = x * GameConstants.BLOCK_SIZE;
-        int pixelY = y * GameConstants.BLOCK_SIZE;
-
-        // 透明度を適用した色を作成
-        Color baseColor = GameConstants.TETROMINO_COLORS[colorIndex];
-        Color color = new Color(
-                baseColor.getRed(),
-                baseColor.getGreen(),
-                baseColor.getBlue(),
-                (int) (255 * alpha));
-
-        // ブロックの塗りつぶし
-        g2d.setColor(color);
-        g2d.fillRect(pixelX, pixelY, GameConstants.BLOCK_SIZE, GameConstants.BLOCK_SIZE);
-
-        // ブロックの枠線（立体感を出すため）
-        Color brighterColor = new Color(
-                Math.min(255, baseColor.getRed() + 50),
-                Math.min(255, baseColor.getGreen() + 50),
-                Math.min(255, baseColor.getBlue() + 50),
-                (int) (255 * alpha));
-        g2d.setColor(brighterColor);
-        g2d.drawLine(pixelX, pixelY, pixelX + GameConstants.BLOCK_SIZE - 1, pixelY);
-        g2d.drawLine(pixelX, pixelY, pixelX, pixelY + GameConstants.BLOCK_SIZE - 1);
-
-        Color darkerColor = new Color(
-                Math.max(0, baseColor.getRed() - 50),
-                Math.max(0, baseColor.getGreen() - 50),
-                Math.max(0, baseColor.getBlue() - 50),
-                (int) (255 * alpha));
-        g2d.setColor(darkerColor);
-        g2d.drawLine(pixelX + GameConstants.BLOCK_SIZE - 1, pixelY,
-                pixelX + GameConstants.BLOCK_SIZE - 1, pixelY + GameConstants.BLOCK_SIZE - 1);
-        g2d.drawLine(pixelX, pixelY + GameConstants.BLOCK_SIZE - 1,
-                pixelX + GameConstants.BLOCK_SIZE - 1, pixelY + GameConstants.BLOCK_SIZE - 1);
     }
 
     /**
-     * ゲームオーバー時のオーバーレイを描画
+     * 描画品質の自動調整クラスを取得
      * 
-     * @param g2d グラフィックスコンテキスト
+     * @return 品質調整クラス
      */
-    private void drawGameOverOverlay(Graphics2D g2d) {
-        // 半透明の黒いオーバーレイ
-        g2d.setColor(new Color(0, 0, 0, 180));
-        g2d.fillRect(0, 0, getWidth(), getHeight());
-
-        // ゲームオーバーテキスト
-        g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Monospaced", Font.BOLD, 36));
-        String gameOverText = "GAME OVER";
-        FontMetrics fm = g2d.getFontMetrics();
-        int textWidth = fm.stringWidth(gameOverText);
-        int textX = (getWidth() - textWidth) / 2;
-        int textY = getHeight() / 2;
-        g2d.drawString(gameOverText, textX, textY);
-
-        // 再スタート指示
-        g2d.setFont(new Font("Monospaced", Font.PLAIN, 16));
-        String restartText = "Press ENTER to restart";
-        textWidth = g2d.getFontMetrics().stringWidth(restartText);
-        textX = (getWidth() - textWidth) / 2;
-        g2d.drawString(restartText, textX, textY + 40);
+    public QualityGovernor getQualityGovernor() {
+        return qualityGovernor;
     }
-}
\ No newline at end of file
+}
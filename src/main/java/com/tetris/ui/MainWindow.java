@@ -8,6 +8,11 @@ import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
@@ -18,9 +23,14 @@ import javax.swing.JPanel;
 import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 
+import com.tetris.diagnostics.PerfMonitor;
+import com.tetris.diagnostics.StartupTimer;
+import com.tetris.effects.FrameClock;
 import com.tetris.game.Game;
 import com.tetris.game.GameController;
+import com.tetris.game.SavedGame;
 import com.tetris.model.Tetromino;
+import com.tetris.replay.ReplayRecorder;
 import com.tetris.util.GameConstants;
 
 /**
@@ -33,6 +43,11 @@ public class MainWindow extends JFrame {
     private JPanel sidePanel;
     private Game game;
     private GameController gameController;
+    private FrameClock frameClock; // アニメーション用の時計
+    private PerfMonitor perfMonitor; // 性能計測（F3キーで表示）
+    private final CompletableFuture<BoardRenderer> preparedRenderer; // バックグラウンドで準備中のボード描画
+    private Path savePath; // 途中のゲームの保存先（nullの場合は保存しない）
+    private Game.GameState lastState; // 前のフレームのゲーム状態（一時停止・ゲームオーバーの検出用）
 
     // サイドパネルのコンポーネント
     private JLabel scoreLabel;
@@ -46,11 +61,25 @@ public class MainWindow extends JFrame {
      * ウィンドウの初期設定と各パネルの配置を行う
      */
     public MainWindow() {
+        this(null);
+    }
+
+    /**
+     * バックグラウンドで準備したボード描画を使うメインウィンドウのコンストラクタ
+     * 
+     * @param preparedRenderer 準備中のボード描画（nullの場合は最初の描画時に作成する）
+     */
+    public MainWindow(CompletableFuture<BoardRenderer> preparedRenderer) {
+        this.preparedRenderer = preparedRenderer;
         initializeWindow();
+        StartupTimer.mark("ウィンドウ作成");
         createGame();
+        StartupTimer.mark("ゲーム作成");
         createComponents();
+        StartupTimer.mark("コンポーネント作成");
         layoutComponents();
         startGameLoop();
+        StartupTimer.mark("レイアウト");
     }
 
     /**
@@ -60,8 +89,20 @@ public class MainWindow extends JFrame {
         setTitle("クラシック・テトリス");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setSize(GameConstants.WINDOW_WIDTH, GameConstants.WINDOW_HEIGHT);
+        setMinimumSize(new Dimension(GameConstants.WINDOW_WIDTH * 2 / 3, GameConstants.WINDOW_HEIGHT * 2 / 3));
         setLocationRelativeTo(null); // 画面中央に配置
-        setResizable(false); // サイズ変更不可
+        setResizable(true); // ボードはウィンドウサイズに合わせて拡大縮小する
+
+        // 閉じる前に途中のゲームを保存する（終了処理はEXIT_ON_CLOSEで行う）
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                Game.GameState state = game.getGameState();
+                if (state == Game.GameState.PLAYING || state == Game.GameState.PAUSED) {
+                    saveGame();
+                }
+            }
+        });
     }
 
     /**
@@ -69,6 +110,60 @@ public class MainWindow extends JFrame {
      */
     private void createGame() {
         game = new Game();
+        savePath = SavedGame.defaultPath();
+        resumeSavedGame();
+        lastState = game.getGameState();
+        ReplayRecorder.startIfRequested(game); // システムプロパティで指定された場合のみ記録する
+    }
+
+    /**
+     * 保存した途中のゲームがあれば復元する（プレイ中に保存した場合は一時停止した状態で再開する）
+     */
+    private void resumeSavedGame() {
+        if (savePath == null) {
+            return;
+        }
+        try {
+            if (SavedGame.load(game, savePath) && game.getGameState() == Game.GameState.PLAYING) {
+                game.togglePause();
+            }
+        } catch (IOException e) {
+            System.err.println("保存したゲームを読み込めませんでした: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 途中のゲームを保存する
+     */
+    private void saveGame() {
+        if (savePath == null) {
+            return;
+        }
+        try {
+            SavedGame.save(game, savePath);
+        } catch (IOException e) {
+            System.err.println("ゲームを保存できませんでした: " + e.getMessage());
+        }
+    }
+
+    /**
+     * ゲーム状態の変化に合わせて保存する（一時停止したら保存し、ゲームオーバーになったら削除する）
+     */
+    private void saveOnStateChange() {
+        Game.GameState state = game.getGameState();
+        if (state == lastState) {
+            return;
+        }
+        lastState = state;
+        if (state == Game.GameState.PAUSED) {
+            saveGame();
+        } else if (state == Game.GameState.GAME_OVER && savePath != null) {
+            try {
+                SavedGame.delete(savePath);
+            } catch (IOException e) {
+                System.err.println("保存したゲームを削除できませんでした: " + e.getMessage());
+            }
+        }
     }
 
     /**
@@ -76,11 +171,18 @@ public class MainWindow extends JFrame {
      */
     private void createComponents() {
         // ゲーム画面パネルを作成
-        gamePanel = new GamePanel(game);
+        gamePanel = new GamePanel(game, preparedRenderer);
 
         // ゲームコントローラーを作成
         gameController = new GameController(game, gamePanel);
 
+        // 性能計測を設定（記録は常に行い、F3キーで表示する）
+        perfMonitor = new PerfMonitor();
+        game.setPerfMonitor(perfMonitor);
+        gamePanel.setPerfMonitor(perfMonitor);
+        gameController.setPerfMonitor(perfMonitor);
+        perfMonitor.dumpOnExitIfRequested();
+
         // サイドパネルを作成
         createSidePanel();
     }
@@ -175,7 +277,10 @@ public class MainWindow extends JFrame {
      */
     private void startGameLoop() {
         // 画面更新用タイマー（60FPS）
+        frameClock = new FrameClock();
         Timer updateTimer = new Timer(16, e -> {
+            updateAnimations();
+            saveOnStateChange();
             updateUI();
             gamePanel.repaint();
             nextPiecePanel.repaint();
@@ -186,6 +291,19 @@ public class MainWindow extends JFrame {
         SwingUtilities.invokeLater(() -> gamePanel.requestFocusInWindow());
     }
 
+    /**
+     * アニメーションを1フレーム進める（一時停止中は時計を止める）
+     */
+    private void updateAnimations() {
+        frameClock.advance(game.getGameState() == Game.GameState.PAUSED);
+        if (game.getAnimationManager() != null) {
+            long updateStart = System.nanoTime();
+            game.getAnimationManager().update(frameClock);
+            perfMonitor.recordAnimationUpdate(System.nanoTime() - updateStart);
+            perfMonitor.recordFrame(game.getAnimationManager().getParticleCount());
+        }
+    }
+
     /**
      * UI要素を更新する
      */
@@ -0,0 +1,100 @@
+package com.tetris.ui;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+import com.tetris.game.Game;
+import com.tetris.util.GameConstants;
+
+/**
+ * 画面を使わずにゲーム画面をBufferedImageへ描画するクラス
+ * java.awt.headless=true の環境でも動作する
+ * コンストラクタでタイルを生成した後は状態を変更しないため、
+ * 描画先の画像が異なれば複数スレッドから同時に呼び出せる
+ */
+public class OffscreenRenderer {
+
+    private static final int HEADER_HEIGHT = 24; // スコア表示欄の高さ（ピクセル）
+
+    private final BoardRenderer boardRenderer; // ボード描画
+    private final QualityGovernor.QualityLevel quality; // 描画品質
+    private final Font headerFont; // スコア表示のフォント
+
+    /**
+     * オフスクリーン描画クラスのコンストラクタ
+     * 
+     * @param blockSize ブロックサイズ（ピクセル）
+     * @param quality   描画品質
+     */
+    public OffscreenRenderer(int blockSize, QualityGovernor.QualityLevel quality) {
+        this.boardRenderer = new BoardRenderer();
+        this.boardRenderer.setBlockSize(blockSize);
+        this.quality = quality;
+        this.headerFont = new Font("Monospaced", Font.BOLD, 14);
+    }
+
+    /**
+     * 描画先に使える画像を作成する
+     * 
+     * @return 出力サイズの画像
+     */
+    public BufferedImage createImage() {
+        return new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_RGB);
+    }
+
+    /**
+     * ゲームの現在の画面を描画する
+     * 
+     * @param game   ゲーム
+     * @param target 描画先の画像（createImageで作成したもの）
+     */
+    public void render(Game game, BufferedImage target) {
+        Graphics2D g2d = beginFrame(target, game.getScore(), game.getLevel(), game.getLines());
+        boardRenderer.render(g2d, game, quality);
+        g2d.dispose();
+    }
+
+    /**
+     * スナップショットの画面を描画する
+     * 
+     * @param snapshot スナップショット
+     * @param target   描画先の画像（createImageで作成したもの）
+     */
+    public void render(FrameSnapshot snapshot, BufferedImage target) {
+        Graphics2D g2d = beginFrame(target, snapshot.getScore(), snapshot.getLevel(), snapshot.getLines());
+        boardRenderer.render(g2d, snapshot.getBoard(), snapshot.getCurrentTetromino(),
+                snapshot.getGameState(), null, quality);
+        g2d.dispose();
+    }
+
+    /**
+     * 背景とスコア表示を描画し、ボード描画用に原点を移したコンテキストを返す
+     */
+    private Graphics2D beginFrame(BufferedImage target, int score, int level, int lines) {
+        Graphics2D g2d = target.createGraphics();
+        g2d.setColor(GameConstants.BACKGROUND_COLOR);
+        g2d.fillRect(0, 0, target.getWidth(), target.getHeight());
+
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setFont(headerFont);
+        g2d.setColor(GameConstants.TEXT_COLOR);
+        g2d.drawString("SCORE " + score + "  LV " + level + "  LINES " + lines, 4, HEADER_HEIGHT - 7);
+
+        g2d.translate(0, HEADER_HEIGHT);
+        g2d.setColor(Color.BLACK);
+        g2d.fillRect(0, 0, boardRenderer.getBoardWidth(), boardRenderer.getBoardHeight());
+        return g2d;
+    }
+
+    // ゲッター
+    public int getWidth() {
+        return boardRenderer.getBoardWidth();
+    }
+
+    public int getHeight() {
+        return boardRenderer.getBoardHeight() + HEADER_HEIGHT;
+    }
+}
@@ -0,0 +1,164 @@
+package com.tetris.ui;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 描画時間に応じて描画品質を自動調整するクラス
+ * 描画時間が予算を超え続けたら品質を一段下げ、余裕が続いたら一段上げる
+ */
+public class QualityGovernor {
+
+    /**
+     * 描画品質レベルを表す列挙型（上から順に高品質）
+     */
+    public enum QualityLevel {
+        HIGH(5, 400, true, false, false), // すべてのエフェクトを描画
+        MEDIUM(3, 200, true, true, false), // パーティクル削減、ライン消去は単純なフラッシュ
+        LOW(1, 80, false, true, true), // アンチエイリアス無効、ゴーストは枠線のみ
+        MINIMAL(0, 0, false, true, true); // パーティクルなし
+
+        private final int particlesPerBlock; // ブロック固定時のパーティクル数
+        private final int particleLimit; // 同時に存在できるパーティクルの上限
+        private final boolean antialiasing; // アンチエイリアスを使うか
+        private final boolean simpleLineFlash; // ライン消去を単純なフラッシュにするか
+        private final boolean outlineGhost; // ゴーストピースを枠線のみで描くか
+
+        QualityLevel(int particlesPerBlock, int particleLimit, boolean antialiasing,
+                boolean simpleLineFlash, boolean outlineGhost) {
+            this.particlesPerBlock = particlesPerBlock;
+            this.particleLimit = particleLimit;
+            this.antialiasing = antialiasing;
+            this.simpleLineFlash = simpleLineFlash;
+            this.outlineGhost = outlineGhost;
+        }
+
+        public int getParticlesPerBlock() {
+            return particlesPerBlock;
+        }
+
+        public int getParticleLimit() {
+            return particleLimit;
+        }
+
+        public boolean isAntialiasing() {
+            return antialiasing;
+        }
+
+        public boolean isSimpleLineFlash() {
+            return simpleLineFlash;
+        }
+
+        public boolean isOutlineGhost() {
+            return outlineGhost;
+        }
+    }
+
+    private static final long DEFAULT_BUDGET_NANOS = 8_000_000L; // 描画予算（60FPSの半フレーム）
+    private static final float SMOOTHING = 0.1f; // 移動平均の係数
+    private static final int DOWNGRADE_FRAMES = 30; // 品質を下げるまでの連続超過フレーム数
+    private static final int UPGRADE_FRAMES = 240; // 品質を上げるまでの連続余裕フレーム数
+    private static final float HEADROOM_RATIO = 0.5f; // 予算に対してこの割合以下なら余裕あり
+    private static final int HISTORY_SIZE = 16; // 保持する変更履歴の件数
+
+    private final long budgetNanos; // 1フレームの描画予算（ナノ秒）
+    private final Deque<String> history; // 品質変更の履歴（新しい順）
+    private QualityLevel level; // 現在の品質レベル
+    private float averageNanos; // 描画時間の移動平均（ナノ秒）
+    private int overBudgetFrames; // 連続で予算を超えたフレーム数
+    private int headroomFrames; // 連続で余裕があったフレーム数
+    private String lastReason; // 最後に品質を変更した理由
+
+    /**
+     * デフォルトの予算で品質調整クラスを作成する
+     */
+    public QualityGovernor() {
+        this(DEFAULT_BUDGET_NANOS);
+    }
+
+    /**
+     * 品質調整クラスのコンストラクタ
+     *
+     * @param budgetNanos 1フレームの描画予算（ナノ秒）
+     */
+    public QualityGovernor(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+        this.history = new ArrayDeque<>();
+        this.level = QualityLevel.HIGH;
+        this.averageNanos = 0;
+        this.lastReason = "初期状態";
+    }
+
+    /**
+     * 1フレームの描画時間を記録し、必要なら品質レベルを変更する
+     *
+     * @param frameNanos 描画にかかった時間（ナノ秒）
+     * @return 品質レベルが変わった場合true
+     */
+    public boolean recordFrame(long frameNanos) {
+        averageNanos += (frameNanos - averageNanos) * SMOOTHING;
+
+        if (averageNanos > budgetNanos) {
+            headroomFrames = 0;
+            if (++overBudgetFrames >= DOWNGRADE_FRAMES && level.ordinal() < QualityLevel.values().length - 1) {
+                return changeLevel(QualityLevel.values()[level.ordinal() + 1],
+                        String.format("平均描画時間 %.2fms が予算 %.2fms を超過",
+                                averageNanos / 1e6, budgetNanos / 1e6));
+            }
+        } else if (averageNanos < budgetNanos * HEADROOM_RATIO) {
+            overBudgetFrames = 0;
+            if (++headroomFrames >= UPGRADE_FRAMES && level.ordinal() > 0) {
+                return changeLevel(QualityLevel.values()[level.ordinal() - 1],
+                        String.format("平均描画時間 %.2fms に余裕あり（予算 %.2fms）",
+                                averageNanos / 1e6, budgetNanos / 1e6));
+            }
+        } else {
+            overBudgetFrames = 0;
+            headroomFrames = 0;
+        }
+        return false;
+    }
+
+    /**
+     * 品質レベルを変更して理由を記録する
+     *
+     * @param newLevel 新しい品質レベル
+     * @param reason   変更理由
+     * @return 常にtrue
+     */
+    private boolean changeLevel(QualityLevel newLevel, String reason) {
+        lastReason = level + " -> " + newLevel + ": " + reason;
+        level = newLevel;
+        overBudgetFrames = 0;
+        headroomFrames = 0;
+
+        history.addFirst(lastReason);
+        if (history.size() > HISTORY_SIZE) {
+            history.removeLast();
+        }
+        return true;
+    }
+
+    // ゲッター
+    public QualityLevel getLevel() {
+        return level;
+    }
+
+    public String getLastReason() {
+        return lastReason;
+    }
+
+    public List<String> getHistory() {
+        return new ArrayList<>(history);
+    }
+
+    public float getAverageFrameMillis() {
+        return averageNanos / 1e6f;
+    }
+
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+}
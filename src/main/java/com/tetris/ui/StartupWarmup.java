@@ -0,0 +1,82 @@
+package com.tetris.ui;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.CompletableFuture;
+
+import com.tetris.diagnostics.StartupTimer;
+import com.tetris.effects.AnimationManager;
+import com.tetris.util.GameConstants;
+
+/**
+ * 起動時に、最初のフレームの描画に必要な準備をバックグラウンドで行うクラス
+ * ディスプレイのスケールの取得、タイル画像の生成、フォントの読み込みを
+ * EDTがウィンドウを構築している間に済ませる
+ */
+public final class StartupWarmup {
+
+    private StartupWarmup() {
+        throw new AssertionError("Cannot instantiate utility class");
+    }
+
+    /**
+     * 準備を開始する
+     * 
+     * @return 既定のウィンドウサイズに合わせてタイルを生成したボード描画（最初の描画時に受け取る）
+     */
+    public static CompletableFuture<BoardRenderer> start() {
+        CompletableFuture<BoardRenderer> result = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                result.complete(prepare());
+            } catch (RuntimeException | Error e) {
+                result.completeExceptionally(e);
+            }
+        }, "startup-warmup");
+        thread.setDaemon(true);
+        thread.start();
+        return result;
+    }
+
+    /**
+     * ボード描画を準備する
+     * 
+     * @return タイルを生成したボード描画
+     */
+    private static BoardRenderer prepare() {
+        // 既定サイズのゲーム画面をデバイスピクセルに換算したブロックサイズでタイルを作る
+        double scale = displayScale();
+        int blockSize = GamePanel.computeBlockSize(
+                (int) Math.floor(GameConstants.BOARD_WIDTH * GameConstants.BLOCK_SIZE * scale),
+                (int) Math.floor(GameConstants.BOARD_HEIGHT * GameConstants.BLOCK_SIZE * scale));
+        BoardRenderer renderer = new BoardRenderer();
+        renderer.setBlockSize(blockSize);
+        StartupTimer.mark("タイル生成");
+
+        // サイドパネルとエフェクトで使うフォント・色テーブルを読み込んでおく
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = scratch.createGraphics();
+        g2d.setFont(new Font("Monospaced", Font.BOLD, 14));
+        g2d.getFontMetrics().stringWidth("SCORE");
+        g2d.dispose();
+        new AnimationManager();
+        StartupTimer.mark("フォント・エフェクト準備");
+        return renderer;
+    }
+
+    /**
+     * 既定の画面のスケールを取得する（画面がない環境では1）
+     */
+    private static double displayScale() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return 1.0;
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice()
+                .getDefaultConfiguration()
+                .getDefaultTransform()
+                .getScaleX();
+    }
+}
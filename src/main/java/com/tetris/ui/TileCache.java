@@ -0,0 +1,196 @@
+package com.tetris.ui;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+import com.tetris.util.GameConstants;
+
+/**
+ * 描画用の画像キャッシュを管理するクラス
+ * ブロックタイル、グリッド層、オーバーレイをデバイス解像度で生成し、
+ * ブロックサイズが変わったときだけ作り直す（描画時は画像の転送のみ）
+ */
+public class TileCache {
+
+    private static final float GHOST_ALPHA = 0.3f; // ゴーストピースの透明度
+
+    private int blockSize; // 現在のブロックサイズ（デバイスピクセル）
+    private BufferedImage[] blockTiles; // 色インデックスごとのブロック画像
+    private BufferedImage[] ghostTiles; // 色インデックスごとの半透明ブロック画像
+    private BufferedImage gridLayer; // グリッド線の画像
+    private BufferedImage gameOverOverlay; // ゲームオーバー表示の画像
+
+    /**
+     * タイルキャッシュのコンストラクタ
+     */
+    public TileCache() {
+        blockSize = 0;
+    }
+
+    /**
+     * 指定ブロックサイズに合わせてキャッシュを検証する
+     * サイズが変わっていた場合のみ全画像を再生成する
+     *
+     * @param newBlockSize ブロックサイズ（デバイスピクセル）
+     * @return 再生成した場合true
+     */
+    public boolean validate(int newBlockSize) {
+        if (newBlockSize == blockSize && blockTiles != null) {
+            return false;
+        }
+        blockSize = newBlockSize;
+        regenerate();
+        return true;
+    }
+
+    /**
+     * 全画像を現在のブロックサイズで再生成する
+     */
+    private void regenerate() {
+        int colorCount = GameConstants.TETROMINO_COLORS.length;
+        blockTiles = new BufferedImage[colorCount];
+        ghostTiles = new BufferedImage[colorCount];
+        for (int i = 1; i < colorCount; i++) {
+            blockTiles[i] = createBlockTile(GameConstants.TETROMINO_COLORS[i], 1.0f);
+            ghostTiles[i] = createBlockTile(GameConstants.TETROMINO_COLORS[i], GHOST_ALPHA);
+        }
+        gridLayer = createGridLayer();
+        gameOverOverlay = createGameOverOverlay();
+    }
+
+    /**
+     * ブロック1個分の画像を生成する
+     *
+     * @param baseColor 基本色
+     * @param alpha     透明度（0.0〜1.0）
+     * @return ブロック画像
+     */
+    private BufferedImage createBlockTile(Color baseColor, float alpha) {
+        BufferedImage tile = createImage(blockSize, blockSize);
+        Graphics2D g2d = tile.createGraphics();
+        int a = (int) (255 * alpha);
+        int last = blockSize - 1;
+
+        // ブロックの塗りつぶし
+        g2d.setColor(new Color(baseColor.getRed(), baseColor.getGreen(), baseColor.getBlue(), a));
+        g2d.fillRect(0, 0, blockSize, blockSize);
+
+        // ブロックの枠線（立体感を出すため）
+        // 高解像度でも線の太さがブロックに比例するよう、幅をスケールする
+        int edge = Math.max(1, blockSize / GameConstants.BLOCK_SIZE);
+        g2d.setColor(new Color(
+                Math.min(255, baseColor.getRed() + 50),
+                Math.min(255, baseColor.getGreen() + 50),
+                Math.min(255, baseColor.getBlue() + 50),
+                a));
+        g2d.fillRect(0, 0, blockSize, edge);
+        g2d.fillRect(0, 0, edge, blockSize);
+
+        g2d.setColor(new Color(
+                Math.max(0, baseColor.getRed() - 50),
+                Math.max(0, baseColor.getGreen() - 50),
+                Math.max(0, baseColor.getBlue() - 50),
+                a));
+        g2d.fillRect(last - edge + 1, 0, edge, blockSize);
+        g2d.fillRect(0, last - edge + 1, blockSize, edge);
+
+        g2d.dispose();
+        return tile;
+    }
+
+    /**
+     * グリッド線の画像を生成する
+     *
+     * @return グリッド画像
+     */
+    private BufferedImage createGridLayer() {
+        int width = GameConstants.BOARD_WIDTH * blockSize;
+        int height = GameConstants.BOARD_HEIGHT * blockSize;
+        BufferedImage image = createImage(width + 1, height + 1);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setColor(GameConstants.GRID_COLOR);
+
+        // 縦線を描画
+        for (int x = 0; x <= GameConstants.BOARD_WIDTH; x++) {
+            g2d.drawLine(x * blockSize, 0, x * blockSize, height);
+        }
+
+        // 横線を描画
+        for (int y = 0; y <= GameConstants.BOARD_HEIGHT; y++) {
+            g2d.drawLine(0, y * blockSize, width, y * blockSize);
+        }
+
+        g2d.dispose();
+        return image;
+    }
+
+    /**
+     * ゲームオーバー時のオーバーレイ画像を生成する
+     *
+     * @return オーバーレイ画像（ボードと同じ大きさ）
+     */
+    private BufferedImage createGameOverOverlay() {
+        int width = GameConstants.BOARD_WIDTH * blockSize;
+        int height = GameConstants.BOARD_HEIGHT * blockSize;
+        BufferedImage image = createImage(width, height);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        // 半透明の黒いオーバーレイ
+        g2d.setColor(new Color(0, 0, 0, 180));
+        g2d.fillRect(0, 0, width, height);
+
+        // フォントサイズもブロックサイズに比例させる
+        float fontScale = blockSize / (float) GameConstants.BLOCK_SIZE;
+
+        // ゲームオーバーテキスト
+        g2d.setColor(Color.WHITE);
+        g2d.setFont(new Font("Monospaced", Font.BOLD, Math.round(36 * fontScale)));
+        String gameOverText = "GAME OVER";
+        FontMetrics fm = g2d.getFontMetrics();
+        int textX = (width - fm.stringWidth(gameOverText)) / 2;
+        int textY = height / 2;
+        g2d.drawString(gameOverText, textX, textY);
+
+        // 再スタート指示
+        g2d.setFont(new Font("Monospaced", Font.PLAIN, Math.round(16 * fontScale)));
+        String restartText = "Press ENTER to restart";
+        textX = (width - g2d.getFontMetrics().stringWidth(restartText)) / 2;
+        g2d.drawString(restartText, textX, textY + Math.round(40 * fontScale));
+
+        g2d.dispose();
+        return image;
+    }
+
+    /**
+     * 透明度付きの画像を作成する
+     */
+    private BufferedImage createImage(int width, int height) {
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    // ゲッター
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public BufferedImage getBlockTile(int colorIndex) {
+        return blockTiles[colorIndex];
+    }
+
+    public BufferedImage getGhostTile(int colorIndex) {
+        return ghostTiles[colorIndex];
+    }
+
+    public BufferedImage getGridLayer() {
+        return gridLayer;
+    }
+
+    public BufferedImage getGameOverOverlay() {
+        return gameOverOverlay;
+    }
+}
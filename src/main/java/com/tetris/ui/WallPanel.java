@@ -0,0 +1,281 @@
+package com.tetris.ui;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.JPanel;
+
+import com.tetris.game.Game;
+import com.tetris.model.Tetromino;
+import com.tetris.util.GameConstants;
+
+/**
+ * 複数のゲームをタイル状に並べて1つのコンポーネントに描画するパネルクラス
+ * 各タイルは専用のバックバッファにワーカースレッドで並列に描画し、最後に合成する
+ * 盤面やピースに変化のないタイルは再描画しない
+ */
+public class WallPanel extends JPanel {
+
+    private static final int TILE_GAP = 4; // タイル間の余白（デバイスピクセル）
+    private static final Font SCORE_FONT = new Font("Monospaced", Font.BOLD, 12);
+
+    private final List<Game> games; // 表示するゲーム
+    private final BoardRenderer boardRenderer; // 全タイルで共有するボード描画
+    private final QualityGovernor qualityGovernor; // 描画品質の自動調整
+    private final ExecutorService renderPool; // タイル描画用のワーカースレッド
+    private final List<Callable<Void>> tileTasks; // タイルごとの描画タスク
+    private final List<Callable<Void>> dirtyTasks; // 今回描画するタスク（再利用）
+    private final AffineTransform deviceTransform; // デバイス座標系への変換（再利用）
+
+    private BufferedImage[] tileBuffers; // タイルごとのバックバッファ
+    private long[] tileSignatures; // 最後に描画したときの状態
+    private boolean[] tileAnimating; // 最後に描画したときアニメーション中だったか
+    private int columns; // タイルの列数
+    private int layoutWidth; // レイアウト計算時の幅（デバイスピクセル）
+    private int layoutHeight; // レイアウト計算時の高さ（デバイスピクセル）
+    private int dirtyTileCount; // 直近のフレームで再描画したタイル数
+
+    /**
+     * ウォールパネルのコンストラクタ
+     * 
+     * @param games 表示するゲーム
+     */
+    public WallPanel(List<Game> games) {
+        this.games = new ArrayList<>(games);
+        this.boardRenderer = new BoardRenderer();
+        this.qualityGovernor = new QualityGovernor();
+        this.deviceTransform = new AffineTransform();
+        this.tileTasks = new ArrayList<>();
+        this.dirtyTasks = new ArrayList<>();
+
+        int threads = Math.min(this.games.size(), Runtime.getRuntime().availableProcessors());
+        AtomicInteger threadCount = new AtomicInteger();
+        this.renderPool = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread thread = new Thread(r, "wall-render-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (int i = 0; i < this.games.size(); i++) {
+            int index = i;
+            tileTasks.add(() -> {
+                renderTile(index);
+                return null;
+            });
+        }
+
+        setBackground(GameConstants.BACKGROUND_COLOR);
+        setDoubleBuffered(true);
+        applyQualityLevel();
+    }
+
+    /**
+     * パネルの描画処理
+     * 変化のあったタイルを並列に描画してから全タイルを合成する
+     * 
+     * @param g グラフィックスコンテキスト
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        long paintStart = System.nanoTime();
+        super.paintComponent(g);
+        if (games.isEmpty()) {
+            return;
+        }
+
+        Graphics2D g2d = (Graphics2D) g;
+        AffineTransform savedTransform = g2d.getTransform();
+        double scale = savedTransform.getScaleX();
+        int deviceWidth = (int) Math.floor(getWidth() * scale);
+        int deviceHeight = (int) Math.floor(getHeight() * scale);
+        if (deviceWidth != layoutWidth || deviceHeight != layoutHeight || tileBuffers == null) {
+            updateLayout(deviceWidth, deviceHeight);
+        }
+
+        // 変化のあったタイルだけを集める
+        dirtyTasks.clear();
+        int lastDirtyIndex = -1;
+        for (int i = 0; i < games.size(); i++) {
+            Game game = games.get(i);
+            long signature = computeSignature(game);
+            boolean animating = game.getAnimationManager() != null && game.getAnimationManager().isActive();
+            if (signature != tileSignatures[i] || animating || tileAnimating[i]) {
+                tileSignatures[i] = signature;
+                tileAnimating[i] = animating;
+                dirtyTasks.add(tileTasks.get(i));
+                lastDirtyIndex = i;
+            }
+        }
+        dirtyTileCount = dirtyTasks.size();
+
+        // ワーカーで並列に描画する（描画中はEDTが待機するため、ゲーム状態は変化しない）
+        if (dirtyTasks.size() == 1) {
+            renderTile(lastDirtyIndex);
+        } else if (!dirtyTasks.isEmpty()) {
+            renderDirtyTiles();
+        }
+
+        // タイルを合成
+        deviceTransform.setToTranslation(
+                Math.round(savedTransform.getTranslateX()),
+                Math.round(savedTransform.getTranslateY()));
+        g2d.setTransform(deviceTransform);
+        int tileWidth = boardRenderer.getBoardWidth() + TILE_GAP;
+        int tileHeight = boardRenderer.getBoardHeight() + TILE_GAP;
+        int rows = (games.size() + columns - 1) / columns;
+        int offsetX = (deviceWidth - columns * tileWidth) / 2;
+        int offsetY = (deviceHeight - rows * tileHeight) / 2;
+        for (int i = 0; i < tileBuffers.length; i++) {
+            int x = offsetX + (i % columns) * tileWidth;
+            int y = offsetY + (i / columns) * tileHeight;
+            g2d.drawImage(tileBuffers[i], x, y, null);
+        }
+        g2d.setTransform(savedTransform);
+
+        if (qualityGovernor.recordFrame(System.nanoTime() - paintStart)) {
+            applyQualityLevel();
+        }
+    }
+
+    /**
+     * 変化のあったタイルをワーカースレッドで描画し、完了を待つ
+     */
+    private void renderDirtyTiles() {
+        try {
+            for (Future<Void> future : renderPool.invokeAll(dirtyTasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("タイル描画エラー: " + e.getCause());
+        }
+    }
+
+    /**
+     * 1つのタイルをバックバッファに描画する
+     * 
+     * @param index タイル番号
+     */
+    private void renderTile(int index) {
+        Game game = games.get(index);
+        BufferedImage buffer = tileBuffers[index];
+        Graphics2D g2d = buffer.createGraphics();
+
+        g2d.setColor(Color.BLACK);
+        g2d.fillRect(0, 0, buffer.getWidth(), buffer.getHeight());
+
+        boardRenderer.render(g2d, game, qualityGovernor.getLevel());
+
+        // スコア表示
+        g2d.setFont(SCORE_FONT);
+        g2d.setColor(GameConstants.TEXT_COLOR);
+        g2d.drawString(String.valueOf(game.getScore()), 4, 14);
+
+        g2d.dispose();
+    }
+
+    /**
+     * 描画領域に合わせてタイルの並びとブロックサイズを決め直す
+     * 
+     * @param deviceWidth  描画領域の幅（デバイスピクセル）
+     * @param deviceHeight 描画領域の高さ（デバイスピクセル）
+     */
+    private void updateLayout(int deviceWidth, int deviceHeight) {
+        layoutWidth = deviceWidth;
+        layoutHeight = deviceHeight;
+
+        // ブロックサイズが最大になる列数を選ぶ
+        int bestColumns = 1;
+        int bestBlockSize = 0;
+        for (int cols = 1; cols <= games.size(); cols++) {
+            int rows = (games.size() + cols - 1) / cols;
+            int blockSize = Math.min(
+                    (deviceWidth / cols - TILE_GAP) / GameConstants.BOARD_WIDTH,
+                    (deviceHeight / rows - TILE_GAP) / GameConstants.BOARD_HEIGHT);
+            if (blockSize > bestBlockSize) {
+                bestBlockSize = blockSize;
+                bestColumns = cols;
+            }
+        }
+        columns = bestColumns;
+        boardRenderer.setBlockSize(Math.max(2, bestBlockSize));
+
+        // バックバッファを作り直し、全タイルを再描画対象にする
+        tileBuffers = new BufferedImage[games.size()];
+        tileSignatures = new long[games.size()];
+        tileAnimating = new boolean[games.size()];
+        for (int i = 0; i < tileBuffers.length; i++) {
+            tileBuffers[i] = new BufferedImage(
+                    boardRenderer.getBoardWidth(), boardRenderer.getBoardHeight(), BufferedImage.TYPE_INT_RGB);
+            tileSignatures[i] = Long.MIN_VALUE;
+            tileAnimating[i] = true;
+        }
+    }
+
+    /**
+     * タイルの描画内容を決める状態を1つの値にまとめる
+     * 
+     * @param game ゲーム
+     * @return 状態を表す値
+     */
+    private long computeSignature(Game game) {
+        long signature = game.getBoard().getModificationCount();
+        Tetromino current = game.getCurrentTetromino();
+        if (current != null) {
+            signature = signature * 31 + current.getType().ordinal();
+            signature = signature * 31 + current.getRotation();
+            signature = signature * 31 + current.getX();
+            signature = signature * 31 + current.getY();
+        }
+        signature = signature * 31 + game.getGameState().ordinal();
+        signature = signature * 31 + game.getScore();
+        return signature;
+    }
+
+    /**
+     * 現在の品質レベルを全ゲームのアニメーション設定に反映する
+     */
+    private void applyQualityLevel() {
+        QualityGovernor.QualityLevel quality = qualityGovernor.getLevel();
+        for (Game game : games) {
+            if (game.getAnimationManager() != null) {
+                game.getAnimationManager().setParticlesPerBlock(quality.getParticlesPerBlock());
+                game.getAnimationManager().setParticleLimit(quality.getParticleLimit());
+                game.getAnimationManager().setSimpleLineFlash(quality.isSimpleLineFlash());
+            }
+        }
+    }
+
+    /**
+     * 描画用のワーカースレッドを停止する
+     */
+    public void dispose() {
+        renderPool.shutdownNow();
+    }
+
+    // ゲッター
+    public List<Game> getGames() {
+        return games;
+    }
+
+    public int getDirtyTileCount() {
+        return dirtyTileCount;
+    }
+
+    public QualityGovernor getQualityGovernor() {
+        return qualityGovernor;
+    }
+}
@@ -0,0 +1,165 @@
+package com.tetris.ui;
+
+import java.awt.BorderLayout;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.swing.JFrame;
+import javax.swing.Timer;
+
+import com.tetris.ai.AutoPlayer;
+import com.tetris.effects.FrameClock;
+import com.tetris.game.Game;
+import com.tetris.util.GameConstants;
+
+/**
+ * 多数のゲームを同時に表示する監視用ウィンドウクラス
+ * ゲームオーバーになったゲームは自動的に再開する
+ * 自動操作を有効にすると、各ゲームをAutoPlayerが操作する
+ * ウィンドウを閉じると表示中のゲームも破棄する
+ */
+public class WallWindow extends JFrame {
+
+    private static final int AUTO_PLAY_FRAMES = 3; // 自動操作の間隔（フレーム数、操作の様子が見えるように間引く）
+
+    private final WallPanel wallPanel;
+    private final Timer updateTimer;
+    private final FrameClock frameClock; // アニメーション用の時計
+    private AutoPlayer[] autoPlayers; // ゲームごとの自動操作（nullの場合は操作しない）
+    private int frameCount;
+    private Consumer<Game> finishedGameListener; // 再開する前の終了したゲームの通知先（nullの場合は通知しない）
+
+    /**
+     * 指定数のゲームを作成して表示するウィンドウを作成する
+     * 
+     * @param gameCount ゲーム数
+     */
+    public WallWindow(int gameCount) {
+        this(createGames(gameCount));
+    }
+
+    /**
+     * 既存のゲームを表示するウィンドウを作成する
+     * 
+     * @param games 表示するゲーム
+     */
+    public WallWindow(List<Game> games) {
+        setTitle("クラシック・テトリス - ウォール (" + games.size() + ")");
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        setSize(GameConstants.WINDOW_WIDTH * 2, GameConstants.WINDOW_HEIGHT);
+        setLocationRelativeTo(null);
+
+        wallPanel = new WallPanel(games);
+        setLayout(new BorderLayout());
+        add(wallPanel, BorderLayout.CENTER);
+
+        // 画面更新用タイマー（60FPS）
+        frameClock = new FrameClock();
+        updateTimer = new Timer(16, e -> {
+            restartFinishedGames();
+            autoPlay();
+            updateAnimations();
+            wallPanel.repaint();
+        });
+        updateTimer.start();
+
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                updateTimer.stop();
+                wallPanel.dispose();
+                for (Game game : games) {
+                    game.dispose(); // 落下タイマーと効果音を解放する
+                }
+            }
+        });
+    }
+
+    /**
+     * 効果音を無効にしたゲームを作成して開始する
+     * 
+     * @param gameCount ゲーム数
+     * @return 作成したゲーム
+     */
+    private static List<Game> createGames(int gameCount) {
+        List<Game> games = new ArrayList<>();
+        for (int i = 0; i < gameCount; i++) {
+            Game game = Game.createSilent(); // 効果音の合成やミキサーの開始を行わない
+            game.startGame();
+            games.add(game);
+        }
+        return games;
+    }
+
+    /**
+     * ゲームオーバーになったゲームを再開する
+     */
+    private void restartFinishedGames() {
+        for (Game game : wallPanel.getGames()) {
+            if (game.getGameState() == Game.GameState.GAME_OVER) {
+                if (finishedGameListener != null) {
+                    finishedGameListener.accept(game); // 再開すると結果が消えるため、その前に通知する
+                }
+                game.startGame();
+            }
+        }
+    }
+
+    /**
+     * ゲームオーバーになったゲームの通知先を設定する（EDTで、再開する直前に呼ばれる）
+     * 
+     * @param listener 通知先（nullの場合は通知しない）
+     */
+    public void setFinishedGameListener(Consumer<Game> listener) {
+        this.finishedGameListener = listener;
+    }
+
+    /**
+     * 自動操作の有効・無効を切り替える
+     * 
+     * @param enabled 自動操作する場合true
+     */
+    public void setAutoPlay(boolean enabled) {
+        if (!enabled) {
+            autoPlayers = null;
+            return;
+        }
+        List<Game> games = wallPanel.getGames();
+        autoPlayers = new AutoPlayer[games.size()];
+        for (int i = 0; i < autoPlayers.length; i++) {
+            autoPlayers[i] = new AutoPlayer();
+        }
+    }
+
+    /**
+     * 自動操作が有効なら、一定フレームごとに各ゲームを1回操作する
+     */
+    private void autoPlay() {
+        if (autoPlayers == null || ++frameCount % AUTO_PLAY_FRAMES != 0) {
+            return;
+        }
+        List<Game> games = wallPanel.getGames();
+        for (int i = 0; i < autoPlayers.length; i++) {
+            autoPlayers[i].step(games.get(i));
+        }
+    }
+
+    /**
+     * 全ゲームのアニメーションを1フレーム進める
+     */
+    private void updateAnimations() {
+        frameClock.advance(false);
+        for (Game game : wallPanel.getGames()) {
+            if (game.getAnimationManager() != null) {
+                game.getAnimationManager().update(frameClock);
+            }
+        }
+    }
+
+    public WallPanel getWallPanel() {
+        return wallPanel;
+    }
+}
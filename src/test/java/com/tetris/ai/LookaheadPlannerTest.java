@@ -0,0 +1,62 @@
+package com.tetris.ai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * LookaheadPlannerの時間予算のテスト
+ * ゲームと同じくプレビュー1個で探索し、予算を超えた場合に1手先の評価で選ぶことを確認する
+ */
+class LookaheadPlannerTest {
+
+    private static final int BEAM_WIDTH = 8;
+    private static final int TYPE = 2; // 現在のテトリミノ
+    private static final int[] PREVIEW = { 5 };
+
+    private ForkJoinPool pool;
+    private BitBoard board;
+    private PlacementList root;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(1);
+        board = new BitBoard();
+        // 下の数行を凸凹に埋めて、候補ごとに評価が分かれる盤面にする
+        int bottom = BitBoard.HEIGHT - 1;
+        board.setRow(bottom, BitBoard.FULL_ROW & ~0b0000010001);
+        board.setRow(bottom - 1, BitBoard.FULL_ROW & ~0b0110010011);
+        board.setRow(bottom - 2, 0b1000000001);
+        root = new PlacementList(64);
+        new PlacementEnumerator().enumerate(board, TYPE, 0, 3, 0, root);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void zeroBudgetFallsBackToOnePlyBest() {
+        LookaheadPlanner planner = new LookaheadPlanner(EvaluationWeights.DEFAULT, BEAM_WIDTH, 0, pool);
+        int chosen = planner.choose(board, root, TYPE, PREVIEW, 1);
+        assertTrue(planner.isLastTimedOut(), "search must stop at the deadline");
+        assertEquals(root.best(), chosen, "a timed-out search must pick the one-ply best");
+        assertEquals(root.size(), planner.getLastNodes(), "no subtree may be searched after the deadline");
+    }
+
+    @Test
+    void generousBudgetSearchesEveryPreviewPlacement() {
+        LookaheadPlanner planner = new LookaheadPlanner(EvaluationWeights.DEFAULT, BEAM_WIDTH,
+                60_000_000_000L, pool);
+        planner.choose(board, root, TYPE, PREVIEW, 1);
+        assertFalse(planner.isLastTimedOut());
+        assertTrue(planner.getLastNodes() > root.size(), "the preview ply must be evaluated");
+    }
+}
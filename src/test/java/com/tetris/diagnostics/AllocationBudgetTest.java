@@ -0,0 +1,155 @@
+package com.tetris.diagnostics;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.tetris.effects.FrameClock;
+import com.tetris.game.Game;
+import com.tetris.ui.BoardRenderer;
+import com.tetris.ui.QualityGovernor;
+import com.tetris.util.GameConstants;
+
+/**
+ * 定常状態のプレイでメモリ確保量が予算内に収まっているかを検査するテスト
+ * 画面なしでゲームを進め、ロジック1ティックと描画1フレームごとに
+ * 呼び出しスレッドが確保したバイト数を計測する（実際のゲームではどちらもEDTで実行される）
+ * ウォームアップ後の平均が予算を超えた場合に失敗する
+ *
+ * 予算はシステムプロパティで変更できる（例：mvn test -Dtetris.alloc.tickBudget=4 -Dtetris.alloc.frameBudget=4）
+ */
+class AllocationBudgetTest {
+
+    private static final int FRAMES_PER_TICK = 4; // 1ティックあたりの描画フレーム数（入力の頻度と合わせる）
+    private static final long FRAME_NANOS = 16_666_667L; // 60FPS相当のフレーム間隔
+    private static final long SEED = 1;
+    private static final int WARMUP_TICKS = 20_000; // JITコンパイルを済ませるため計測前に進めるティック数
+    private static final int MEASURE_TICKS = 20_000;
+
+    private Game game;
+    private Random input; // 操作を決める乱数
+    private BoardRenderer renderer;
+    private FrameClock clock;
+    private Graphics2D g2d;
+    private long clockNanos;
+
+    // 計測結果
+    private long ticks;
+    private long frames;
+    private long tickBytes;
+    private long frameBytes;
+    private long maxTickBytes;
+    private long maxFrameBytes;
+
+    @BeforeAll
+    static void useHeadlessToolkit() {
+        System.setProperty("java.awt.headless", "true");
+    }
+
+    @Test
+    void steadyStateAllocationStaysWithinBudget() {
+        assumeTrue(AllocationMeter.isSupported(), "このJVMではスレッドごとのメモリ確保量を取得できません");
+        double tickBudget = budget("tetris.alloc.tickBudget"); // 1ティックあたりの平均確保量の上限（バイト）
+        double frameBudget = budget("tetris.alloc.frameBudget"); // 1フレームあたりの平均確保量の上限（バイト）
+
+        game = Game.createHeadless(SEED);
+        input = new Random(SEED * 31 + 7);
+        renderer = new BoardRenderer();
+        renderer.setBlockSize(GameConstants.BLOCK_SIZE);
+        clock = new FrameClock();
+        BufferedImage image = new BufferedImage(renderer.getBoardWidth(), renderer.getBoardHeight(),
+                BufferedImage.TYPE_INT_RGB);
+        g2d = image.createGraphics();
+        game.startGame();
+
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            tick();
+            for (int f = 0; f < FRAMES_PER_TICK; f++) {
+                frame();
+            }
+            restartIfOver();
+        }
+
+        for (int i = 0; i < MEASURE_TICKS; i++) {
+            long before = AllocationMeter.currentThreadAllocatedBytes();
+            tick();
+            long bytes = AllocationMeter.currentThreadAllocatedBytes() - before;
+            ticks++;
+            tickBytes += bytes;
+            maxTickBytes = Math.max(maxTickBytes, bytes);
+
+            for (int f = 0; f < FRAMES_PER_TICK; f++) {
+                before = AllocationMeter.currentThreadAllocatedBytes();
+                frame();
+                bytes = AllocationMeter.currentThreadAllocatedBytes() - before;
+                frames++;
+                frameBytes += bytes;
+                maxFrameBytes = Math.max(maxFrameBytes, bytes);
+            }
+            restartIfOver();
+        }
+        g2d.dispose();
+
+        double bytesPerTick = (double) tickBytes / ticks;
+        double bytesPerFrame = (double) frameBytes / frames;
+        assertTrue(bytesPerTick <= tickBudget, String.format(
+                "avg %.2f B/tick exceeds budget %.2f (max %d B)", bytesPerTick, tickBudget, maxTickBytes));
+        assertTrue(bytesPerFrame <= frameBudget, String.format(
+                "avg %.2f B/frame exceeds budget %.2f (max %d B)", bytesPerFrame, frameBudget, maxFrameBytes));
+    }
+
+    /**
+     * 予算をシステムプロパティから取得する（指定がない場合4バイト、ほぼゼロ）
+     */
+    private static double budget(String property) {
+        return Double.parseDouble(System.getProperty(property, "4"));
+    }
+
+    /**
+     * ロジックを1ティック進める（操作1回と自然落下1段）
+     */
+    private void tick() {
+        switch (input.nextInt(6)) {
+            case 0:
+                game.moveTetrominoLeft();
+                break;
+            case 1:
+                game.moveTetrominoRight();
+                break;
+            case 2:
+                game.rotateTetromino();
+                break;
+            case 3:
+                game.hardDrop();
+                break;
+            default:
+                break; // 何もしない
+        }
+        game.tick();
+    }
+
+    /**
+     * 1フレーム分のアニメーション更新と描画を行う
+     */
+    private void frame() {
+        clockNanos += FRAME_NANOS;
+        clock.advanceTo(clockNanos, false);
+        game.getAnimationManager().update(clock);
+        renderer.render(g2d, game, QualityGovernor.QualityLevel.HIGH);
+    }
+
+    /**
+     * ゲームオーバーなら再開する（再開時の確保は計測に含めない）
+     */
+    private void restartIfOver() {
+        if (game.getGameState() == Game.GameState.GAME_OVER) {
+            game.startGame();
+        }
+    }
+}
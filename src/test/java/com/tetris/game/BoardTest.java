@@ -0,0 +1,97 @@
+package com.tetris.game;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.tetris.util.GameConstants;
+
+/**
+ * Boardのライン消去のテスト
+ * 複数ラインを同時に消去したとき、完成したラインが残らず、残りの行が消去した数だけ下がることを確認する
+ */
+class BoardTest {
+
+    private static final int BOTTOM = GameConstants.BOARD_HEIGHT - 1;
+
+    /**
+     * 行を埋める（holeの列は空ける、-1の場合は全て埋める）
+     */
+    private static void fillRow(Board board, int y, int hole, int color) {
+        for (int x = 0; x < GameConstants.BOARD_WIDTH; x++) {
+            if (x != hole) {
+                board.setCell(x, y, color);
+            }
+        }
+    }
+
+    /**
+     * 下の4行が「完成・未完成・完成・完成」で、その上に目印の行がある盤面
+     */
+    private static Board createBoard() {
+        Board board = new Board();
+        fillRow(board, BOTTOM - 4, 0, 5); // 目印（列0が空き）
+        fillRow(board, BOTTOM - 3, -1, 1);
+        fillRow(board, BOTTOM - 2, 9, 2); // 未完成（列9が空き）
+        fillRow(board, BOTTOM - 1, -1, 3);
+        fillRow(board, BOTTOM, -1, 4);
+        return board;
+    }
+
+    private static void assertClearedBoard(Board board) {
+        int[] lines = new int[4];
+        assertEquals(0, board.findClearedLines(lines), "full lines must not remain");
+        // 未完成の行が最下段に、目印の行がその上に下がる
+        assertEquals(2, board.getCell(0, BOTTOM));
+        assertEquals(0, board.getCell(9, BOTTOM));
+        assertEquals(0, board.getCell(0, BOTTOM - 1));
+        assertEquals(5, board.getCell(9, BOTTOM - 1));
+        for (int y = 0; y < BOTTOM - 1; y++) {
+            for (int x = 0; x < GameConstants.BOARD_WIDTH; x++) {
+                assertEquals(0, board.getCell(x, y), "row " + y + " must be empty");
+            }
+        }
+    }
+
+    @Test
+    void findClearedLinesReportsFullRowsTopDown() {
+        Board board = createBoard();
+        int[] lines = new int[4];
+        assertEquals(3, board.findClearedLines(lines));
+        assertArrayEquals(new int[] { BOTTOM - 3, BOTTOM - 1, BOTTOM }, new int[] { lines[0], lines[1], lines[2] });
+    }
+
+    @Test
+    void clearLinesRemovesEveryFullRowInOneClear() {
+        Board board = createBoard();
+        int[] lines = new int[4];
+        int count = board.findClearedLines(lines);
+        assertEquals(3, board.clearLines(lines, count));
+        assertClearedBoard(board);
+    }
+
+    @Test
+    void clearLinesWithUnsortedListRemovesEveryFullRow() {
+        Board board = createBoard();
+        List<Integer> lines = new ArrayList<>(List.of(BOTTOM, BOTTOM - 3, BOTTOM - 1)); // 下から並べても結果は同じ
+        assertEquals(3, board.clearLines(lines));
+        assertClearedBoard(board);
+    }
+
+    @Test
+    void tetrisClearsAllFourRows() {
+        Board board = new Board();
+        for (int y = BOTTOM - 3; y <= BOTTOM; y++) {
+            fillRow(board, y, -1, 1);
+        }
+        fillRow(board, BOTTOM - 4, 0, 6);
+        assertEquals(4, board.clearCompleteLines());
+        assertEquals(6, board.getCell(9, BOTTOM));
+        assertEquals(0, board.getCell(0, BOTTOM));
+        assertEquals(0, board.getCell(9, BOTTOM - 1));
+    }
+}
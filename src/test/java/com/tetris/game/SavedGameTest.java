@@ -0,0 +1,105 @@
+package com.tetris.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.tetris.ai.AutoPlayer;
+import com.tetris.ai.EvaluationWeights;
+
+/**
+ * SavedGameの保存・再開のテスト
+ * 再開したゲームが保存時と同じ状態になり、以降も元のゲームと同じように進むことを確認する
+ */
+class SavedGameTest {
+
+    private static final int PIECES_BEFORE_SAVE = 40;
+    private static final int MAX_PIECES_AFTER_LOAD = 500;
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+    private Game original;
+    private Game loaded;
+
+    @BeforeAll
+    static void useHeadlessToolkit() {
+        System.setProperty("java.awt.headless", "true");
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = dir.resolve("save.bin");
+        original = Game.createHeadless(7);
+        original.startGame();
+        AutoPlayer player = new AutoPlayer(EvaluationWeights.DEFAULT);
+        for (int i = 0; i < PIECES_BEFORE_SAVE; i++) {
+            player.playPiece(original);
+        }
+        SavedGame.save(original, file);
+        loaded = Game.createHeadless(99); // 乱数の状態もファイルから復元されるため、シードは異なってよい
+    }
+
+    @AfterEach
+    void tearDown() {
+        original.dispose();
+        loaded.dispose();
+    }
+
+    @Test
+    void loadRestoresTheSavedSnapshot() throws IOException {
+        assertEquals(SavedGame.BYTES, Files.size(file));
+        assertTrue(SavedGame.load(loaded, file));
+        assertEquals(original.snapshot(), loaded.snapshot());
+    }
+
+    @Test
+    void loadedGamePlaysIdenticallyToTheOriginal() throws IOException {
+        assertEquals(Game.GameState.PLAYING, original.getGameState());
+        assertTrue(SavedGame.load(loaded, file));
+        AutoPlayer originalPlayer = new AutoPlayer(EvaluationWeights.DEFAULT);
+        AutoPlayer loadedPlayer = new AutoPlayer(EvaluationWeights.DEFAULT);
+        for (int i = 0; i < MAX_PIECES_AFTER_LOAD && original.getGameState() == Game.GameState.PLAYING; i++) {
+            originalPlayer.playPiece(original);
+            loadedPlayer.playPiece(loaded);
+            assertEquals(original.snapshot(), loaded.snapshot(), "diverged after piece " + (i + 1));
+        }
+    }
+
+    @Test
+    void flippedByteIsRejectedByChecksum() throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x01;
+        Files.write(file, bytes);
+        GameSnapshot before = loaded.snapshot();
+        assertThrows(IOException.class, () -> SavedGame.load(loaded, file));
+        assertEquals(before, loaded.snapshot(), "a rejected file must not change the game");
+    }
+
+    @Test
+    void wrongSizeIsRejected() throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> SavedGame.load(loaded, file));
+        Files.write(file, Arrays.copyOf(bytes, bytes.length + 1));
+        assertThrows(IOException.class, () -> SavedGame.load(loaded, file));
+    }
+
+    @Test
+    void missingFileIsNotAnError() throws IOException {
+        assertFalse(SavedGame.load(loaded, dir.resolve("missing.bin")));
+    }
+}
@@ -0,0 +1,136 @@
+package com.tetris.replay;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.tetris.game.Game;
+import com.tetris.game.GameSnapshot;
+
+/**
+ * ReplayRecorderで記録したファイルをReplayPlayerで再生するテスト
+ * 画面なしのゲームを偽の時計で記録し、キーフレームの検査・シーク・索引のないファイルの読み込みを確認する
+ */
+class ReplayPlayerTest {
+
+    private static final long KEYFRAME_INTERVAL = 1_000;
+    private static final int STEPS = 3_000;
+    private static final long STEP_MILLIS = 50; // 操作の間隔
+    private static final int MIDPOINT_STEP = STEPS / 2;
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+    private GameSnapshot finalSnapshot; // 記録終了時の状態
+    private long midpointTime; // 記録の途中の時刻
+    private GameSnapshot midpointSnapshot; // midpointTimeの操作を全て適用した後の状態
+
+    @BeforeAll
+    static void useHeadlessToolkit() {
+        System.setProperty("java.awt.headless", "true");
+    }
+
+    @BeforeEach
+    void record() throws IOException {
+        file = dir.resolve("game.replay");
+        Game game = Game.createHeadless(3);
+        game.startGame();
+        long[] now = { 0 };
+        ReplayRecorder recorder = new ReplayRecorder(game, file, () -> now[0], KEYFRAME_INTERVAL);
+
+        Random input = new Random(5);
+        for (int step = 0; step < STEPS; step++) {
+            now[0] += STEP_MILLIS;
+            switch (input.nextInt(8)) {
+                case 0:
+                    game.moveTetrominoLeft();
+                    break;
+                case 1:
+                    game.moveTetrominoRight();
+                    break;
+                case 2:
+                    game.rotateTetromino();
+                    game.moveTetrominoDown(); // 同じ時刻に複数の操作
+                    break;
+                case 3:
+                    game.hardDrop();
+                    break;
+                default:
+                    game.tick();
+                    break;
+            }
+            if (game.getGameState() == Game.GameState.GAME_OVER) {
+                game.startGame();
+            }
+            if (step == MIDPOINT_STEP) {
+                midpointTime = now[0];
+                midpointSnapshot = game.snapshot();
+            }
+        }
+        recorder.close();
+        finalSnapshot = game.snapshot();
+        game.dispose();
+    }
+
+    @Test
+    void verifyReplaysEveryKeyframe() throws IOException {
+        ReplayPlayer player = ReplayPlayer.open(file);
+        assertTrue(player.getKeyframeCount() > 100, "keyframes: " + player.getKeyframeCount());
+        assertEquals(0, player.verify());
+    }
+
+    @Test
+    void seekToEndMatchesRecordedFinalState() throws IOException {
+        ReplayPlayer player = ReplayPlayer.open(file);
+        assertEquals(STEPS * STEP_MILLIS, player.getDuration());
+        assertEquals(finalSnapshot, player.seek(player.getDuration()).snapshot());
+    }
+
+    @Test
+    void seekBackwardsAndForwardsGivesTheSameState() throws IOException {
+        ReplayPlayer player = ReplayPlayer.open(file);
+        assertEquals(midpointSnapshot, player.seek(midpointTime).snapshot());
+        player.seek(midpointTime / 3);
+        assertEquals(midpointSnapshot, player.seek(midpointTime).snapshot());
+        player.seek(player.getDuration());
+        assertEquals(midpointSnapshot, player.advanceTo(midpointTime).snapshot()); // 過去の時刻はシークになる
+        player.rewind();
+        assertEquals(midpointSnapshot, player.advanceTo(midpointTime).snapshot()); // 先頭から適用しても同じ
+    }
+
+    @Test
+    void fileWithoutTrailerIsIndexedByScanning() throws IOException {
+        ReplayPlayer indexed = ReplayPlayer.open(file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - ReplayFormat.TRAILER_BYTES));
+
+        ReplayPlayer scanned = ReplayPlayer.open(file);
+        assertEquals(indexed.getKeyframeCount(), scanned.getKeyframeCount());
+        assertEquals(indexed.getDuration(), scanned.getDuration());
+        assertEquals(0, scanned.verify());
+        assertEquals(finalSnapshot, scanned.seek(scanned.getDuration()).snapshot());
+    }
+
+    @Test
+    void fileCutInsideTheRecordsKeepsTheCompletePart() throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length * 3 / 5));
+
+        ReplayPlayer scanned = ReplayPlayer.open(file);
+        assertTrue(scanned.getDuration() > midpointTime, "duration: " + scanned.getDuration());
+        assertTrue(scanned.getDuration() < STEPS * STEP_MILLIS, "duration: " + scanned.getDuration());
+        assertEquals(0, scanned.verify());
+        assertEquals(midpointSnapshot, scanned.seek(midpointTime).snapshot());
+    }
+}